@@ -0,0 +1,18 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+        // Construtor privado para classe utilitária
+    }
+
+    // Desliga o logback para que a escrita no console nao domine a medicao
+    static void silenceLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+    }
+}
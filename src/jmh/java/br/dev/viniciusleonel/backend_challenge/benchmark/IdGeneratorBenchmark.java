@@ -0,0 +1,47 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.IdGenerator;
+
+// Ids gerados por requisicao (requestId, traceId e spanId raiz): IdGenerator contra os tres UUID.randomUUID() anteriores
+// Com 8 threads aparece a disputa pelo SecureRandom compartilhado do UUID
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="IdGeneratorBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public String requestIds() {
+        long traceId = IdGenerator.nextTraceId();
+        long spanId = IdGenerator.nextSpanId();
+        return IdGenerator.nextRequestId() + IdGenerator.toHex(traceId, 16) + IdGenerator.toHex(spanId, 8);
+    }
+
+    @Benchmark
+    public String requestIdsWithUuid() {
+        String traceId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        String spanId = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        return UUID.randomUUID().toString() + traceId + spanId;
+    }
+
+    // So os longs, sem texto: o caso comum quando nenhum log habilitado pede o id
+    @Benchmark
+    public long rawIds() {
+        return IdGenerator.nextTraceId() ^ IdGenerator.nextSpanId();
+    }
+}
@@ -0,0 +1,61 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaimsScanner;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtDecoder;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+
+// Compara o caminho antigo (JwtDecoder + getClaim/getClaims) com o JwtClaimsScanner
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtDecodeBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecodeBenchmark {
+
+    private final JwtClaimsScanner scanner = new JwtClaimsScanner(List.of("Name", "Role", "Seed"));
+    private String token;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+    }
+
+    @Benchmark
+    public void jwtDecoder(Blackhole bh) {
+        DecodedJWT jwt = JwtDecoder.decode(token);
+        bh.consume(jwt.getClaim("Name").asString());
+        bh.consume(jwt.getClaim("Role").asString());
+        bh.consume(jwt.getClaim("Seed").asString());
+        bh.consume(jwt.getClaims().size());
+    }
+
+    @Benchmark
+    public void claimsScanner(Blackhole bh) {
+        JwtClaims claims = scanner.scan(token);
+        bh.consume(claims.getClaim("Name"));
+        bh.consume(claims.getClaim("Role"));
+        bh.consume(claims.getClaim("Seed"));
+        bh.consume(claims.getClaimCount());
+    }
+}
@@ -0,0 +1,82 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtValidator;
+
+// JwtValidator.isValid por tipo de entrada, incluindo o custo das excecoes lancadas para claims invalidas e tokens malformados
+// "mixed" aproxima o trafego real: maioria valida, parte com claim invalida e parte malformada
+// Sem cache de validacao, para medir o pipeline completo a cada chamada
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtValidatorBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(JwtValidatorBenchmark.CORPUS_SIZE)
+public class JwtValidatorBenchmark {
+
+    static final int CORPUS_SIZE = 10;
+
+    @Param({"valid", "badClaim", "malformed", "mixed"})
+    private String mix;
+
+    private JwtValidator validator;
+    private String[] corpus;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        validator = new JwtValidator(null);
+
+        String valid = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        String badName = JwtGenerator.generateJwtToken("M4ria Olivia", "External", "88037");
+        String badSeed = JwtGenerator.generateJwtToken("Valdir Aranha", "Member", "7840");
+        String malformed = "eyJub3QtanNvbg.eyJ9.sig";
+
+        corpus = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            corpus[i] = switch (mix) {
+                case "valid" -> valid;
+                case "badClaim" -> i % 2 == 0 ? badName : badSeed;
+                case "malformed" -> malformed;
+                // 70% validos, 20% com claim invalida, 10% malformados
+                default -> i < 7 ? valid : i < 9 ? (i == 7 ? badName : badSeed) : malformed;
+            };
+        }
+    }
+
+    @Benchmark
+    public void isValid(Blackhole bh) {
+        for (String token : corpus) {
+            try {
+                bh.consume(validator.isValid(token));
+            } catch (RuntimeException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        for (String token : corpus) {
+            bh.consume(validator.validate(token));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import br.dev.viniciusleonel.backend_challenge.BackendChallengeApplication;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+
+/**
+ * Teste de carga do servidor real (Tomcat) com threads de plataforma e com threads virtuais
+ * (spring.threads.virtual.enabled), reportando throughput e latencias p50/p99 por modo.
+ *
+ * Cada modo sobe a aplicacao numa porta aleatoria, aquece e dispara as requisicoes com {@code concurrency}
+ * clientes simultaneos alternando GET /api/validate e GET /monitoring/health.
+ *
+ * Rodar com:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=br.dev.viniciusleonel.backend_challenge.benchmark.LoadHarness
+ *     -Djmh.args="--concurrency 1000 --requests 200000"
+ * Para detectar pinning, acrescentar -Djdk.tracePinnedThreads=full na linha do java.
+ */
+public class LoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = intArg(args, "--concurrency", 1000);
+        int requests = intArg(args, "--requests", 100_000);
+        int warmup = intArg(args, "--warmup", 20_000);
+
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            results.add(run(virtual, token, concurrency, requests, warmup));
+        }
+
+        System.out.printf("%nconcurrency=%d requests=%d%n", concurrency, requests);
+        System.out.printf("%-10s %14s %10s %10s %10s %8s%n", "threads", "throughput/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private static String run(boolean virtual, String token, int concurrency, int requests, int warmup) throws Exception {
+        SpringApplication application = new SpringApplication(BackendChallengeApplication.class);
+        application.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "spring.threads.virtual.enabled", String.valueOf(virtual),
+                "server.tomcat.max-connections", String.valueOf(Math.max(8192, concurrency * 2)),
+                "server.tomcat.accept-count", String.valueOf(concurrency),
+                "logging.level.root", "OFF",
+                "logging.level.br.dev.viniciusleonel.backend_challenge", "OFF"));
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            Environment environment = context.getEnvironment();
+            String baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+            URI[] targets = {
+                    URI.create(baseUrl + "/api/validate?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)),
+                    URI.create(baseUrl + "/monitoring/health")};
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            load(client, targets, concurrency, warmup);
+            long start = System.nanoTime();
+            Result result = load(client, targets, concurrency, requests);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long[] latencies = result.latencies();
+            Arrays.sort(latencies);
+            return String.format("%-10s %14.0f %10.2f %10.2f %10.2f %8d",
+                    virtual ? "virtual" : "platform",
+                    latencies.length / seconds,
+                    percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6,
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6,
+                    result.errors());
+        }
+    }
+
+    private record Result(long[] latencies, int errors) {
+    }
+
+    // concurrency clientes, cada um enviando requisicoes em sequencia (bloqueando numa thread virtual)
+    private static Result load(HttpClient client, URI[] targets, int concurrency, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                workers.add(clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        HttpRequest request = HttpRequest.newBuilder(targets[i & 1]).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return new Result(latencies, errors.get());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return Integer.parseInt(args[i + 1]);
+            }
+        }
+        return defaultValue;
+    }
+}
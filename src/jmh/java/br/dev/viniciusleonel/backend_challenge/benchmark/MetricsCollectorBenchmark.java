@@ -0,0 +1,73 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+
+// Custo do MetricsCollector no caminho de cada requisicao e na leitura de /monitoring/metrics
+// recordSuccessfulRequest roda com 8 threads no mesmo endpoint para medir a contencao nos contadores e no histograma;
+// getMetrics agrega "endpoints" endpoints com 1000 tempos de resposta registrados no histograma de cada um;
+// o parametro fica no estado Populated, usado so por getMetrics, para recordSuccessfulRequest rodar uma vez so
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="MetricsCollectorBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsCollectorBenchmark {
+
+    private MetricsCollector contended;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        contended = new MetricsCollector();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Populated {
+
+        // Ate o limite de endpoints com metricas proprias (jwt.metrics.max-endpoints, padrao 256)
+        @Param({"10", "250"})
+        private int endpoints;
+
+        private MetricsCollector collector;
+
+        @Setup
+        public void setUp() {
+            BenchmarkSupport.silenceLogging();
+            collector = new MetricsCollector();
+            for (int e = 0; e < endpoints; e++) {
+                for (int i = 0; i < 1000; i++) {
+                    collector.recordSuccessfulRequest("/api/endpoint-" + e, "GET", (long) (i % 250));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordSuccessfulRequest() {
+        contended.recordSuccessfulRequestNanos("/api/validate", "GET", 12_345_678L);
+    }
+
+    @Benchmark
+    public Map<String, Object> getMetrics(Populated populated) {
+        return populated.collector.getMetrics();
+    }
+}
@@ -0,0 +1,108 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+
+// Escalabilidade dos contadores do MetricsCollector com 1, 8 e 64 threads no mesmo endpoint
+// request* registra o que uma requisicao de /api/validate registra (recordRequest, validacao JWT e resposta);
+// atomicLong* e longAdder* isolam um unico contador compartilhado para comparar as duas abordagens
+// Throughput total: com celulas separadas ele deve crescer com as threads, com um AtomicLong ele estaciona
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="MetricsCollectorScalingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsCollectorScalingBenchmark {
+
+    private MetricsCollector collector;
+    private AtomicLong atomicLong;
+    private LongAdder longAdder;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        collector = new MetricsCollector();
+        atomicLong = new AtomicLong();
+        longAdder = new LongAdder();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void request1() {
+        request();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void request8() {
+        request();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void request64() {
+        request();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long atomicLong1() {
+        return atomicLong.incrementAndGet();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long atomicLong8() {
+        return atomicLong.incrementAndGet();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long atomicLong64() {
+        return atomicLong.incrementAndGet();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void longAdder1() {
+        longAdder.increment();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void longAdder8() {
+        longAdder.increment();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void longAdder64() {
+        longAdder.increment();
+    }
+
+    // Tempos de resposta de 1 a 5ms espalhados pelos buckets do histograma, como em trafego real
+    private void request() {
+        collector.recordRequest("/api/validate", "GET");
+        collector.recordJwtValidation(true);
+        long responseTimeNanos = ThreadLocalRandom.current().nextLong(1_000_000L, 5_000_000L);
+        collector.recordSuccessfulRequestNanos("/api/validate", "GET", responseTimeNanos);
+    }
+}
@@ -0,0 +1,70 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
+import br.dev.viniciusleonel.backend_challenge.validators.NameValidator;
+import br.dev.viniciusleonel.backend_challenge.validators.ValidationResult;
+
+// NameValidator em nomes longos: 255 e o maior nome aceito, 256 e 4096 sao rejeitados pelo tamanho
+// e "digitAtEnd" obriga a varrer o nome inteiro antes de achar o numero
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="NameValidatorBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameValidatorBenchmark {
+
+    @Param({"16", "255", "256", "4096"})
+    private int length;
+
+    @Param({"letters", "digitAtEnd"})
+    private String shape;
+
+    private final NameValidator validator = new NameValidator();
+    private JwtClaims claims;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append(i % 8 == 7 ? ' ' : (char) ('a' + i % 26));
+        }
+        if (shape.equals("digitAtEnd")) {
+            name.setCharAt(length - 1, '7');
+        }
+        String value = name.toString();
+
+        claims = new JwtClaims() {
+            @Override
+            public String getClaim(String claimName) {
+                return "Name".equals(claimName) ? value : null;
+            }
+
+            @Override
+            public int getClaimCount() {
+                return 1;
+            }
+        };
+    }
+
+    @Benchmark
+    public ValidationResult check() {
+        return validator.check(claims);
+    }
+}
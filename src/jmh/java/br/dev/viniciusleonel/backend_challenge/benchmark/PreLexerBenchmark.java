@@ -0,0 +1,87 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaimsScanner;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtDecoder;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtPreLexer;
+
+// Rejeicao de um corpus malicioso misto: pre-lexer, JwtClaimsScanner e o caminho antigo com JWT.decode (via JwtDecoder)
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="PreLexerBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(PreLexerBenchmark.CORPUS_SIZE)
+public class PreLexerBenchmark {
+
+    static final int CORPUS_SIZE = 8;
+
+    private final JwtPreLexer preLexer = new JwtPreLexer(8192, true);
+    private final JwtClaimsScanner scanner = new JwtClaimsScanner(List.of("Name", "Role", "Seed"));
+    private String[] corpus;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        String valid = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        String[] parts = valid.split("\\.");
+        corpus = new String[] {
+                valid,
+                "invalid.token.format",
+                parts[0] + "." + parts[1],
+                valid + ".extra.dots",
+                parts[0] + "." + parts[1].replace('A', '*') + "." + parts[2],
+                parts[0] + ".%E2%80%8B" + parts[1] + "." + parts[2],
+                parts[0] + "." + "A".repeat(2 * 1024 * 1024) + "." + parts[2],
+                "eyJ" + "\u0000".repeat(64) + ".." };
+    }
+
+    @Benchmark
+    public void preLexerThenScanner(Blackhole bh) {
+        for (String token : corpus) {
+            if (preLexer.check(token).isValid()) {
+                bh.consume(scanner.tryScan(token));
+            } else {
+                bh.consume(token);
+            }
+        }
+    }
+
+    @Benchmark
+    public void scannerOnly(Blackhole bh) {
+        for (String token : corpus) {
+            bh.consume(scanner.tryScan(token));
+        }
+    }
+
+    @Benchmark
+    public void jwtDecoder(Blackhole bh) {
+        for (String token : corpus) {
+            try {
+                bh.consume(JwtDecoder.decode(token));
+            } catch (JWTDecodeException e) {
+                bh.consume(e);
+            }
+        }
+    }
+}
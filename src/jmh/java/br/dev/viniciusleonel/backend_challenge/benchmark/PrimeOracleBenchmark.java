@@ -0,0 +1,66 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.viniciusleonel.backend_challenge.utils.NumberUtils;
+import br.dev.viniciusleonel.backend_challenge.utils.PrimeOracle;
+
+// Piores casos do SeedValidator: primos grandes exigem a divisao por tentativa completa
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="PrimeOracleBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimeOracleBenchmark {
+
+    // 7841: seed comum; 16777213: maior primo no crivo; 2147483647 e 2147483629: primos proximos de Integer.MAX_VALUE;
+    // 2147117569 = 46337^2 (composto cujo menor fator e a propria raiz)
+    @Param({"7841", "16777213", "2147483629", "2147483647", "2147117569"})
+    private int seed;
+
+    private PrimeOracle oracle;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        oracle = PrimeOracle.shared();
+    }
+
+    @Benchmark
+    public boolean trialDivision() {
+        // Implementacao anterior do NumberUtils.isPrime, mantida como referencia
+        int number = seed;
+        if (number <= 1) return false;
+        if (number == 2) return true;
+        if (number % 2 == 0) return false;
+        for (int i = 3; i <= Math.sqrt(number); i += 2) {
+            if (number % i == 0) return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean primeOracle() {
+        return oracle.isPrime(seed);
+    }
+
+    @Benchmark
+    public boolean numberUtils() {
+        // Ponto de entrada usado pelo SeedValidator
+        return NumberUtils.isPrime(seed);
+    }
+}
@@ -0,0 +1,69 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+
+// Custo de um scrape: /monitoring/prometheus (writePrometheus) contra /monitoring/metrics (getMetrics + Jackson)
+// "endpoints" endpoints com 1000 tempos de resposta cada e alguns erros de claim; os dois retornam os bytes escritos
+// Com -prof gc, o writePrometheus deve ficar perto de zero bytes alocados por operacao depois do primeiro scrape
+// (os dois buffers se alternam; so scrapes simultaneos, que este benchmark nao faz, alocam um terceiro)
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="PrometheusExpositionBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrometheusExpositionBenchmark {
+
+    // Ate o limite de endpoints com metricas proprias (jwt.metrics.max-endpoints, padrao 256)
+    @Param({"100", "250"})
+    private int endpoints;
+
+    private MetricsCollector collector;
+    private ObjectMapper objectMapper;
+    private OutputStream discard;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+        collector = new MetricsCollector();
+        objectMapper = new ObjectMapper();
+        discard = OutputStream.nullOutputStream();
+        for (int e = 0; e < endpoints; e++) {
+            for (int i = 0; i < 1000; i++) {
+                collector.recordSuccessfulRequestNanos("/api/endpoint-" + e, "GET", 1_000_000L + i * 4_000L);
+            }
+            collector.recordFailedRequestNanos("/api/endpoint-" + e, "GET", 5_000_000L, "HTTP_422");
+        }
+        collector.recordClaimValidationError("Name", "contains_numbers");
+        collector.recordClaimValidationError("Seed", "not_prime");
+    }
+
+    @Benchmark
+    public int prometheus() throws IOException {
+        return collector.writePrometheus(discard);
+    }
+
+    @Benchmark
+    public int json() throws IOException {
+        return objectMapper.writeValueAsBytes(collector.getMetrics()).length;
+    }
+}
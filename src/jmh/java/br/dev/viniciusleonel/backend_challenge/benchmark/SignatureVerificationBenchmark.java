@@ -0,0 +1,78 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtSignatureVerifier;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtValidator;
+import br.dev.viniciusleonel.backend_challenge.validators.ValidationResult;
+
+// Throughput da validacao apenas de claims contra a validacao com verificacao HMAC (sem cache, para medir o pipeline)
+// authLibraryVerify mostra o custo de criar Algorithm/verifier a cada chamada, como seria a abordagem ingenua
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="SignatureVerificationBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SignatureVerificationBenchmark {
+
+    private Path keyFile;
+    private JwtSignatureVerifier verifier;
+    private JwtValidator claimsOnly;
+    private JwtValidator withSignature;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSupport.silenceLogging();
+        keyFile = Files.createTempFile("jwt-keys", ".properties");
+        Files.writeString(keyFile, "atual=HS256:your-secret-key\n");
+        verifier = new JwtSignatureVerifier(true, keyFile.toString());
+        claimsOnly = new JwtValidator(null);
+        withSignature = new JwtValidator(null, verifier);
+        token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        verifier.shutdown();
+        Files.deleteIfExists(keyFile);
+    }
+
+    @Benchmark
+    public ValidationResult claimsOnly() {
+        return claimsOnly.validate(token);
+    }
+
+    @Benchmark
+    public ValidationResult withSignature() {
+        return withSignature.validate(token);
+    }
+
+    @Benchmark
+    public Object authLibraryVerify() {
+        return JWT.require(Algorithm.HMAC256("your-secret-key")).build().verify(token);
+    }
+}
@@ -0,0 +1,75 @@
+package br.dev.viniciusleonel.backend_challenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceSpan;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceState;
+
+// Abrir e fechar um TraceSpan dentro de um trace, como em cada requisicao de /api/validate
+// Cada operacao abre e encerra o proprio trace, para o span fechado ser sempre gravado no trace (recordSpan), como
+// numa requisicao; com um trace so, os spans fechados passariam do limite por trace e seriam apenas contados
+// openClose cria um span novo por operacao; pooledOpenClose reaproveita o span da thread (TraceSpan.start);
+// trace mede so abrir e encerrar o trace, para descontar dos outros dois
+// Comparar gc.alloc.rate.norm entre eles (o -prof gc ja vem ligado no profile benchmark)
+// O estado e por thread porque o contexto de trace vive no ThreadLocal da thread
+// Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="TraceSpanBenchmark"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceSpanBenchmark {
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+    }
+
+    @TearDown
+    public void tearDown() {
+        TraceContext.endTrace();
+    }
+
+    @Benchmark
+    public TraceState trace() {
+        TraceState trace = TraceContext.startTrace();
+        TraceContext.endTrace();
+        return trace;
+    }
+
+    @Benchmark
+    public TraceSpan openClose() {
+        TraceContext.startTrace();
+        TraceSpan span = new TraceSpan("jwt-validation");
+        span.addTag("endpoint", "/api/validate");
+        span.addBusinessContext("operation", "jwt_validation");
+        span.close();
+        TraceContext.endTrace();
+        return span;
+    }
+
+    @Benchmark
+    public long pooledOpenClose() {
+        TraceContext.startTrace();
+        TraceSpan span = TraceSpan.start("jwt-validation");
+        span.addTag("endpoint", "/api/validate");
+        span.addBusinessContext("operation", "jwt_validation");
+        span.close();
+        TraceContext.endTrace();
+        return span.getDurationNanos();
+    }
+}
@@ -1,14 +1,20 @@
 package br.dev.viniciusleonel.backend_challenge.controller;
 
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
 import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceSpan;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtBatchValidator;
 import br.dev.viniciusleonel.backend_challenge.validators.JwtValidator;
+import br.dev.viniciusleonel.backend_challenge.validators.ValidationResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,18 +23,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api")
 @Tag(name = "JWT Validation", description = "Endpoints para validação de tokens JWT")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ApiController {
 
     private final MetricsCollector metricsCollector;
     private final JwtValidator jwtValidator;
+    private final JwtBatchValidator jwtBatchValidator;
 
-    public ApiController(MetricsCollector metricsCollector, JwtValidator jwtValidator) {
+    public ApiController(MetricsCollector metricsCollector, JwtValidator jwtValidator, JwtBatchValidator jwtBatchValidator) {
         this.metricsCollector = metricsCollector;
         this.jwtValidator = jwtValidator;
+        this.jwtBatchValidator = jwtBatchValidator;
     }
 
     @GetMapping("/validate")
@@ -91,14 +102,48 @@ public class ApiController {
         )
         @RequestParam String token
     ) {
-        try (TraceSpan span = new TraceSpan("validateJwt")) {
+        try (TraceSpan span = TraceSpan.start("validateJwt")) {
             span.addTag("tokenLength", String.valueOf(token.length()));
             span.addBusinessContext("operation", "jwt_validation");
             
-            boolean isValid = jwtValidator.isValid(token);
-            metricsCollector.recordJwtValidation(isValid);
+            // Rejeicoes chegam como resultado tipado, sem excecoes no caminho quente
+            ValidationResult result = jwtValidator.validate(token);
+            metricsCollector.recordValidationResult(result);
+
+            if (!result.isValid()) {
+                span.addError(result.reason().name());
+            }
             
-            return isValid ? ResponseEntity.ok(true) : ResponseEntity.badRequest().body(false);
+            return ResponseEntity.status(result.httpStatus()).body(result.isValid());
+        }
+    }
+
+    @PostMapping(value = "/validate/batch", produces = "application/x-ndjson")
+    // Documentação Swagger
+    @Operation(
+        summary = "Validar JWTs em lote",
+        description = "Recebe um token JWT por linha (NDJSON) e devolve, em streaming e na mesma ordem, uma linha JSON por token com line, valid, status e error"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Resultados por token",
+        content = @Content(
+            mediaType = "application/x-ndjson",
+            examples = @ExampleObject(
+                value = "{\"line\":1,\"valid\":true,\"status\":200}\n{\"line\":2,\"valid\":false,\"status\":422,\"error\":\"Nome contem numeros\"}",
+                summary = "Exemplo de resultado em lote"
+            )
+        )
+    )
+    public void validateBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (TraceSpan span = TraceSpan.start("validateJwtBatch")) {
+            span.addBusinessContext("operation", "jwt_batch_validation");
+
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding("UTF-8");
+            long processed = jwtBatchValidator.validate(request.getInputStream(), response.getOutputStream());
+
+            span.addMetric("tokens", processed);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,28 +1,34 @@
 package br.dev.viniciusleonel.backend_challenge.controller;
 
+import java.io.IOException;
 import java.util.Map;
 
 import br.dev.viniciusleonel.backend_challenge.utils.ApiResponseExamples;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
 import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MonitorHealth;
 import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceMetrics;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/monitoring")
 @Tag(name = "Monitoring", description = "Endpoints para monitoramento e observabilidade")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class MonitoringController {
 
     private final MetricsCollector metricsCollector;
@@ -76,6 +82,30 @@ public class MonitoringController {
         return MonitorHealth.healthCheck(metricsCollector);
     }
 
+    @GetMapping("/prometheus")
+    // Documentação Swagger
+    @Operation(
+        summary = "Obter métricas no formato Prometheus",
+        description = "Retorna contadores e tempos de resposta no formato texto de exposição do Prometheus (0.0.4), escritos direto dos contadores e histogramas"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Métricas retornadas com sucesso",
+        content = @Content(
+            mediaType = "text/plain",
+            examples = @ExampleObject(
+                value = ApiResponseExamples.PROMETHEUS_EXAMPLE,
+                summary = "Exemplo de métricas Prometheus"
+            )
+        )
+    )
+    public void getPrometheusMetrics(HttpServletResponse response) throws IOException {
+        // debug: o scraper chama este endpoint a cada poucos segundos
+        log.debug("Endpoint chamado: /monitoring/prometheus");
+        response.setContentType(MetricsCollector.PROMETHEUS_CONTENT_TYPE);
+        metricsCollector.writePrometheus(response.getOutputStream());
+    }
+
     @GetMapping("/tracing/current")
     // Documentação Swagger
     @Operation(
@@ -120,6 +150,41 @@ public class MonitoringController {
         return TraceMetrics.collectEndpointTraces();
     }
 
+    @GetMapping("/tracing/search")
+    // Documentação Swagger
+    @Operation(
+        summary = "Buscar traces",
+        description = "Busca, entre os traces mantidos pela amostragem na cauda (erros, mais lentos por endpoint e uma amostra do restante), os que atendem aos filtros"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Traces encontrados, do mais recente para o mais antigo",
+        content = @Content(
+            mediaType = "application/json",
+            examples = @ExampleObject(
+                value = ApiResponseExamples.TRACE_SEARCH_EXAMPLE,
+                summary = "Exemplo de busca de traces"
+            )
+        )
+    )
+    public ResponseEntity<Map<String, Object>> searchTraces(
+        @Parameter(description = "Endpoint da requisição", example = "/api/validate")
+        @RequestParam(required = false) String endpoint,
+        @Parameter(description = "Tipo de erro da requisição ou de um span", example = "CLAIM_INVALID_CHARACTERS")
+        @RequestParam(required = false) String errorType,
+        @Parameter(description = "Duração mínima em milissegundos")
+        @RequestParam(required = false) Long minDurationMs,
+        @Parameter(description = "Início mínimo da requisição (epoch ms)")
+        @RequestParam(required = false) Long from,
+        @Parameter(description = "Início máximo da requisição (epoch ms)")
+        @RequestParam(required = false) Long to,
+        @Parameter(description = "Máximo de traces retornados (padrão 20, máximo 100)")
+        @RequestParam(required = false) Integer limit
+    ) {
+        log.info("Endpoint chamado: /monitoring/tracing/search");
+        return TraceMetrics.searchTraces(endpoint, errorType, minDurationMs, from, to, limit);
+    }
+
     @PostMapping("/metrics/reset")
     // Documentação Swagger
     @Operation(
@@ -0,0 +1,50 @@
+package br.dev.viniciusleonel.backend_challenge.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.ReactiveTraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceSpan;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtValidator;
+import br.dev.viniciusleonel.backend_challenge.validators.ValidationResult;
+import reactor.core.publisher.Mono;
+
+// Variante reativa (profile "reactive") de GET /api/validate, com o mesmo JwtValidator e MetricsCollector do ApiController
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApiController {
+
+    private final MetricsCollector metricsCollector;
+    private final JwtValidator jwtValidator;
+
+    public ReactiveApiController(MetricsCollector metricsCollector, JwtValidator jwtValidator) {
+        this.metricsCollector = metricsCollector;
+        this.jwtValidator = jwtValidator;
+    }
+
+    @GetMapping("/validate")
+    public Mono<ResponseEntity<Boolean>> validateJwt(@RequestParam String token) {
+        // A validacao e apenas CPU (sem I/O), entao roda direto no event loop
+        return ReactiveTraceContext.withTrace(() -> {
+            try (TraceSpan span = TraceSpan.start("validateJwt")) {
+                span.addTag("tokenLength", String.valueOf(token.length()));
+                span.addBusinessContext("operation", "jwt_validation");
+
+                ValidationResult result = jwtValidator.validate(token);
+                metricsCollector.recordValidationResult(result);
+
+                if (!result.isValid()) {
+                    span.addError(result.reason().name());
+                }
+
+                return ResponseEntity.status(result.httpStatus()).body(result.isValid());
+            }
+        });
+    }
+}
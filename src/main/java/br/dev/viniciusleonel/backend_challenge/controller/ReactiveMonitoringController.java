@@ -0,0 +1,99 @@
+package br.dev.viniciusleonel.backend_challenge.controller;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MonitorHealth;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.ReactiveTraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceMetrics;
+import reactor.core.publisher.Mono;
+
+// Variante reativa (profile "reactive") dos endpoints de /monitoring, reutilizando TraceMetrics e MonitorHealth
+@RestController
+@RequestMapping("/monitoring")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMonitoringController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveMonitoringController.class);
+
+    private final MetricsCollector metricsCollector;
+
+    public ReactiveMonitoringController(MetricsCollector metricsCollector) {
+        this.metricsCollector = metricsCollector;
+    }
+
+    @GetMapping("/metrics")
+    public Mono<ResponseEntity<Map<String, Object>>> getMetrics() {
+        return ReactiveTraceContext.withTrace(() -> {
+            log.info("Endpoint chamado: /monitoring/metrics");
+            return TraceMetrics.collectMetrics(metricsCollector);
+        });
+    }
+
+    @GetMapping("/health")
+    public Mono<ResponseEntity<Map<String, Object>>> health() {
+        return ReactiveTraceContext.withTrace(() -> {
+            log.info("Endpoint chamado: /monitoring/health");
+            return MonitorHealth.healthCheck(metricsCollector);
+        });
+    }
+
+    @GetMapping("/prometheus")
+    public Mono<ResponseEntity<byte[]>> getPrometheusMetrics() {
+        return ReactiveTraceContext.withTrace(() -> {
+            log.debug("Endpoint chamado: /monitoring/prometheus");
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(MetricsCollector.PROMETHEUS_CONTENT_TYPE))
+                    .body(metricsCollector.getPrometheusMetrics());
+        });
+    }
+
+    @GetMapping("/tracing/current")
+    public Mono<ResponseEntity<Map<String, Object>>> getCurrentTrace() {
+        return ReactiveTraceContext.withTrace(() -> {
+            log.info("Endpoint chamado: /monitoring/tracing/current");
+            return TraceMetrics.collectCurrentTrace();
+        });
+    }
+
+    @GetMapping("/tracing/endpoints")
+    public Mono<ResponseEntity<Map<String, Object>>> getEndpointTraces() {
+        return ReactiveTraceContext.withTrace(() -> {
+            log.info("Endpoint chamado: /monitoring/tracing/endpoints");
+            return TraceMetrics.collectEndpointTraces();
+        });
+    }
+
+    @GetMapping("/tracing/search")
+    public Mono<ResponseEntity<Map<String, Object>>> searchTraces(
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) String errorType,
+            @RequestParam(required = false) Long minDurationMs,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit) {
+        return ReactiveTraceContext.withTrace(() -> {
+            log.info("Endpoint chamado: /monitoring/tracing/search");
+            return TraceMetrics.searchTraces(endpoint, errorType, minDurationMs, from, to, limit);
+        });
+    }
+
+    @PostMapping("/metrics/reset")
+    public Mono<ResponseEntity<Map<String, Object>>> resetMetrics() {
+        return ReactiveTraceContext.withTrace(() -> {
+            log.info("Endpoint chamado: /monitoring/metrics/reset");
+            return TraceMetrics.resetMetrics(metricsCollector);
+        });
+    }
+}
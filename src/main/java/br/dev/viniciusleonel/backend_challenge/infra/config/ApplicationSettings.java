@@ -0,0 +1,70 @@
+package br.dev.viniciusleonel.backend_challenge.infra.config;
+
+import java.io.IOException;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+/**
+ * Leitura das propriedades "jwt.*" por componentes estaticos (regras de claims, crivo de primos, SpanStore,
+ * log deduplicado...), que sao inicializados fora do contexto do Spring e nao recebem @Value.
+ *
+ * Registrado em META-INF/spring.factories, guarda o Environment do Spring assim que ele e preparado, antes
+ * de qualquer bean: os valores vem do application.properties, de profiles, variaveis de ambiente e
+ * argumentos, como os @Value dos beans. Fora do Spring (testes unitarios, benchmarks) le o
+ * application.properties do classpath, com propriedades de sistema e variaveis de ambiente por cima.
+ */
+public final class ApplicationSettings implements EnvironmentPostProcessor {
+
+    private static final String DEFAULT_RESOURCE = "classpath:application.properties";
+
+    private static volatile PropertyResolver resolver;
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        resolver = environment;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        return resolver().getProperty(key, Integer.class, defaultValue);
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        return resolver().getProperty(key, Long.class, defaultValue);
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        return resolver().getProperty(key, Double.class, defaultValue);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return resolver().getProperty(key, Boolean.class, defaultValue);
+    }
+
+    public static String getString(String key, String defaultValue) {
+        return resolver().getProperty(key, defaultValue);
+    }
+
+    private static PropertyResolver resolver() {
+        PropertyResolver current = resolver;
+        if (current == null) {
+            current = standalone();
+            resolver = current;
+        }
+        return current;
+    }
+
+    private static PropertyResolver standalone() {
+        StandardEnvironment environment = new StandardEnvironment();
+        try {
+            environment.getPropertySources().addLast(new ResourcePropertySource(DEFAULT_RESOURCE));
+        } catch (IOException e) {
+            // Sem o arquivo ficam so as propriedades de sistema, variaveis de ambiente e os padroes do codigo
+        }
+        return environment;
+    }
+}
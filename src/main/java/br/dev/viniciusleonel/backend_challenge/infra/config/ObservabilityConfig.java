@@ -4,16 +4,46 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.DeduplicatingErrorLog;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.RingBufferAppender;
 import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.SpanStore;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtSignatureVerifier;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtValidationCache;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtValidationCoalescer;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtValidator;
+import jakarta.annotation.PostConstruct;
 
 @Configuration
 @EnableScheduling
 public class ObservabilityConfig {
 
     private final MetricsCollector metricsCollector;
+    private final JwtValidationCache validationCache;
+    private final JwtValidator jwtValidator;
+    private final JwtSignatureVerifier signatureVerifier;
+    private final JwtValidationCoalescer coalescer;
 
-    public ObservabilityConfig(MetricsCollector metricsCollector) {
+    public ObservabilityConfig(MetricsCollector metricsCollector, JwtValidationCache validationCache,
+                               JwtValidator jwtValidator, JwtSignatureVerifier signatureVerifier,
+                               JwtValidationCoalescer coalescer) {
         this.metricsCollector = metricsCollector;
+        this.validationCache = validationCache;
+        this.jwtValidator = jwtValidator;
+        this.signatureVerifier = signatureVerifier;
+        this.coalescer = coalescer;
+    }
+
+    // Expoe as metricas dos componentes em /monitoring/metrics
+    @PostConstruct
+    public void registerMetricsSources() {
+        metricsCollector.registerMetricsSource("validationCache", validationCache::getStats);
+        metricsCollector.registerMetricsSource("validatorPipeline", jwtValidator::getValidatorStats);
+        metricsCollector.registerMetricsSource("signature", signatureVerifier::getStats);
+        metricsCollector.registerMetricsSource("coalescing", coalescer::getStats);
+        metricsCollector.registerMetricsSource("asyncLogging", RingBufferAppender::getStats);
+        metricsCollector.registerMetricsSource("errorLogDeduplication", DeduplicatingErrorLog.shared()::getStats);
+        metricsCollector.registerMetricsSource("spanStore", SpanStore.shared()::getStats);
     }
 
     // Limpa métricas antigas a cada hora
@@ -22,6 +52,12 @@ public class ObservabilityConfig {
         // Implementação para limpeza de métricas antigas
     }
 
+    // Emite o resumo dos erros de validacao suprimidos cujas janelas ja encerraram
+    @Scheduled(fixedRateString = "${jwt.logging.dedup-flush-ms:10000}")
+    public void flushSuppressedErrors() {
+        DeduplicatingErrorLog.shared().flush();
+    }
+
     // Log de métricas a cada 5 minutos
     @Scheduled(fixedRate = 300000) // 5 minutos
     public void logMetrics() {
@@ -0,0 +1,23 @@
+package br.dev.viniciusleonel.backend_challenge.infra.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// O spring-boot-starter-web deixa o Tomcat no classpath, e a auto-configuracao reativa tenta o Tomcat antes do
+// Netty; declarar a factory garante que o profile "reactive" rode nos event loops do Netty (e que as
+// propriedades server.netty.* sejam aplicadas a ela)
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+}
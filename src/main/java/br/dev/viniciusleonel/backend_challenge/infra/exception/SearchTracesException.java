@@ -0,0 +1,7 @@
+package br.dev.viniciusleonel.backend_challenge.infra.exception;
+
+public class SearchTracesException extends RuntimeException {
+    public SearchTracesException(String message) {
+        super(message);
+    }
+}
@@ -17,21 +17,25 @@ import br.dev.viniciusleonel.backend_challenge.infra.exception.CollectMetricsExc
 import br.dev.viniciusleonel.backend_challenge.infra.exception.HealthCheckException;
 import br.dev.viniciusleonel.backend_challenge.infra.exception.InvalidClaimException;
 import br.dev.viniciusleonel.backend_challenge.infra.exception.ResetMetricsException;
+import br.dev.viniciusleonel.backend_challenge.infra.exception.SearchTracesException;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.DeduplicatingErrorLog;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final DeduplicatingErrorLog failures = DeduplicatingErrorLog.shared();
 
     @ExceptionHandler(InvalidClaimException.class)
     public ResponseEntity<Boolean> handleInvalidName(InvalidClaimException ex) {
-        log.error("Claim inválida detectada: {}", ex.getMessage(), ex);
+        // Falha esperada de validacao: sem stack trace e deduplicada por janela
+        failures.error(log, "InvalidClaimException", null, "Claim inválida detectada: {}", ex.getMessage());
         return ResponseEntity.unprocessableEntity().body(false);
     }
 
     @ExceptionHandler(JWTDecodeException.class)
     public ResponseEntity<Boolean> handleInvalidName(JWTDecodeException ex) {
-        log.error("Token inválido detectado: {}", ex.getMessage(), ex);
+        failures.error(log, "JWTDecodeException", null, "Token inválido detectado: {}", ex.getMessage());
         return ResponseEntity.badRequest().body(false);
     }
 
@@ -72,6 +76,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.internalServerError().body(errorTraces);
     }
 
+    @ExceptionHandler(SearchTracesException.class)
+    public ResponseEntity<Map<String, Object>> handleSearchTracesError(SearchTracesException ex) {
+        log.error("Erro ao buscar traces: {}", ex.getMessage(), ex);
+        Map<String, Object> errorTraces = new HashMap<>();
+        errorTraces.put("error", "Erro ao buscar traces: " + ex.getMessage());
+        errorTraces.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.internalServerError().body(errorTraces);
+    }
+
     @ExceptionHandler(CollectCurrentTraceException.class)
     public ResponseEntity<Map<String, Object>> handleCollectCurrentTraceError(CollectCurrentTraceException ex) {
         log.error("Erro ao coletar informacoes de tracing: {}", ex.getMessage(), ex);
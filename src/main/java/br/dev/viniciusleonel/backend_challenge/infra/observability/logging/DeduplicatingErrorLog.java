@@ -0,0 +1,130 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
+
+import br.dev.viniciusleonel.backend_challenge.infra.config.ApplicationSettings;
+
+/**
+ * Log de erros esperados de validacao (token malformado, claim invalida...) com deduplicacao por janela.
+ *
+ * Eventos do mesmo ponto de log (logger e mensagem) com o mesmo motivo e a mesma claim sao agregados: o primeiro de cada janela
+ * (jwt.logging.dedup-window-ms, padrao 10000) e logado sem stack trace, os demais apenas contados. Ao fim
+ * da janela, a proxima ocorrencia (ou o flush() agendado no ObservabilityConfig) emite uma linha com o total
+ * suprimido e um exemplo de mensagem suprimida, ja formatado. Assim uma rajada de tokens invalidos vira uma linha por motivo a cada janela, e nao milhares
+ * de linhas identicas.
+ */
+public final class DeduplicatingErrorLog {
+
+    public static final long DEFAULT_WINDOW_MILLIS = ApplicationSettings.getLong("jwt.logging.dedup-window-ms", 10_000L);
+
+    private static final DeduplicatingErrorLog SHARED = new DeduplicatingErrorLog(DEFAULT_WINDOW_MILLIS, System::currentTimeMillis);
+
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Key, Window> windows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> suppressedByReason = new ConcurrentHashMap<>();
+    private final LongAdder logged = new LongAdder();
+
+    DeduplicatingErrorLog(long windowMillis, LongSupplier clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    public static DeduplicatingErrorLog shared() {
+        return SHARED;
+    }
+
+    /**
+     * Loga a mensagem em ERROR se for a primeira do par motivo/claim na janela atual; caso contrario
+     * apenas conta a ocorrencia. Os argumentos seguem o formato {} do SLF4J e so sao formatados quando a
+     * linha e de fato emitida.
+     */
+    public void error(Logger log, String reason, String claim, String format, Object... args) {
+        Window window = windows.computeIfAbsent(new Key(log.getName(), format, reason, claim), key -> new Window(log, format));
+        long now = clock.getAsLong();
+        long start = window.start.get();
+
+        if (now - start >= windowMillis && window.start.compareAndSet(start, now)) {
+            emit(window, reason, format, args, window.pending.sumThenReset());
+            return;
+        }
+
+        // Exemplo para o resumo: a primeira suprimida da janela, formatada uma vez (sem reter os argumentos)
+        if (window.sample == null) {
+            window.sample = MessageFormatter.arrayFormat(format, args).getMessage();
+        }
+        window.pending.increment();
+        suppressedByReason.computeIfAbsent(reason, k -> new LongAdder()).increment();
+    }
+
+    // Emite o resumo das janelas encerradas que ainda tem ocorrencias suprimidas
+    public void flush() {
+        long now = clock.getAsLong();
+        windows.forEach((key, window) -> {
+            long start = window.start.get();
+            if (now - start >= windowMillis && window.pending.sum() > 0 && window.start.compareAndSet(start, now)) {
+                long suppressed = window.pending.sumThenReset();
+                String sample = window.sample;
+                window.sample = null;
+                if (suppressed > 0) {
+                    window.log.error("{} ocorrencia(s) suprimida(s) nos ultimos {}s: {} (motivo {}, claim {})",
+                            suppressed, windowMillis / 1000, sample != null ? sample : window.format, key.reason(), key.claim());
+                    logged.increment();
+                }
+            }
+        });
+    }
+
+    private void emit(Window window, String reason, String format, Object[] args, long suppressed) {
+        window.sample = null;
+        if (suppressed > 0) {
+            Object[] withCount = new Object[args.length + 2];
+            System.arraycopy(args, 0, withCount, 0, args.length);
+            withCount[args.length] = suppressed;
+            withCount[args.length + 1] = windowMillis / 1000;
+            window.log.error(format + " [+{} ocorrencia(s) suprimida(s) nos ultimos {}s]", withCount);
+        } else {
+            window.log.error(format, args);
+        }
+        logged.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> suppressed = new HashMap<>();
+        suppressedByReason.forEach((reason, count) -> suppressed.put(reason, count.sum()));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("windowMillis", windowMillis);
+        data.put("logged", logged.sum());
+        data.put("suppressed", suppressed);
+        data.put("activeKeys", windows.size());
+        return data;
+    }
+
+    // Logger e mensagem entram na chave para que pontos de log diferentes com o mesmo motivo (ex.:
+    // TOKEN_MALFORMED no JwtClaimsScanner e no JwtValidator) nao sejam agregados sob o primeiro logger
+    private record Key(String logger, String format, String reason, String claim) {
+    }
+
+    private static final class Window {
+        private final Logger log;
+        private final String format;
+        // Long.MIN_VALUE / 2 garante que a primeira ocorrencia sempre abre uma janela
+        private final AtomicLong start = new AtomicLong(Long.MIN_VALUE / 2);
+        private final LongAdder pending = new LongAdder();
+        private volatile String sample;
+
+        private Window(Logger log, String format) {
+            this.log = log;
+            this.format = format;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.qos.logback.classic.pattern.TargetLengthBasedClassNameAbbreviator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+
+/**
+ * Layout do modo de log assincrono. Gera o mesmo formato de logging.pattern.console
+ * (%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} [%X{requestId}] ... - %msg%n), mas escreve direto
+ * no StringBuilder do slot do ring buffer, sem criar Strings intermediarias: a data e refeita uma vez por
+ * segundo, os nomes abreviados dos loggers ficam em cache e os placeholders {} da mensagem sao substituidos
+ * sem passar pelo MessageFormatter. Apenas stack traces ainda alocam.
+ */
+final class GarbageFreeLogLayout {
+
+    private static final String[] MDC_KEYS = {"requestId", "endpoint", "traceId", "spanId", "operationName"};
+    private static final int LOGGER_LENGTH = 36;
+
+    private final TargetLengthBasedClassNameAbbreviator abbreviator = new TargetLengthBasedClassNameAbbreviator(LOGGER_LENGTH);
+    private final Map<String, String> abbreviatedLoggers = new ConcurrentHashMap<>();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Data formatada do segundo mais recente, compartilhada por todos os produtores; o array nao muda depois de
+    // publicado, e a troca de segundo publica um snapshot novo
+    private record FormattedSecond(long second, char[] chars) {
+    }
+
+    private volatile FormattedSecond lastSecond = new FormattedSecond(Long.MIN_VALUE, new char[19]);
+
+    void format(ILoggingEvent event, StringBuilder out) {
+        appendDate(event.getTimeStamp(), out);
+        out.append(" [").append(event.getThreadName()).append("] ");
+        appendLevel(event.getLevel().toString(), out);
+        out.append(' ').append(abbreviatedLoggers.computeIfAbsent(event.getLoggerName(), abbreviator::abbreviate));
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        for (String key : MDC_KEYS) {
+            appendMdc(mdc, key, out);
+        }
+        out.append(" [");
+        appendValue(mdc.get("duration"), out);
+        out.append("ms] - ");
+
+        appendMessage(event.getMessage(), event.getArgumentArray(), out);
+        out.append('\n');
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            out.append(ThrowableProxyUtil.asString(throwable));
+        }
+    }
+
+    private void appendDate(long timestamp, StringBuilder out) {
+        long second = Math.floorDiv(timestamp, 1000L);
+        FormattedSecond cached = lastSecond;
+        if (second != cached.second()) {
+            cached = new FormattedSecond(second, formatSecond(second));
+            // Eventos atrasados de um segundo anterior nao devolvem o cache para tras
+            if (second > lastSecond.second()) {
+                lastSecond = cached;
+            }
+        }
+        out.append(cached.chars());
+    }
+
+    private char[] formatSecond(long second) {
+        ZoneOffset offset = zone.getRules().getOffset(Instant.ofEpochSecond(second));
+        LocalDateTime time = LocalDateTime.ofEpochSecond(second, 0, offset);
+        char[] c = new char[19];
+        writeDigits(c, 0, time.getYear(), 4);
+        c[4] = '-';
+        writeDigits(c, 5, time.getMonthValue(), 2);
+        c[7] = '-';
+        writeDigits(c, 8, time.getDayOfMonth(), 2);
+        c[10] = ' ';
+        writeDigits(c, 11, time.getHour(), 2);
+        c[13] = ':';
+        writeDigits(c, 14, time.getMinute(), 2);
+        c[16] = ':';
+        writeDigits(c, 17, time.getSecond(), 2);
+        return c;
+    }
+
+    private static void writeDigits(char[] target, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static void appendLevel(String level, StringBuilder out) {
+        out.append(level);
+        for (int i = level.length(); i < 5; i++) {
+            out.append(' ');
+        }
+    }
+
+    private static void appendMdc(Map<String, String> mdc, String key, StringBuilder out) {
+        out.append(" [");
+        appendValue(mdc.get(key), out);
+        out.append(']');
+    }
+
+    private static void appendValue(String value, StringBuilder out) {
+        if (value != null) {
+            out.append(value);
+        }
+    }
+
+    // Mesmas regras do MessageFormatter do SLF4J para {} e \{}, escrevendo direto no destino
+    static void appendMessage(String pattern, Object[] args, StringBuilder out) {
+        if (pattern == null) {
+            out.append((String) null);
+            return;
+        }
+        if (args == null || args.length == 0) {
+            out.append(pattern);
+            return;
+        }
+
+        int start = 0;
+        int arg = 0;
+        int length = pattern.length();
+        while (arg < args.length) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
+            }
+            if (placeholder > 0 && pattern.charAt(placeholder - 1) == '\\') {
+                if (placeholder > 1 && pattern.charAt(placeholder - 2) == '\\') {
+                    // \\{} -> \ seguido do argumento
+                    out.append(pattern, start, placeholder - 1);
+                    appendArgument(args[arg++], out);
+                } else {
+                    // \{} -> {} literal
+                    out.append(pattern, start, placeholder - 1).append("{}");
+                }
+            } else {
+                out.append(pattern, start, placeholder);
+                appendArgument(args[arg++], out);
+            }
+            start = placeholder + 2;
+        }
+        out.append(pattern, start, length);
+    }
+
+    private static void appendArgument(Object argument, StringBuilder out) {
+        if (argument instanceof String text) {
+            out.append(text);
+        } else if (argument instanceof Long number) {
+            out.append(number.longValue());
+        } else if (argument instanceof Integer number) {
+            out.append(number.intValue());
+        } else if (argument instanceof Boolean flag) {
+            out.append(flag.booleanValue());
+        } else if (argument instanceof Object[] array) {
+            out.append(Arrays.deepToString(array));
+        } else {
+            out.append(argument);
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
 
-import java.util.UUID;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.IdGenerator;
 import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceParent;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceState;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class LoggingInterceptor implements HandlerInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(LoggingInterceptor.class);
@@ -26,16 +29,21 @@ public class LoggingInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         long startTime = System.currentTimeMillis();
-        
-        // Adiciona contexto unico para esta requisicao
-        String requestId = UUID.randomUUID().toString();
-        MDC.put("requestId", requestId);
-        MDC.put("endpoint", request.getRequestURI());
-        MDC.put("method", request.getMethod());
-        MDC.put("startTime", String.valueOf(startTime));
+        long startNanos = System.nanoTime();
         
         // Inicia o tracing - IMPORTANTE: sempre inicializa
-        TraceContext.startTrace();
+        // O contexto unico desta requisicao fica no TraceState, e nao em chaves do MDC
+        // Com traceparent valido o trace de quem chamou e continuado; sem ele (ou invalido) comeca um novo
+        String requestId = IdGenerator.nextRequestId();
+        TraceState trace = TraceContext.startTrace(
+                request.getHeader(TraceParent.TRACEPARENT), request.getHeader(TraceParent.TRACESTATE));
+        trace.setRequest(requestId, request.getRequestURI(), request.getMethod(), startTime);
+
+        // Devolve o contexto W3C na resposta (antes do handler, enquanto os headers ainda podem ser escritos)
+        response.setHeader(TraceParent.TRACEPARENT, TraceParent.format(trace));
+        if (trace.getVendorState() != null) {
+            response.setHeader(TraceParent.TRACESTATE, trace.getVendorState());
+        }
         
         // Log para debug
         log.debug("Tracing iniciado para: {} {} [requestId: {}, traceId: {}]", 
@@ -45,40 +53,47 @@ public class LoggingInterceptor implements HandlerInterceptor {
         // Registra metricas
         metricsCollector.recordRequest(request.getRequestURI(), request.getMethod());
         
-        // Armazena startTime para uso posterior
-        request.setAttribute("startTime", startTime);
+        // Armazena o inicio (System.nanoTime) para medir o tempo de resposta com resolucao de nanossegundos
+        request.setAttribute("startNanos", startNanos);
         
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
-        long startTime = (Long) request.getAttribute("startTime");
-        long endTime = System.currentTimeMillis();
-        long responseTime = endTime - startTime;
-        
-        // Adiciona informacoes de resposta
-        MDC.put("statusCode", String.valueOf(response.getStatus()));
-        MDC.put("responseTime", String.valueOf(responseTime));
-        MDC.put("duration", String.valueOf(responseTime));
-        
-        // Log para debug
-        log.debug("Finalizando tracing para: {} {} [traceId: {}, duracao: {}ms]", 
-                 request.getMethod(), request.getRequestURI(), 
-                 TraceContext.getCurrentTraceId(), responseTime);
-        
-        // Registra metricas de performance
-        if (response.getStatus() >= 200 && response.getStatus() < 400) {
-            metricsCollector.recordSuccessfulRequest(request.getRequestURI(), request.getMethod(), responseTime);
-        } else {
-            String errorType = ex != null ? ex.getClass().getSimpleName() : "HTTP_" + response.getStatus();
-            metricsCollector.recordFailedRequest(request.getRequestURI(), request.getMethod(), responseTime, errorType);
+        try {
+            long startNanos = (Long) request.getAttribute("startNanos");
+            long responseTimeNanos = System.nanoTime() - startNanos;
+            long responseTime = responseTimeNanos / 1_000_000;
+            
+            // Adiciona informacoes de resposta
+            TraceState trace = TraceContext.current();
+            if (trace != null) {
+                trace.setDuration(responseTime);
+            }
+            
+            // Log para debug
+            log.debug("Finalizando tracing para: {} {} [traceId: {}, duracao: {}ms]", 
+                     request.getMethod(), request.getRequestURI(), 
+                     TraceContext.getCurrentTraceId(), responseTime);
+            
+            // Registra metricas de performance
+            if (response.getStatus() >= 200 && response.getStatus() < 400) {
+                metricsCollector.recordSuccessfulRequestNanos(request.getRequestURI(), request.getMethod(), responseTimeNanos);
+            } else {
+                String errorType = ex != null ? ex.getClass().getSimpleName() : "HTTP_" + response.getStatus();
+                metricsCollector.recordFailedRequestNanos(request.getRequestURI(), request.getMethod(), responseTimeNanos, errorType);
+                // Requisicoes com erro sempre ficam no SpanStore (decidido no endTrace)
+                if (trace != null) {
+                    trace.setErrorType(errorType);
+                }
+            }
+        } finally {
+            // Finaliza o tracing (o SpanStore decide se o trace e mantido) e sempre limpa o contexto ao final da requisicao,
+            // mesmo se o registro de metricas falhar, para nao vazar contexto (ThreadLocal e MDC) para a proxima
+            // requisicao da mesma thread de plataforma
+            TraceContext.endTrace();
+            MDC.clear();
         }
-        
-        // Finaliza o tracing
-        TraceContext.endTrace();
-        
-        // Sempre limpa o contexto ao final da requisicao
-        MDC.clear();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.IdGenerator;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.ReactiveTraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceParent;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceState;
+import reactor.core.publisher.Mono;
+
+// Equivalente reativo do LoggingInterceptor: inicia o trace, registra metricas e propaga o contexto pelo Context do Reactor
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class LoggingWebFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingWebFilter.class);
+    private static final String ERROR_ATTRIBUTE = LoggingWebFilter.class.getName() + ".error";
+
+    private final MetricsCollector metricsCollector;
+
+    public LoggingWebFilter(MetricsCollector metricsCollector) {
+        this.metricsCollector = metricsCollector;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long startTime = System.currentTimeMillis();
+        String endpoint = exchange.getRequest().getPath().value();
+        String method = exchange.getRequest().getMethod().name();
+
+        // Adiciona contexto unico para esta requisicao e inicia o tracing
+        // Com traceparent valido o trace de quem chamou e continuado; sem ele (ou invalido) comeca um novo
+        String requestId = IdGenerator.nextRequestId();
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        TraceState context = TraceContext.newTrace(
+                headers.getFirst(TraceParent.TRACEPARENT), headers.getFirst(TraceParent.TRACESTATE));
+        context.setRequest(requestId, endpoint, method, startTime);
+
+        // Devolve o contexto W3C na resposta
+        HttpHeaders responseHeaders = exchange.getResponse().getHeaders();
+        responseHeaders.set(TraceParent.TRACEPARENT, TraceParent.format(context));
+        if (context.getVendorState() != null) {
+            responseHeaders.set(TraceParent.TRACESTATE, context.getVendorState());
+        }
+        ReactiveTraceContext.callWithContext(context, () -> {
+            log.debug("Tracing iniciado para: {} {} [requestId: {}, traceId: {}]",
+                     method, endpoint, requestId, TraceContext.getCurrentTraceId());
+            return null;
+        });
+
+        metricsCollector.recordRequest(endpoint, method);
+
+        return chain.filter(exchange)
+                .doOnError(error -> exchange.getAttributes().put(ERROR_ATTRIBUTE, error))
+                .doFinally(signal -> complete(exchange, context, endpoint, method))
+                .contextWrite(ctx -> ctx.put(ReactiveTraceContext.CONTEXT_KEY, context));
+    }
+
+    private void complete(ServerWebExchange exchange, TraceState context, String endpoint, String method) {
+        ReactiveTraceContext.callWithContext(context, () -> {
+            long responseTimeNanos = System.nanoTime() - context.getStartNanos();
+            long responseTime = responseTimeNanos / 1_000_000;
+            HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+            int status = statusCode != null ? statusCode.value() : 200;
+
+            // Adiciona informacoes de resposta
+            context.setDuration(responseTime);
+
+            log.debug("Finalizando tracing para: {} {} [traceId: {}, duracao: {}ms]",
+                     method, endpoint, TraceContext.getCurrentTraceId(), responseTime);
+
+            // Registra metricas de performance
+            Throwable error = exchange.getAttribute(ERROR_ATTRIBUTE);
+            if (error == null && status >= 200 && status < 400) {
+                metricsCollector.recordSuccessfulRequestNanos(endpoint, method, responseTimeNanos);
+            } else {
+                String errorType = error != null ? error.getClass().getSimpleName() : "HTTP_" + status;
+                metricsCollector.recordFailedRequestNanos(endpoint, method, responseTimeNanos, errorType);
+                context.setErrorType(errorType);
+            }
+
+            // Finaliza o trace: o SpanStore decide se ele e mantido
+            TraceContext.finishTrace(context);
+
+            return null;
+        });
+    }
+}
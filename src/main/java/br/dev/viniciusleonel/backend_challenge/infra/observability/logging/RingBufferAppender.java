@@ -0,0 +1,258 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * Appender do modo de log assincrono (profile async-logging, ver logback-spring.xml).
+ *
+ * A thread que loga reserva um slot de um ring buffer limitado (fila MPSC sem locks, com um numero de
+ * sequencia por slot), formata o evento direto no StringBuilder pre-alocado do slot com o
+ * GarbageFreeLogLayout e publica o slot. Uma unica thread de escrita consome os slots em ordem, codifica em
+ * UTF-8 num buffer proprio e escreve no console em blocos, fazendo flush quando a fila esvazia. Assim a
+ * requisicao nao espera pela escrita no console nem disputa o lock do System.out.
+ *
+ * Com o buffer cheio, a politica DROP descarta o evento e conta o descarte; BLOCK espera por espaco.
+ * Descartes, profundidade da fila e eventos escritos aparecem em asyncLogging no /monitoring/metrics.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    // Appenders ativos, por nome, para expor as metricas (o appender e criado pelo logback, nao pelo Spring)
+    private static final Map<String, RingBufferAppender> ACTIVE = new ConcurrentHashMap<>();
+
+    private static final int INITIAL_SLOT_CAPACITY = 256;
+    // Slots que cresceram demais (stack traces) voltam ao tamanho inicial para nao reter memoria
+    private static final int MAX_RETAINED_SLOT_CAPACITY = 16 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private int bufferSize = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private OutputStream outputStream = System.out;
+
+    private final GarbageFreeLogLayout layout = new GarbageFreeLogLayout();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private int mask;
+    private StringBuilder[] texts;
+    private AtomicLongArray sequences;
+    private volatile long head;
+    private volatile boolean running;
+    private Thread writer;
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase());
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy.name();
+    }
+
+    // Destino das linhas; System.out por padrao
+    void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void start() {
+        if (bufferSize < 2) {
+            addError("bufferSize deve ser maior que 1: " + bufferSize);
+            return;
+        }
+        // Capacidade arredondada para potencia de 2 para indexar com mascara
+        int capacity = Integer.highestOneBit(bufferSize - 1) << 1;
+        mask = capacity - 1;
+        texts = new StringBuilder[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            texts[i] = new StringBuilder(INITIAL_SLOT_CAPACITY);
+            sequences.set(i, i);
+        }
+        tail.set(0);
+        head = 0;
+
+        running = true;
+        writer = new Thread(this::drainLoop, "log-ring-buffer-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        ACTIVE.put(getName() != null ? getName() : "default", this);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ACTIVE.remove(getName() != null ? getName() : "default", this);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int index = (int) position & mask;
+        StringBuilder text = texts[index];
+        text.setLength(0);
+        try {
+            layout.format(event, text);
+        } catch (RuntimeException e) {
+            text.setLength(0);
+            text.append("Falha ao formatar evento de log: ").append(e).append('\n');
+        }
+        // Publica o slot para a thread de escrita
+        sequences.lazySet(index, position + 1);
+    }
+
+    // Reserva a proxima posicao do buffer ou retorna -1 se o evento foi descartado
+    private long claim() {
+        while (true) {
+            long position = tail.get();
+            long sequence = sequences.get((int) position & mask);
+            long difference = sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                // Buffer cheio: o slot ainda nao foi consumido pela thread de escrita
+                if (overflowPolicy == OverflowPolicy.DROP || !isStarted()) {
+                    dropped.increment();
+                    return -1;
+                }
+                blocked.increment();
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+        int length = 0;
+        int capacity = mask + 1;
+
+        while (true) {
+            long position = head;
+            int index = (int) position & mask;
+            if (sequences.get(index) == position + 1) {
+                length = encode(texts[index], buffer, length);
+                if (texts[index].capacity() > MAX_RETAINED_SLOT_CAPACITY) {
+                    texts[index] = new StringBuilder(INITIAL_SLOT_CAPACITY);
+                }
+                // Libera o slot para a proxima volta do ring
+                sequences.lazySet(index, position + capacity);
+                head = position + 1;
+                written.incrementAndGet();
+                continue;
+            }
+
+            length = flush(buffer, length);
+            if (!running && tail.get() == head) {
+                break;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        flush(buffer, length);
+    }
+
+    // Codifica o texto em UTF-8 no buffer de escrita, descarregando-o no destino quando enche
+    private int encode(CharSequence text, byte[] buffer, int length) {
+        int size = text.length();
+        for (int i = 0; i < size; i++) {
+            if (length > buffer.length - 4) {
+                length = flush(buffer, length);
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xC0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[length++] = '?';
+            } else {
+                buffer[length++] = (byte) (0xE0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return length;
+    }
+
+    private int flush(byte[] buffer, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        try {
+            outputStream.write(buffer, 0, length);
+            outputStream.flush();
+        } catch (IOException e) {
+            addError("Falha ao escrever eventos de log", e);
+        }
+        return 0;
+    }
+
+    Map<String, Object> getAppenderStats() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("capacity", mask + 1);
+        data.put("overflowPolicy", overflowPolicy.name());
+        data.put("queueDepth", Math.max(0, tail.get() - head));
+        data.put("written", written.get());
+        data.put("dropped", dropped.sum());
+        data.put("blockedWaits", blocked.sum());
+        return data;
+    }
+
+    public static Map<String, Object> getStats() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("enabled", !ACTIVE.isEmpty());
+        Map<String, Object> appenders = new HashMap<>();
+        ACTIVE.forEach((name, appender) -> appenders.put(name, appender.getAppenderStats()));
+        data.put("appenders", appenders);
+        return data;
+    }
+}
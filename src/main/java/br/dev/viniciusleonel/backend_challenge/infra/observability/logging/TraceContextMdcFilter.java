@@ -0,0 +1,25 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import org.slf4j.Marker;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceContext;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Atualiza o MDC com o contexto de trace imediatamente antes de um evento de log habilitado ser criado.
+ * Logs desabilitados (ex.: debug de spans em producao) nao tocam no MDC. Registrado no logback-spring.xml.
+ */
+public class TraceContextMdcFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Nao usa logger.isEnabledFor(), que chamaria os turbo filters de novo
+        if (level != null && level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            TraceContext.syncMdc();
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
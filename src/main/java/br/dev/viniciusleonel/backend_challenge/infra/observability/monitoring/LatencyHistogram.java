@@ -0,0 +1,201 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias com buckets log-lineares no estilo HDR, em tamanho fixo e sem alocacao por registro.
+ *
+ * Valores de 0 a 63 tem bucket proprio; a partir dai cada potencia de dois e dividida em 32 sub-buckets, o que
+ * limita o erro relativo dos percentis a ~3% em qualquer escala. Com valores em nanossegundos, o maior
+ * rastreavel e 2^42 - 1 (~73 minutos); acima disso o valor cai no ultimo bucket (minimo e maximo continuam exatos).
+ * Registrar e um incremento em um AtomicLongArray; percentis sao calculados na leitura, percorrendo os
+ * {@value #BUCKET_COUNT} buckets.
+ *
+ * Com menos sub-buckets por potencia de dois (construtor com precisao) o histograma ocupa menos memoria e o
+ * erro relativo sobe para 2^-bits; e o que as janelas deslizantes usam em cada fatia de tempo.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 41;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+    static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final int subBucketBits;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        this(SUB_BUCKET_BITS);
+    }
+
+    // subBucketBits de 1 a 5: 2^bits sub-buckets por potencia de dois
+    public LatencyHistogram(int subBucketBits) {
+        if (subBucketBits < 1 || subBucketBits > SUB_BUCKET_BITS) {
+            throw new IllegalArgumentException("subBucketBits deve estar entre 1 e " + SUB_BUCKET_BITS);
+        }
+        this.subBucketBits = subBucketBits;
+        this.counts = new AtomicLongArray(bucketCount(subBucketBits));
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_VALUE), subBucketBits));
+        count.increment();
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    // Menor valor registrado, ou 0 sem registros
+    public long getMin() {
+        long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n > 0 ? (double) sum.sum() / n : 0.0;
+    }
+
+    /**
+     * Valor no percentil informado (0 a 100): o maior valor equivalente do bucket onde cai o registro de
+     * posicao ceil(p * total / 100), limitado ao maximo observado. Retorna 0 sem registros.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[counts.length()];
+        addCountsTo(snapshot);
+        return valueAtPercentile(snapshot, subBucketBits, percentile, max.get());
+    }
+
+    /**
+     * Varios percentis (em ordem crescente) de uma vez, sem copiar os buckets: uma passada para o total e outra
+     * para os valores. Usado na exposicao Prometheus, que nao deve alocar por endpoint.
+     */
+    public void getValuesAtPercentiles(double[] percentiles, long[] values) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        long max = this.max.get();
+        int next = 0;
+        long seen = 0;
+        for (int i = 0; i < counts.length() && next < percentiles.length && total > 0; i++) {
+            seen += counts.get(i);
+            while (next < percentiles.length
+                    && seen >= Math.max(1, (long) Math.ceil(Math.min(percentiles[next], 100.0) / 100.0 * total))) {
+                values[next++] = Math.min(highestEquivalentValue(i, subBucketBits), max);
+            }
+        }
+        // Sem registros, ou contagens que mudaram entre as duas passadas: o restante fica no maximo
+        for (; next < percentiles.length; next++) {
+            values[next] = total > 0 ? max : 0;
+        }
+    }
+
+    // Soma as contagens por bucket em target (mesma precisao), para juntar varios histogramas antes dos percentis
+    void addCountsTo(long[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += counts.get(i);
+        }
+    }
+
+    int getSubBucketBits() {
+        return subBucketBits;
+    }
+
+    // Percentil sobre contagens por bucket, limitado ao maximo observado; 0 sem registros
+    static long valueAtPercentile(long[] counts, int subBucketBits, double percentile, long max) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i, subBucketBits), max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    static int bucketCount(int subBucketBits) {
+        return (MAX_EXPONENT - subBucketBits + 2) << subBucketBits;
+    }
+
+    static int bucketIndex(long value) {
+        return bucketIndex(value, SUB_BUCKET_BITS);
+    }
+
+    static int bucketIndex(long value, int subBucketBits) {
+        int subBucketCount = 1 << subBucketBits;
+        if (value < 2 * subBucketCount) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - subBucketBits;
+        int subBucket = (int) (value >>> shift) - subBucketCount;
+        return (shift + 1) * subBucketCount + subBucket;
+    }
+
+    static long lowestEquivalentValue(int index) {
+        return lowestEquivalentValue(index, SUB_BUCKET_BITS);
+    }
+
+    static long lowestEquivalentValue(int index, int subBucketBits) {
+        int subBucketCount = 1 << subBucketBits;
+        if (index < 2 * subBucketCount) {
+            return index;
+        }
+        int shift = index / subBucketCount - 1;
+        return (long) (subBucketCount + index % subBucketCount) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return highestEquivalentValue(index, SUB_BUCKET_BITS);
+    }
+
+    static long highestEquivalentValue(int index, int subBucketBits) {
+        int subBucketCount = 1 << subBucketBits;
+        if (index < 2 * subBucketCount) {
+            return index;
+        }
+        int shift = index / subBucketCount - 1;
+        return lowestEquivalentValue(index, subBucketBits) + (1L << shift) - 1;
+    }
+}
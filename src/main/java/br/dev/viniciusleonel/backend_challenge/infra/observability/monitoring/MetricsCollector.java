@@ -1,147 +1,240 @@
 package br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Component;
 
+import br.dev.viniciusleonel.backend_challenge.infra.config.ApplicationSettings;
+import br.dev.viniciusleonel.backend_challenge.validators.ValidationResult;
+
 @Component
 public class MetricsCollector {
     
+    // Contadores escritos por todas as threads de requisicao: LongAdder espalha os incrementos em celulas
+    // (uma por nucleo em disputa) em vez de concentrar tudo em uma linha de cache; as taxas derivadas
+    // sao calculadas apenas na leitura, em getMetrics()
+
     // Contadores de requisições
-    private final AtomicLong totalRequests = new AtomicLong(0);
-    private final AtomicLong successfulRequests = new AtomicLong(0);
-    private final AtomicLong failedRequests = new AtomicLong(0);
+    private final LongAdder totalRequests = new LongAdder();
+    private final LongAdder successfulRequests = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
     
-    // Métricas de performance
-    private final ConcurrentHashMap<String, AtomicLong> endpointRequests = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, AtomicLong> endpointErrors = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<Long>> responseTimes = new ConcurrentHashMap<>();
+    // Métricas de performance, por endpoint:metodo. Como o interceptor cobre /**, toda URI distinta (inclusive
+    // caminhos de scanners que caem em 404) viraria uma chave com contadores e um histograma de ~10KB; acima de
+    // MAX_ENDPOINTS chaves as novas sao agregadas em OTHER_ENDPOINT
+    static final int MAX_ENDPOINTS = ApplicationSettings.getInt("jwt.metrics.max-endpoints", 256);
+    static final String OTHER_ENDPOINT = "_other";
+    private final ConcurrentHashMap<String, LongAdder> endpointRequests = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> endpointErrors = new ConcurrentHashMap<>();
+
+    // Tempos de resposta em nanossegundos: um histograma de tamanho fixo por endpoint e um geral
+    private final ConcurrentHashMap<String, LatencyHistogram> responseTimes = new ConcurrentHashMap<>();
+    private final LatencyHistogram allResponseTimes = new LatencyHistogram();
+
+    // Janelas deslizantes de 1, 5 e 15 minutos: uma geral (com JWT) e uma por endpoint, limitadas porque cada
+    // uma ocupa ~160KB; endpoints alem do limite entram so na janela geral
+    static final int MAX_WINDOWED_ENDPOINTS = ApplicationSettings.getInt("jwt.metrics.windowed-endpoints", 32);
+    private final RollingWindow windows = new RollingWindow(true);
+    private final ConcurrentHashMap<String, RollingWindow> endpointWindows = new ConcurrentHashMap<>();
     
     // Métricas de JWT
-    private final AtomicLong totalJwtValidations = new AtomicLong(0);
-    private final AtomicLong validJwts = new AtomicLong(0);
-    private final AtomicLong invalidJwts = new AtomicLong(0);
+    private final LongAdder totalJwtValidations = new LongAdder();
+    private final LongAdder validJwts = new LongAdder();
+    private final LongAdder invalidJwts = new LongAdder();
     
     // Métricas de claims
-    private final ConcurrentHashMap<String, AtomicLong> claimValidationErrors = new ConcurrentHashMap<>();
-    
-    private final ConcurrentHashMap<String, Object> aggregatedMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> claimValidationErrors = new ConcurrentHashMap<>();
+
+    // Tokens rejeitados antes das claims (estrutura, decodificacao, assinatura), por motivo
+    private final ConcurrentHashMap<String, LongAdder> tokenRejections = new ConcurrentHashMap<>();
+
+    // Exposicao Prometheus: buffer e rotulos reaproveitados entre scrapes, usados sob lock
+    public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String PREFIX = "backend_challenge_";
+    private static final double[] QUANTILES = {50, 90, 99, 99.9};
+    private static final String[] QUANTILE_LABELS = {
+        ",quantile=\"0.5\"", ",quantile=\"0.9\"", ",quantile=\"0.99\"", ",quantile=\"0.999\""
+    };
+    private static final byte[] VALID_LABEL = "result=\"valid\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INVALID_LABEL = "result=\"invalid\"".getBytes(StandardCharsets.US_ASCII);
+    private final ReentrantLock prometheusLock = new ReentrantLock();
+    private final PrometheusWriter prometheus = new PrometheusWriter();
+    // Segundo buffer de writePrometheus(); null enquanto uma escrita fora do lock esta com ele
+    private byte[] spareBuffer;
+    private final PrometheusWriter.Labels endpointLabels = new PrometheusWriter.Labels("endpoint", "method");
+    private final PrometheusWriter.Labels claimLabels = new PrometheusWriter.Labels("claim", "error");
+    private final PrometheusWriter.Labels reasonLabels = new PrometheusWriter.Labels("reason");
+    private final long[] quantileValues = new long[QUANTILES.length];
+
+    // Fontes de metricas de outros componentes (cache, pipeline de validacao...) incluidas em getMetrics()
+    private final ConcurrentHashMap<String, Supplier<Map<String, Object>>> metricsSources = new ConcurrentHashMap<>();
+
+    public void registerMetricsSource(String name, Supplier<Map<String, Object>> source) {
+        if (name != null && source != null) {
+            metricsSources.put(name, source);
+        }
+    }
 
     public void recordRequest(String endpoint, String method) {
         if (endpoint != null && method != null) {
-            totalRequests.incrementAndGet();
-            String key = endpoint + ":" + method;
-            endpointRequests.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+            totalRequests.increment();
+            counter(endpointRequests, endpointKey(endpoint, method)).increment();
         }
     }
     
+    // Tempo de resposta em milissegundos
     public void recordSuccessfulRequest(String endpoint, String method, Long responseTime) {
-        totalRequests.incrementAndGet();
-        successfulRequests.incrementAndGet();
-        
-        String key = endpoint + ":" + method;
-        endpointRequests.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
-        
-        if (responseTime != null) {
-            responseTimes.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).offer(responseTime);
-            
-            // Mantém apenas os últimos 1000 tempos de resposta para cada endpoint
-            ConcurrentLinkedQueue<Long> times = responseTimes.get(key);
-            if (times != null && times.size() > 1000) {
-                times.poll();
-            }
-        }
+        recordSuccessfulRequestNanos(endpoint, method, responseTime != null ? responseTime * 1_000_000L : -1);
+    }
+
+    // Tempo de resposta em nanossegundos (System.nanoTime); negativo quando nao medido
+    public void recordSuccessfulRequestNanos(String endpoint, String method, long responseTimeNanos) {
+        totalRequests.increment();
+        successfulRequests.increment();
         
-        updatePerformanceMetrics();
+        String key = endpointKey(endpoint, method);
+        counter(endpointRequests, key).increment();
+        recordResponseTime(key, responseTimeNanos);
+        recordWindows(key, responseTimeNanos, false);
     }
     
+    // Tempo de resposta em milissegundos
     public void recordFailedRequest(String endpoint, String method, Long responseTime, String errorType) {
-        totalRequests.incrementAndGet();
-        failedRequests.incrementAndGet();
+        recordFailedRequestNanos(endpoint, method, responseTime != null ? responseTime * 1_000_000L : -1, errorType);
+    }
+
+    // Tempo de resposta em nanossegundos (System.nanoTime); negativo quando nao medido
+    public void recordFailedRequestNanos(String endpoint, String method, long responseTimeNanos, String errorType) {
+        totalRequests.increment();
+        failedRequests.increment();
         
+        String key = endpointKey(endpoint, method);
+        counter(endpointRequests, key).increment();
+        counter(endpointErrors, key).increment();
+        recordResponseTime(key, responseTimeNanos);
+        recordWindows(key, responseTimeNanos, true);
+    }
+
+    // Toda chave de endpointErrors, responseTimes e endpointWindows passa antes por endpointRequests, entao o
+    // limite de endpointRequests vale para todos os mapas por endpoint
+    private String endpointKey(String endpoint, String method) {
         String key = endpoint + ":" + method;
-        endpointRequests.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
-        endpointErrors.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
-        
-        if (responseTime != null) {
-            responseTimes.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).offer(responseTime);
-            
-            // Mantém apenas os últimos 1000 tempos de resposta para cada endpoint
-            ConcurrentLinkedQueue<Long> times = responseTimes.get(key);
-            if (times != null && times.size() > 1000) {
-                times.poll();
+        return endpointRequests.size() < MAX_ENDPOINTS || endpointRequests.containsKey(key) ? key : OTHER_ENDPOINT;
+    }
+
+    // O(1) e sem alocacao depois que o histograma do endpoint existe
+    private void recordResponseTime(String key, long responseTimeNanos) {
+        if (responseTimeNanos >= 0) {
+            LatencyHistogram histogram = responseTimes.get(key);
+            if (histogram == null) {
+                histogram = responseTimes.computeIfAbsent(key, k -> new LatencyHistogram());
             }
+            histogram.record(responseTimeNanos);
+            allResponseTimes.record(responseTimeNanos);
+        }
+    }
+
+    private void recordWindows(String key, long responseTimeNanos, boolean failed) {
+        windows.recordRequest(responseTimeNanos, failed);
+        RollingWindow window = endpointWindows.get(key);
+        if (window == null && endpointWindows.size() < MAX_WINDOWED_ENDPOINTS) {
+            window = endpointWindows.computeIfAbsent(key, k -> new RollingWindow(false));
+        }
+        if (window != null) {
+            window.recordRequest(responseTimeNanos, failed);
         }
-        
-        updatePerformanceMetrics();
     }
     
     public void recordJwtValidation(boolean isValid) {
-        totalJwtValidations.incrementAndGet();
+        totalJwtValidations.increment();
         if (isValid) {
-            validJwts.incrementAndGet();
+            validJwts.increment();
         } else {
-            invalidJwts.incrementAndGet();
+            invalidJwts.increment();
+        }
+        windows.recordJwtValidation(isValid);
+    }
+    
+    // Validacao de JWT mais o motivo da rejeicao: por claim quando houver, senao como rejeicao do token
+    public void recordValidationResult(ValidationResult result) {
+        recordJwtValidation(result.isValid());
+        if (!result.isValid()) {
+            if (result.claim() != null) {
+                recordClaimValidationError(result.claim(), result.reason().name());
+            } else {
+                recordTokenRejection(result.reason().name());
+            }
         }
     }
     
     public void recordClaimValidationError(String claimType, String error) {
         if (claimType != null && error != null) {
             String key = claimType + ":" + error;
-            claimValidationErrors.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+            counter(claimValidationErrors, key).increment();
         }
     }
     
-    private void updatePerformanceMetrics() {
-        long total = totalRequests.get();
-        long successful = successfulRequests.get();
-        
-        if (total > 0) {
-            double successRate = (double) successful / total * 100.0;
-            aggregatedMetrics.put("successRate", successRate);
+    public void recordTokenRejection(String reason) {
+        if (reason != null) {
+            counter(tokenRejections, reason).increment();
         }
     }
+
+    // get antes do computeIfAbsent: depois do primeiro registro a chave ja existe e a leitura nao trava o bin
+    private static LongAdder counter(ConcurrentHashMap<String, LongAdder> counters, String key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
     
     public Map<String, Object> getMetrics() {
         Map<String, Object> metrics = new ConcurrentHashMap<>();
         
         try {
             // Métricas gerais
-            metrics.put("totalRequests", totalRequests.get());
-            metrics.put("successfulRequests", successfulRequests.get());
-            metrics.put("failedRequests", failedRequests.get());
+            long total = totalRequests.sum();
+            long successful = successfulRequests.sum();
+            metrics.put("totalRequests", total);
+            metrics.put("successfulRequests", successful);
+            metrics.put("failedRequests", failedRequests.sum());
             
-            // Calcular taxa de sucesso em tempo real
-            long total = totalRequests.get();
-            long successful = successfulRequests.get();
-            double successRate = total > 0 ? (double) successful / total * 100.0 : 0.0;
-            metrics.put("successRate", successRate);
+            // Taxa de sucesso calculada na leitura, sobre a mesma soma publicada acima
+            metrics.put("successRate", rate(successful, total));
             
             // Métricas de JWT
-            metrics.put("totalJwtValidations", totalJwtValidations.get());
-            metrics.put("validJwts", validJwts.get());
-            metrics.put("invalidJwts", invalidJwts.get());
+            long totalJwt = totalJwtValidations.sum();
+            long validJwt = validJwts.sum();
+            metrics.put("totalJwtValidations", totalJwt);
+            metrics.put("validJwts", validJwt);
+            metrics.put("invalidJwts", invalidJwts.sum());
             
-            // Calcular taxa de validação JWT em tempo real
-            long totalJwt = totalJwtValidations.get();
-            long validJwt = validJwts.get();
-            double jwtValidationRate = totalJwt > 0 ? (double) validJwt / totalJwt * 100.0 : 0.0;
-            metrics.put("jwtValidationRate", jwtValidationRate);
+            // Taxa de validação JWT calculada na leitura
+            metrics.put("jwtValidationRate", rate(validJwt, totalJwt));
+            
+            // Taxas e percentis dos ultimos 1, 5 e 15 minutos (os numeros acima sao acumulados desde o inicio/reset)
+            metrics.put("windows", windows.getWindows());
             
             // Métricas por endpoint
             metrics.put("endpointMetrics", getEndpointMetrics());
             
             // Métricas de claims
             metrics.put("claimValidationErrors", getClaimValidationErrors());
+            metrics.put("tokenRejections", getTokenRejections());
             
             // Métricas de performance
             metrics.put("performanceMetrics", getPerformanceMetrics());
             
+            // Métricas dos componentes registrados
+            metricsSources.forEach((name, source) -> metrics.put(name, source.get()));
+            
             metrics.put("timestamp", Instant.now());
             
         } catch (Exception e) {
@@ -153,14 +246,8 @@ public class MetricsCollector {
         return metrics;
     }
     
-    private double calculateSuccessRate() {
-        long total = totalRequests.get();
-        return total > 0 ? (double) successfulRequests.get() / total * 100 : 0.0;
-    }
-    
-    private double calculateJwtValidationRate() {
-        long total = totalJwtValidations.get();
-        return total > 0 ? (double) validJwts.get() / total * 100 : 0.0;
+    private static double rate(long part, long total) {
+        return total > 0 ? (double) part / total * 100.0 : 0.0;
     }
     
     private Map<String, Object> getEndpointMetrics() {
@@ -169,16 +256,19 @@ public class MetricsCollector {
         try {
             endpointRequests.forEach((endpoint, count) -> {
                 Map<String, Object> endpointData = new ConcurrentHashMap<>();
-                endpointData.put("requests", count.get());
+                endpointData.put("requests", count.sum());
                 
-                AtomicLong errorCount = endpointErrors.get(endpoint);
-                endpointData.put("errors", errorCount != null ? errorCount.get() : 0);
+                LongAdder errorCount = endpointErrors.get(endpoint);
+                endpointData.put("errors", errorCount != null ? errorCount.sum() : 0L);
                 
-                ConcurrentLinkedQueue<Long> times = responseTimes.get(endpoint);
-                if (times != null && !times.isEmpty()) {
-                    endpointData.put("avgResponseTime", calculateAverageResponseTime(times));
-                    endpointData.put("minResponseTime", times.stream().mapToLong(Long::longValue).min().orElse(0));
-                    endpointData.put("maxResponseTime", times.stream().mapToLong(Long::longValue).max().orElse(0));
+                LatencyHistogram times = responseTimes.get(endpoint);
+                if (times != null && times.getCount() > 0) {
+                    putResponseTimes(endpointData, times);
+                }
+
+                RollingWindow window = endpointWindows.get(endpoint);
+                if (window != null) {
+                    endpointData.put("windows", window.getWindows());
                 }
                 
                 endpointMetrics.put(endpoint, endpointData);
@@ -190,12 +280,108 @@ public class MetricsCollector {
         return endpointMetrics;
     }
     
+    // Janelas de 1, 5 e 15 minutos de todas as requisicoes, para o health check
+    public Map<String, Object> getWindowMetrics() {
+        return windows.getWindows();
+    }
+
+    // Escreve as metricas no formato texto do Prometheus em out; retorna o numero de bytes.
+    // Renderiza sob o lock e troca de buffer antes de soltar: o texto e escrito fora do lock, para um cliente lento
+    // nao segurar outros scrapes, e o buffer volta como reserva no fim. Sem scrapes simultaneos nao ha alocacao
+    public int writePrometheus(OutputStream out) throws IOException {
+        byte[] rendered;
+        int length;
+        prometheusLock.lock();
+        try {
+            renderPrometheus();
+            length = prometheus.length();
+            rendered = prometheus.swapBuffer(spareBuffer);
+            spareBuffer = null;
+        } finally {
+            prometheusLock.unlock();
+        }
+
+        try {
+            out.write(rendered, 0, length);
+            return length;
+        } finally {
+            prometheusLock.lock();
+            try {
+                if (spareBuffer == null) {
+                    spareBuffer = rendered;
+                }
+            } finally {
+                prometheusLock.unlock();
+            }
+        }
+    }
+
+    // Copia do texto renderizado, para quem nao escreve em um OutputStream (WebFlux)
+    public byte[] getPrometheusMetrics() {
+        prometheusLock.lock();
+        try {
+            renderPrometheus();
+            return Arrays.copyOf(prometheus.buffer(), prometheus.length());
+        } finally {
+            prometheusLock.unlock();
+        }
+    }
+
+    /**
+     * Le os contadores e histogramas e escreve cada familia no buffer, sem montar Maps. As fontes registradas
+     * (cache, pipeline...) continuam so no JSON de getMetrics(); taxas e janelas ficam para o PromQL (rate()).
+     */
+    private void renderPrometheus() {
+        PrometheusWriter w = prometheus;
+        w.reset();
+
+        w.family(PREFIX + "requests_total", "counter", "Requisicoes registradas");
+        w.sample(PREFIX + "requests_total", totalRequests.sum());
+        w.family(PREFIX + "requests_successful_total", "counter", "Requisicoes com status 2xx/3xx");
+        w.sample(PREFIX + "requests_successful_total", successfulRequests.sum());
+        w.family(PREFIX + "requests_failed_total", "counter", "Requisicoes com erro");
+        w.sample(PREFIX + "requests_failed_total", failedRequests.sum());
+
+        w.family(PREFIX + "jwt_validations_total", "counter", "Validacoes de JWT por resultado");
+        w.sample(PREFIX + "jwt_validations_total", VALID_LABEL, validJwts.sum());
+        w.sample(PREFIX + "jwt_validations_total", INVALID_LABEL, invalidJwts.sum());
+
+        // forEach em vez de entrySet(): o iterador do ConcurrentHashMap cria um Map.Entry por chave
+        w.family(PREFIX + "endpoint_requests_total", "counter", "Requisicoes por endpoint e metodo");
+        endpointRequests.forEach((key, count) ->
+                w.sample(PREFIX + "endpoint_requests_total", endpointLabels.of(key), count.sum()));
+        w.family(PREFIX + "endpoint_errors_total", "counter", "Requisicoes com erro por endpoint e metodo");
+        endpointErrors.forEach((key, count) ->
+                w.sample(PREFIX + "endpoint_errors_total", endpointLabels.of(key), count.sum()));
+
+        w.family(PREFIX + "request_duration_seconds", "summary", "Tempo de resposta por endpoint e metodo");
+        responseTimes.forEach(this::renderResponseTimes);
+
+        w.family(PREFIX + "claim_validation_errors_total", "counter", "Erros de validacao por claim e erro");
+        claimValidationErrors.forEach((key, count) ->
+                w.sample(PREFIX + "claim_validation_errors_total", claimLabels.of(key), count.sum()));
+        w.family(PREFIX + "token_rejections_total", "counter", "Tokens rejeitados antes das claims, por motivo");
+        tokenRejections.forEach((key, count) ->
+                w.sample(PREFIX + "token_rejections_total", reasonLabels.of(key), count.sum()));
+    }
+
+    private void renderResponseTimes(String key, LatencyHistogram times) {
+        PrometheusWriter w = prometheus;
+        byte[] labels = endpointLabels.of(key);
+        times.getValuesAtPercentiles(QUANTILES, quantileValues);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            w.seconds(PREFIX + "request_duration_seconds", labels, QUANTILE_LABELS[i], quantileValues[i]);
+        }
+        w.seconds(PREFIX + "request_duration_seconds_sum", labels, null, times.getSum());
+        w.sample(PREFIX + "request_duration_seconds_count", labels, times.getCount());
+    }
+
     private Map<String, Object> getClaimValidationErrors() {
         Map<String, Object> claimErrors = new ConcurrentHashMap<>();
         
         try {
             claimValidationErrors.forEach((claimError, count) -> {
-                claimErrors.put(claimError, count.get());
+                claimErrors.put(claimError, count.sum());
             });
         } catch (Exception e) {
             claimErrors.put("error", "Erro ao coletar erros de claims: " + e.getMessage());
@@ -204,33 +390,19 @@ public class MetricsCollector {
         return claimErrors;
     }
     
+    private Map<String, Object> getTokenRejections() {
+        Map<String, Object> rejections = new ConcurrentHashMap<>();
+        tokenRejections.forEach((reason, count) -> rejections.put(reason, count.sum()));
+        return rejections;
+    }
+    
     private Map<String, Object> getPerformanceMetrics() {
         Map<String, Object> performance = new ConcurrentHashMap<>();
         
         try {
-            // Calcula métricas de performance agregadas
-            long totalResponseTime = 0;
-            long totalResponses = 0;
-            long minResponseTime = Long.MAX_VALUE;
-            long maxResponseTime = 0;
-            
-            for (ConcurrentLinkedQueue<Long> times : responseTimes.values()) {
-                if (times != null) {
-                    for (Long time : times) {
-                        if (time != null) {
-                            totalResponseTime += time;
-                            totalResponses++;
-                            minResponseTime = Math.min(minResponseTime, time);
-                            maxResponseTime = Math.max(maxResponseTime, time);
-                        }
-                    }
-                }
-            }
-            
-            performance.put("totalResponses", totalResponses);
-            performance.put("avgResponseTime", totalResponses > 0 ? (double) totalResponseTime / totalResponses : 0.0);
-            performance.put("minResponseTime", minResponseTime == Long.MAX_VALUE ? 0 : minResponseTime);
-            performance.put("maxResponseTime", maxResponseTime);
+            // Métricas de performance agregadas de todos os endpoints
+            performance.put("totalResponses", allResponseTimes.getCount());
+            putResponseTimes(performance, allResponseTimes);
             
         } catch (Exception e) {
             performance.put("error", "Erro ao calcular metricas de performance: " + e.getMessage());
@@ -239,31 +411,39 @@ public class MetricsCollector {
         return performance;
     }
     
-    private double calculateAverageResponseTime(ConcurrentLinkedQueue<Long> times) {
-        try {
-            return times.stream()
-                .filter(Objects::nonNull)
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(0.0);
-        } catch (Exception e) {
-            return 0.0;
-        }
+    // Media e percentis em ms com fracao (resolucao de nanossegundos); minimo e maximo em ms inteiros
+    private static void putResponseTimes(Map<String, Object> data, LatencyHistogram times) {
+        data.put("avgResponseTime", millis(times.getMean()));
+        data.put("minResponseTime", times.getMin() / 1_000_000);
+        data.put("maxResponseTime", times.getMax() / 1_000_000);
+        data.put("p50ResponseTime", millis(times.getValueAtPercentile(50)));
+        data.put("p90ResponseTime", millis(times.getValueAtPercentile(90)));
+        data.put("p99ResponseTime", millis(times.getValueAtPercentile(99)));
+        data.put("p999ResponseTime", millis(times.getValueAtPercentile(99.9)));
+        data.put("maxResponseTimeNanos", times.getMax());
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
     }
     
     public void resetMetrics() {
         try {
-            totalRequests.set(0);
-            successfulRequests.set(0);
-            failedRequests.set(0);
-            totalJwtValidations.set(0);
-            validJwts.set(0);
-            invalidJwts.set(0);
+            totalRequests.reset();
+            successfulRequests.reset();
+            failedRequests.reset();
+            totalJwtValidations.reset();
+            validJwts.reset();
+            invalidJwts.reset();
             
             endpointRequests.clear();
             endpointErrors.clear();
             responseTimes.clear();
+            allResponseTimes.reset();
+            windows.reset();
+            endpointWindows.clear();
             claimValidationErrors.clear();
+            tokenRejections.clear();
         } catch (Exception e) {
             // Log do erro mas nao falha a operacao
             System.err.println("Erro ao resetar metricas: " + e.getMessage());
@@ -45,6 +45,9 @@ public class MonitorHealth {
                 health.put("avgResponseTime", perf.get("avgResponseTime"));
             }
 
+            // Taxas recentes: um incidente novo aparece aqui mesmo depois de dias de uptime
+            health.put("windows", metricsCollector.getWindowMetrics());
+
             log.info("Health check executado com sucesso");
             return ResponseEntity.ok(health);
         } catch (Exception e) {
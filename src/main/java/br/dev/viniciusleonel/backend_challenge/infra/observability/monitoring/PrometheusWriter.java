@@ -0,0 +1,209 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Monta o formato texto de exposicao do Prometheus (0.0.4) direto em um byte[] reaproveitado entre scrapes.
+ *
+ * Numeros sao escritos digito a digito, sem Strings intermediarias, e os rotulos de cada chave (endpoint e
+ * metodo, claim e erro, motivo) sao renderizados e escapados uma vez e guardados em cache ({@link Labels}).
+ * Nao e thread-safe: o MetricsCollector usa uma instancia, e os caches de rotulos, sob lock.
+ */
+final class PrometheusWriter {
+
+    // Ao chegar nisso o cache de rotulos e descartado e refeito aos poucos (chaves antigas apos um reset)
+    static final int MAX_CACHED_LABELS = 1024;
+
+    private byte[] buffer = new byte[16 * 1024];
+    private int length;
+
+    /**
+     * Rotulos de uma chave do MetricsCollector, renderizados uma vez: um rotulo com a chave inteira, ou dois a
+     * partir de "primeiro:segundo" (separada no ultimo ':', como endpoint:metodo).
+     */
+    static final class Labels {
+        private final String firstName;
+        private final String secondName;
+        private final Map<String, byte[]> cache = new HashMap<>();
+
+        Labels(String name) {
+            this(name, null);
+        }
+
+        Labels(String firstName, String secondName) {
+            this.firstName = firstName;
+            this.secondName = secondName;
+        }
+
+        byte[] of(String key) {
+            byte[] labels = cache.get(key);
+            if (labels == null) {
+                if (cache.size() >= MAX_CACHED_LABELS) {
+                    cache.clear();
+                }
+                labels = render(key).getBytes(StandardCharsets.UTF_8);
+                cache.put(key, labels);
+            }
+            return labels;
+        }
+
+        private String render(String key) {
+            if (secondName == null) {
+                return escape(new StringBuilder(), firstName, key).toString();
+            }
+            int separator = key.lastIndexOf(':');
+            String first = separator >= 0 ? key.substring(0, separator) : key;
+            String second = separator >= 0 ? key.substring(separator + 1) : "";
+            StringBuilder text = escape(new StringBuilder(), firstName, first).append(',');
+            return escape(text, secondName, second).toString();
+        }
+    }
+
+    void reset() {
+        length = 0;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    // Entrega o buffer com o texto renderizado e passa a escrever em spare (ou em um novo, do mesmo tamanho,
+    // se spare for null), para o texto ser escrito fora do lock enquanto o proximo scrape renderiza no outro
+    byte[] swapBuffer(byte[] spare) {
+        byte[] rendered = buffer;
+        buffer = spare != null ? spare : new byte[rendered.length];
+        length = 0;
+        return rendered;
+    }
+
+    int length() {
+        return length;
+    }
+
+    // "# HELP" e "# TYPE" de uma familia de metricas; as amostras dela devem vir logo em seguida
+    void family(String name, String type, String help) {
+        writeAscii("# HELP ");
+        writeAscii(name);
+        writeByte(' ');
+        writeAscii(help);
+        writeAscii("\n# TYPE ");
+        writeAscii(name);
+        writeByte(' ');
+        writeAscii(type);
+        writeByte('\n');
+    }
+
+    void sample(String name, long value) {
+        writeAscii(name);
+        writeByte(' ');
+        writeLong(value);
+        writeByte('\n');
+    }
+
+    // labels ja renderizados, sem as chaves: nome="valor",nome="valor"
+    void sample(String name, byte[] labels, long value) {
+        writeAscii(name);
+        writeByte('{');
+        writeBytes(labels);
+        writeAscii("} ");
+        writeLong(value);
+        writeByte('\n');
+    }
+
+    // Valor em segundos a partir de nanossegundos; extraLabel (ex.: ,quantile="0.5") vem depois dos rotulos
+    void seconds(String name, byte[] labels, String extraLabel, long nanos) {
+        writeAscii(name);
+        writeByte('{');
+        writeBytes(labels);
+        if (extraLabel != null) {
+            writeAscii(extraLabel);
+        }
+        writeAscii("} ");
+        writeSeconds(nanos);
+        writeByte('\n');
+    }
+
+    // Escapa \, " e quebra de linha, como pede o formato
+    private static StringBuilder escape(StringBuilder text, String name, String value) {
+        text.append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> text.append("\\\\");
+                case '"' -> text.append("\\\"");
+                case '\n' -> text.append("\\n");
+                default -> text.append(c);
+            }
+        }
+        return text.append('"');
+    }
+
+    void writeLong(long value) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                writeAscii("-9223372036854775808");
+                return;
+            }
+            writeByte('-');
+            value = -value;
+        }
+        ensureCapacity(20);
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    // Segundos com ate 9 casas, sem zeros a direita: 1441000 ns -> 0.001441
+    void writeSeconds(long nanos) {
+        writeLong(nanos / 1_000_000_000L);
+        long fraction = Math.abs(nanos % 1_000_000_000L);
+        if (fraction == 0) {
+            return;
+        }
+        int digits = 9;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        ensureCapacity(10);
+        buffer[length++] = '.';
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        length += digits;
+    }
+
+    private void writeAscii(String text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
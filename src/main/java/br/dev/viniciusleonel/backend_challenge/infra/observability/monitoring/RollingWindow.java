@@ -0,0 +1,185 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Metricas dos ultimos 1, 5 e 15 minutos em um anel de fatias de tempo fixas ({@value #SLOT_SECONDS}s cada).
+ *
+ * Nao ha timer: a fatia do instante atual e descoberta a cada registro (nanoTime / largura da fatia) e, se ainda
+ * guarda uma volta anterior do anel, quem chega primeiro a zera sob um ReentrantLock (que nao prende threads
+ * virtuais); fora isso o registro e so incremento de LongAdder e do histograma compacto da fatia. Na leitura,
+ * as fatias dentro de cada janela sao somadas e as fatias antigas sao ignoradas. A janela anda de fatia em fatia, entao "1m" cobre entre 45s e 60s;
+ * as taxas por segundo usam o tempo realmente coberto. Registros concorrentes com a virada de uma fatia podem se
+ * perder, o que e aceitavel para taxas.
+ */
+public final class RollingWindow {
+
+    static final int SLOT_SECONDS = 15;
+    private static final long SLOT_NANOS = SLOT_SECONDS * 1_000_000_000L;
+    private static final String[] WINDOW_NAMES = {"1m", "5m", "15m"};
+    private static final int[] WINDOW_SLOTS = {60 / SLOT_SECONDS, 300 / SLOT_SECONDS, 900 / SLOT_SECONDS};
+    private static final int SLOT_COUNT = 900 / SLOT_SECONDS + 1;
+
+    // 8 sub-buckets por potencia de dois (~12% de erro) deixam cada fatia com ~2,5KB de histograma
+    static final int LATENCY_SUB_BUCKET_BITS = 3;
+
+    private final boolean trackJwt;
+    private final LongSupplier nanoClock;
+    private final Slot[] slots = new Slot[SLOT_COUNT];
+    private volatile long startNanos;
+
+    private static final class Slot {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long epoch = Long.MIN_VALUE;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder validJwts = new LongAdder();
+        private final LongAdder invalidJwts = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram(LATENCY_SUB_BUCKET_BITS);
+
+        private void clear() {
+            requests.reset();
+            errors.reset();
+            validJwts.reset();
+            invalidJwts.reset();
+            latency.reset();
+        }
+    }
+
+    // trackJwt: inclui as validacoes de JWT no resultado (so a janela geral as recebe)
+    public RollingWindow(boolean trackJwt) {
+        this(trackJwt, System::nanoTime);
+    }
+
+    RollingWindow(boolean trackJwt, LongSupplier nanoClock) {
+        this.trackJwt = trackJwt;
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            slots[i] = new Slot();
+        }
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    // Tempo de resposta em nanossegundos; negativo quando nao medido
+    public void recordRequest(long responseTimeNanos, boolean failed) {
+        Slot slot = currentSlot();
+        slot.requests.increment();
+        if (failed) {
+            slot.errors.increment();
+        }
+        if (responseTimeNanos >= 0) {
+            slot.latency.record(responseTimeNanos);
+        }
+    }
+
+    public void recordJwtValidation(boolean valid) {
+        Slot slot = currentSlot();
+        if (valid) {
+            slot.validJwts.increment();
+        } else {
+            slot.invalidJwts.increment();
+        }
+    }
+
+    /**
+     * Metricas de cada janela ("1m", "5m", "15m"): requests, requestsPerSecond, errors, errorRate e successRate
+     * (em %), percentis de tempo de resposta em ms e, com trackJwt, validacoes de JWT por segundo e a taxa de
+     * tokens validos. Uma unica passada do mais recente ao mais antigo monta as tres janelas.
+     */
+    public Map<String, Object> getWindows() {
+        long now = nanoClock.getAsLong();
+        long currentEpoch = Math.floorDiv(now, SLOT_NANOS);
+        long[] latencyCounts = new long[LatencyHistogram.bucketCount(LATENCY_SUB_BUCKET_BITS)];
+        long requests = 0;
+        long errors = 0;
+        long validJwts = 0;
+        long invalidJwts = 0;
+        long max = 0;
+
+        Map<String, Object> windows = new LinkedHashMap<>();
+        int window = 0;
+        for (int age = 0; age < WINDOW_SLOTS[WINDOW_SLOTS.length - 1]; age++) {
+            long epoch = currentEpoch - age;
+            Slot slot = slots[Math.floorMod(epoch, SLOT_COUNT)];
+            if (slot.epoch == epoch) {
+                requests += slot.requests.sum();
+                errors += slot.errors.sum();
+                validJwts += slot.validJwts.sum();
+                invalidJwts += slot.invalidJwts.sum();
+                slot.latency.addCountsTo(latencyCounts);
+                max = Math.max(max, slot.latency.getMax());
+            }
+            if (age + 1 == WINDOW_SLOTS[window]) {
+                // Tempo coberto: do inicio da fatia mais antiga da janela ate agora, sem contar antes do inicio/reset
+                long windowStart = Math.max((currentEpoch - age) * SLOT_NANOS, startNanos);
+                double seconds = Math.max(now - windowStart, 1_000_000L) / 1_000_000_000.0;
+
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("requests", requests);
+                data.put("requestsPerSecond", round(requests / seconds));
+                data.put("errors", errors);
+                data.put("errorRate", requests > 0 ? round(errors * 100.0 / requests) : 0.0);
+                data.put("successRate", requests > 0 ? round((requests - errors) * 100.0 / requests) : 0.0);
+                data.put("p50ResponseTime", millis(latencyCounts, 50, max));
+                data.put("p90ResponseTime", millis(latencyCounts, 90, max));
+                data.put("p99ResponseTime", millis(latencyCounts, 99, max));
+                data.put("p999ResponseTime", millis(latencyCounts, 99.9, max));
+                data.put("maxResponseTime", round(max / 1_000_000.0));
+                if (trackJwt) {
+                    long totalJwt = validJwts + invalidJwts;
+                    data.put("validJwtsPerSecond", round(validJwts / seconds));
+                    data.put("invalidJwtsPerSecond", round(invalidJwts / seconds));
+                    data.put("jwtValidationRate", totalJwt > 0 ? round(validJwts * 100.0 / totalJwt) : 0.0);
+                }
+                windows.put(WINDOW_NAMES[window], data);
+                window++;
+            }
+        }
+        return windows;
+    }
+
+    public void reset() {
+        for (Slot slot : slots) {
+            slot.lock.lock();
+            try {
+                slot.epoch = Long.MIN_VALUE;
+                slot.clear();
+            } finally {
+                slot.lock.unlock();
+            }
+        }
+        startNanos = nanoClock.getAsLong();
+    }
+
+    // Fatia do instante atual; se ela ainda guarda uma volta anterior do anel, e zerada antes do uso
+    // A fatia so anda para frente: uma thread atrasada que ja encontra a proxima volta registra nela
+    private Slot currentSlot() {
+        long epoch = Math.floorDiv(nanoClock.getAsLong(), SLOT_NANOS);
+        Slot slot = slots[Math.floorMod(epoch, SLOT_COUNT)];
+        if (slot.epoch < epoch) {
+            slot.lock.lock();
+            try {
+                if (slot.epoch < epoch) {
+                    slot.clear();
+                    slot.epoch = epoch;
+                }
+            } finally {
+                slot.lock.unlock();
+            }
+        }
+        return slot;
+    }
+
+    private static double millis(long[] latencyCounts, double percentile, long max) {
+        return round(LatencyHistogram.valueAtPercentile(latencyCounts, LATENCY_SUB_BUCKET_BITS, percentile, max)
+                / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,47 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import java.util.Arrays;
+
+/**
+ * Spans ja fechados de um trace, guardados ate o fim da requisicao, quando o SpanStore decide (tail sampling)
+ * se o trace fica. Limitado a {@value #MAX_SPANS} spans por trace; os excedentes sao apenas contados.
+ * Pertence a um TraceState e segue a mesma regra: so a thread que atende a requisicao escreve.
+ */
+final class FinishedSpans {
+
+    static final int MAX_SPANS = 64;
+
+    long[] spanIds = new long[4];
+    long[] parentSpanIds = new long[4];
+    String[] operations = new String[4];
+    long[] startTimes = new long[4];
+    long[] durations = new long[4];
+    String[] errors = new String[4];
+    int count;
+    int dropped;
+    boolean hasErrors;
+
+    void add(long spanId, long parentSpanId, String operation, long startTime, long durationNanos, String error) {
+        if (count == MAX_SPANS) {
+            dropped++;
+            return;
+        }
+        if (count == spanIds.length) {
+            int size = Math.min(count * 2, MAX_SPANS);
+            spanIds = Arrays.copyOf(spanIds, size);
+            parentSpanIds = Arrays.copyOf(parentSpanIds, size);
+            operations = Arrays.copyOf(operations, size);
+            startTimes = Arrays.copyOf(startTimes, size);
+            durations = Arrays.copyOf(durations, size);
+            errors = Arrays.copyOf(errors, size);
+        }
+        spanIds[count] = spanId;
+        parentSpanIds[count] = parentSpanId;
+        operations[count] = operation;
+        startTimes[count] = startTime;
+        durations[count] = durationNanos;
+        errors[count] = error;
+        hasErrors |= error != null;
+        count++;
+    }
+}
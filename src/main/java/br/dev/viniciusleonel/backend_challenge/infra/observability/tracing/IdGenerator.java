@@ -0,0 +1,74 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Geracao de ids de trace, span e requisicao sem UUID.randomUUID().
+ *
+ * O UUID.randomUUID() usa um SecureRandom compartilhado (disputado entre as threads sob carga) e cada id
+ * virava UUID, toString() e substring. Aqui os ids saem do ThreadLocalRandom da thread corrente como
+ * longs e so viram texto quando alguem pede, em um unico array de chars. Ids de trace e span nao sao
+ * segredo, entao um gerador nao criptografico basta.
+ *
+ * Formatos (compativeis com os anteriores): traceId com 64 bits (16 hex), spanId com 32 bits (8 hex) e
+ * requestId no formato textual de um UUID versao 4.
+ */
+public final class IdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int UUID_LENGTH = 36;
+
+    private IdGenerator() {
+    }
+
+    // Id de trace de 64 bits, nunca zero (zero indica id invalido)
+    public static long nextTraceId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    // Id de span de 32 bits nos bits menos significativos, nunca zero
+    public static long nextSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong() >>> 32;
+        } while (id == 0);
+        return id;
+    }
+
+    // Id de requisicao no formato de um UUID versao 4 (xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx)
+    public static String nextRequestId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        char[] chars = new char[UUID_LENGTH];
+        writeHex(msb >>> 32, 8, chars, 0);
+        chars[8] = '-';
+        writeHex(msb >>> 16, 4, chars, 9);
+        chars[13] = '-';
+        writeHex(msb, 4, chars, 14);
+        chars[18] = '-';
+        writeHex(lsb >>> 48, 4, chars, 19);
+        chars[23] = '-';
+        writeHex(lsb, 12, chars, 24);
+        return new String(chars);
+    }
+
+    // Os `length` digitos hexadecimais menos significativos do valor, com zeros a esquerda
+    public static String toHex(long value, int length) {
+        char[] chars = new char[length];
+        writeHex(value, length, chars, 0);
+        return new String(chars);
+    }
+
+    static void writeHex(long value, int length, char[] out, int offset) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            out[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
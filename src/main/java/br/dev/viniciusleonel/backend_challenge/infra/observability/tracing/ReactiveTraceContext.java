@@ -0,0 +1,41 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Propagacao do contexto de trace na variante reativa (profile "reactive").
+ *
+ * Nos event loops do Netty uma thread atende muitas requisicoes intercaladas, entao o {@link TraceState} da
+ * requisicao viaja no Context do Reactor, gravado pelo LoggingWebFilter, e nao no ThreadLocal do
+ * TraceContext. Ele so e associado a thread durante trechos sincronos (validacao, coleta de metricas)
+ * executados por {@link #withTrace(Supplier)}, e o contexto anterior da thread e restaurado logo depois, de
+ * forma que TraceContext, TraceSpan e os logs continuam funcionando sem vazar contexto entre requisicoes.
+ */
+public final class ReactiveTraceContext {
+
+    public static final Class<ReactiveTraceContext> CONTEXT_KEY = ReactiveTraceContext.class;
+
+    private ReactiveTraceContext() {
+        // Construtor privado para evitar instanciação
+    }
+
+    // Executa o trecho sincrono com o contexto da requisicao da assinatura atual
+    public static <T> Mono<T> withTrace(Supplier<T> block) {
+        return Mono.deferContextual(context -> {
+            TraceState trace = context.getOrDefault(CONTEXT_KEY, null);
+            return Mono.fromSupplier(() -> callWithContext(trace, block));
+        });
+    }
+
+    // Associa o contexto a thread apenas durante o bloco e restaura o contexto anterior
+    public static <T> T callWithContext(TraceState trace, Supplier<T> block) {
+        TraceState previous = TraceContext.attach(trace);
+        try {
+            return block.get();
+        } finally {
+            TraceContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,671 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import br.dev.viniciusleonel.backend_challenge.infra.config.ApplicationSettings;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.LatencyHistogram;
+
+/**
+ * Armazena em memoria os traces finalizados, com amostragem na cauda (tail sampling), e mantem os agregados
+ * por endpoint de /monitoring/tracing/endpoints e os indices de /monitoring/tracing/search.
+ *
+ * A decisao de guardar um trace e tomada no fim da requisicao ({@link TraceContext#finishTrace}), quando ja se
+ * sabe se ela falhou e quanto durou; ate la os spans fechados ficam no proprio TraceState. Ficam os primeiros
+ * traces com erro de cada endpoint na janela corrente (jwt.tracing.errors-per-endpoint, padrao 10) e os mais
+ * lentos de cada endpoint na janela (jwt.tracing.slowest-per-endpoint, padrao 5), com janelas de
+ * jwt.tracing.slow-window-ms (padrao 60000); dos demais fica uma amostra aleatoria (jwt.tracing.sample-rate,
+ * padrao 0.01). Erros alem da cota so sao contados: numa enxurrada de tokens invalidos as threads de
+ * requisicao nao disputam o lock do indice a cada 400, e os traces lentos e amostrados continuam no indice.
+ *
+ * A memoria e limitada mesmo sob trafego alto: os spans dos traces mantidos vao para um ring buffer de tamanho
+ * fixo (jwt.tracing.span-store-size, padrao 4096, arredondado para potencia de dois) pre-alocado em arrays
+ * paralelos, com uma versao por slot (seqlock) para a leitura descartar slots sendo reescritos. O indice guarda
+ * no maximo jwt.tracing.retained-traces (padrao 512) traces; o mais antigo sai quando ele enche ou quando
+ * seus spans ja foram sobrescritos. Indices secundarios por endpoint, tipo de erro, duracao e inicio deixam a
+ * busca olhar so os candidatos do filtro mais seletivo.
+ *
+ * Os agregados por endpoint (total, erros, histograma de latencia, ultimo trace) contam todos os traces
+ * finalizados, mantidos ou nao, e sao atualizados a cada requisicao: a consulta custa O(endpoints). Traces
+ * nao amostrados por quem chamou nao sao registrados. Para nao crescer sem limite com URIs arbitrarias,
+ * acima de {@value #MAX_ENDPOINTS} endpoints os novos sao agregados em {@value #OTHER_ENDPOINT}.
+ */
+public final class SpanStore {
+
+    public static final int DEFAULT_CAPACITY = ApplicationSettings.getInt("jwt.tracing.span-store-size", 4096);
+    public static final int DEFAULT_RETAINED_TRACES = ApplicationSettings.getInt("jwt.tracing.retained-traces", 512);
+    public static final int DEFAULT_SLOWEST_PER_ENDPOINT = ApplicationSettings.getInt("jwt.tracing.slowest-per-endpoint", 5);
+    public static final int DEFAULT_ERRORS_PER_ENDPOINT = ApplicationSettings.getInt("jwt.tracing.errors-per-endpoint", 10);
+    public static final long DEFAULT_SLOW_WINDOW_MILLIS = ApplicationSettings.getLong("jwt.tracing.slow-window-ms", 60_000L);
+    public static final double DEFAULT_SAMPLE_RATE = ApplicationSettings.getDouble("jwt.tracing.sample-rate", 0.01);
+
+    static final int MAX_ENDPOINTS = 256;
+    static final String OTHER_ENDPOINT = "_other";
+    static final String ROOT_OPERATION = "root";
+
+    // Motivos para manter um trace
+    static final String KEPT_ERROR = "error";
+    static final String KEPT_SLOW = "slow";
+    static final String KEPT_SAMPLED = "sampled";
+
+    private static final Comparator<RetainedTrace> BY_SEQUENCE = Comparator.comparingLong(t -> t.sequence);
+    private static final Comparator<RetainedTrace> BY_DURATION =
+            Comparator.<RetainedTrace>comparingLong(t -> t.durationNanos).thenComparingLong(t -> t.sequence);
+    private static final Comparator<RetainedTrace> BY_START_TIME =
+            Comparator.<RetainedTrace>comparingLong(t -> t.startTime).thenComparingLong(t -> t.sequence);
+
+    private static final SpanStore SHARED = new SpanStore(DEFAULT_CAPACITY, DEFAULT_RETAINED_TRACES,
+            DEFAULT_SLOWEST_PER_ENDPOINT, DEFAULT_ERRORS_PER_ENDPOINT, DEFAULT_SLOW_WINDOW_MILLIS, DEFAULT_SAMPLE_RATE);
+
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    // Versao de cada slot: impar enquanto o span de sequencia (v - 1) / 2 esta sendo gravado, 2 * seq + 2 depois
+    private final AtomicLongArray versions;
+    private final long[] traceIdsHigh;
+    private final long[] traceIds;
+    private final long[] spanIds;
+    private final long[] parentSpanIds;
+    private final long[] startTimes;
+    private final long[] durations;
+    private final String[] errors;
+    private final String[] operations;
+    private final String[] endpoints;
+
+    private final int maxTraces;
+    private final int slowestPerEndpoint;
+    private final int errorsPerEndpoint;
+    private final long slowWindowNanos;
+    private final double sampleRate;
+
+    private final ConcurrentHashMap<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+
+    // Indice dos traces mantidos; ReentrantReadWriteLock em vez de synchronized para nao prender threads virtuais
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final ArrayDeque<RetainedTrace> retained = new ArrayDeque<>();
+    private final Map<String, TreeSet<RetainedTrace>> byEndpoint = new HashMap<>();
+    private final Map<String, TreeSet<RetainedTrace>> byErrorType = new HashMap<>();
+    private final TreeSet<RetainedTrace> byDuration = new TreeSet<>(BY_DURATION);
+    private final TreeSet<RetainedTrace> byStartTime = new TreeSet<>(BY_START_TIME);
+    private long retainedSequence;
+
+    private final LongAdder finishedTraces = new LongAdder();
+    private final LongAdder droppedTraces = new LongAdder();
+    private final LongAdder keptByError = new LongAdder();
+    private final LongAdder droppedErrors = new LongAdder();
+    private final LongAdder keptBySlow = new LongAdder();
+    private final LongAdder keptBySample = new LongAdder();
+
+    SpanStore(int capacity, int maxTraces, int slowestPerEndpoint, int errorsPerEndpoint, long slowWindowMillis,
+              double sampleRate) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.versions = new AtomicLongArray(size);
+        this.traceIdsHigh = new long[size];
+        this.traceIds = new long[size];
+        this.spanIds = new long[size];
+        this.parentSpanIds = new long[size];
+        this.startTimes = new long[size];
+        this.durations = new long[size];
+        this.errors = new String[size];
+        this.operations = new String[size];
+        this.endpoints = new String[size];
+        this.maxTraces = maxTraces;
+        this.slowestPerEndpoint = slowestPerEndpoint;
+        this.errorsPerEndpoint = errorsPerEndpoint;
+        this.slowWindowNanos = slowWindowMillis * 1_000_000L;
+        this.sampleRate = sampleRate;
+    }
+
+    public static SpanStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * Registra uma requisicao finalizada: atualiza os agregados do endpoint e decide se o trace (span raiz e
+     * spans fechados) fica guardado. A duracao e medida desde a criacao do TraceState. Traces sem endpoint
+     * (fora de uma requisicao) ou nao amostrados por quem chamou sao ignorados.
+     */
+    public void finishTrace(TraceState trace) {
+        String endpoint = trace.getEndpoint();
+        if (!trace.isSampled() || endpoint == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long durationNanos = now - trace.getStartNanos();
+        FinishedSpans spans = trace.getFinishedSpans();
+        boolean failed = trace.getErrorType() != null;
+
+        EndpointStats stats = statsFor(endpoint);
+        stats.record(trace.getStartTime(), durationNanos, failed);
+        finishedTraces.increment();
+
+        String keptBy;
+        if (failed || (spans != null && spans.hasErrors)) {
+            if (!stats.errors.tryAcquire(now)) {
+                droppedErrors.increment();
+                droppedTraces.increment();
+                return;
+            }
+            keptBy = KEPT_ERROR;
+            keptByError.increment();
+        } else if (stats.slowest.offer(durationNanos, now, slowWindowNanos)) {
+            keptBy = KEPT_SLOW;
+            keptBySlow.increment();
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            keptBy = KEPT_SAMPLED;
+            keptBySample.increment();
+        } else {
+            droppedTraces.increment();
+            return;
+        }
+        retain(trace, spans, durationNanos, keptBy);
+    }
+
+    private void retain(TraceState trace, FinishedSpans spans, long durationNanos, String keptBy) {
+        int closed = spans != null ? spans.count : 0;
+        long first = sequence.getAndAdd(1 + closed);
+        store(first, trace, trace.getRootSpanId(), trace.getRemoteParentSpanId(), ROOT_OPERATION, trace.getStartTime(),
+                durationNanos, trace.getErrorType());
+        for (int i = 0; i < closed; i++) {
+            store(first + 1 + i, trace, spans.spanIds[i], spans.parentSpanIds[i], spans.operations[i],
+                    spans.startTimes[i], spans.durations[i], spans.errors[i]);
+        }
+
+        RetainedTrace entry = new RetainedTrace(trace, durationNanos, errorTypes(trace, spans), keptBy, first,
+                1 + closed, spans != null ? spans.dropped : 0);
+        indexLock.writeLock().lock();
+        try {
+            entry.sequence = ++retainedSequence;
+            index(entry);
+            long oldestLiveSpan = sequence.get() - (mask + 1);
+            while (!retained.isEmpty()
+                    && (retained.size() > maxTraces || retained.peekFirst().firstSpan < oldestLiveSpan)) {
+                unindex(retained.pollFirst());
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private void store(long seq, TraceState trace, long spanId, long parentSpanId, String operation, long startTime,
+                       long durationNanos, String error) {
+        int index = (int) (seq & mask);
+
+        versions.set(index, 2 * seq + 1);
+        VarHandle.storeStoreFence();
+        traceIdsHigh[index] = trace.getTraceIdHigh();
+        traceIds[index] = trace.getTraceId();
+        spanIds[index] = spanId;
+        parentSpanIds[index] = parentSpanId;
+        startTimes[index] = startTime;
+        durations[index] = durationNanos;
+        errors[index] = error;
+        operations[index] = operation;
+        endpoints[index] = trace.getEndpoint();
+        versions.setRelease(index, 2 * seq + 2);
+    }
+
+    // Tipos de erro distintos do trace: o da requisicao e os dos spans
+    private static String[] errorTypes(TraceState trace, FinishedSpans spans) {
+        List<String> types = new ArrayList<>(2);
+        if (trace.getErrorType() != null) {
+            types.add(trace.getErrorType());
+        }
+        if (spans != null && spans.hasErrors) {
+            for (int i = 0; i < spans.count; i++) {
+                if (spans.errors[i] != null && !types.contains(spans.errors[i])) {
+                    types.add(spans.errors[i]);
+                }
+            }
+        }
+        return types.toArray(new String[0]);
+    }
+
+    private void index(RetainedTrace entry) {
+        retained.addLast(entry);
+        byEndpoint.computeIfAbsent(entry.endpoint, k -> new TreeSet<>(BY_SEQUENCE)).add(entry);
+        for (String errorType : entry.errorTypes) {
+            byErrorType.computeIfAbsent(errorType, k -> new TreeSet<>(BY_SEQUENCE)).add(entry);
+        }
+        byDuration.add(entry);
+        byStartTime.add(entry);
+    }
+
+    private void unindex(RetainedTrace entry) {
+        removeFrom(byEndpoint, entry.endpoint, entry);
+        for (String errorType : entry.errorTypes) {
+            removeFrom(byErrorType, errorType, entry);
+        }
+        byDuration.remove(entry);
+        byStartTime.remove(entry);
+    }
+
+    private static void removeFrom(Map<String, TreeSet<RetainedTrace>> index, String key, RetainedTrace entry) {
+        TreeSet<RetainedTrace> entries = index.get(key);
+        if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private EndpointStats statsFor(String endpoint) {
+        EndpointStats stats = endpointStats.get(endpoint);
+        if (stats != null) {
+            return stats;
+        }
+        String key = endpointStats.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINT;
+        return endpointStats.computeIfAbsent(key, k -> new EndpointStats(slowestPerEndpoint, errorsPerEndpoint, slowWindowNanos));
+    }
+
+    /**
+     * Busca traces mantidos pelos filtros informados (null/0 desativa o filtro), do mais recente para o mais
+     * antigo. Os candidatos saem do indice mais seletivo disponivel (tipo de erro, endpoint, intervalo de
+     * inicio, duracao minima) e os demais filtros sao aplicados sobre eles.
+     */
+    public List<Map<String, Object>> search(String endpoint, String errorType, long minDurationNanos,
+                                            long from, long to, int limit) {
+        List<RetainedTrace> matches = new ArrayList<>();
+        indexLock.readLock().lock();
+        try {
+            for (RetainedTrace entry : candidates(endpoint, errorType, minDurationNanos, from, to)) {
+                if (entry.matches(endpoint, errorType, minDurationNanos, from, to)) {
+                    matches.add(entry);
+                }
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        matches.sort(BY_START_TIME.reversed());
+        List<Map<String, Object>> traces = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            traces.add(toMap(matches.get(i)));
+        }
+        return traces;
+    }
+
+    private Collection<RetainedTrace> candidates(String endpoint, String errorType, long minDurationNanos,
+                                                 long from, long to) {
+        if (errorType != null) {
+            return byErrorType.getOrDefault(errorType, new TreeSet<>(BY_SEQUENCE));
+        }
+        if (endpoint != null) {
+            return byEndpoint.getOrDefault(endpoint, new TreeSet<>(BY_SEQUENCE));
+        }
+        if (from > 0 || to < Long.MAX_VALUE) {
+            if (from > to) {
+                return List.of();
+            }
+            return byStartTime.subSet(RetainedTrace.probe(from, 0, Long.MIN_VALUE), true,
+                    RetainedTrace.probe(to, 0, Long.MAX_VALUE), true);
+        }
+        if (minDurationNanos > 0) {
+            return byDuration.tailSet(RetainedTrace.probe(0, minDurationNanos, Long.MIN_VALUE), true);
+        }
+        return retained;
+    }
+
+    private Map<String, Object> toMap(RetainedTrace entry) {
+        List<Map<String, Object>> spans = new ArrayList<>(entry.spanCount);
+        for (long seq = entry.firstSpan; seq < entry.firstSpan + entry.spanCount; seq++) {
+            SpanRecord span = read(seq);
+            if (span != null) {
+                Map<String, Object> data = new HashMap<>();
+                data.put("spanId", IdGenerator.toHex(span.spanId(), TraceState.SPAN_ID_HEX_LENGTH));
+                if (span.parentSpanId() != 0) {
+                    // O pai do span raiz e o span remoto de quem chamou, com 64 bits
+                    data.put("parentSpanId", IdGenerator.toHex(span.parentSpanId(), seq == entry.firstSpan
+                            ? TraceState.REMOTE_SPAN_ID_HEX_LENGTH : TraceState.SPAN_ID_HEX_LENGTH));
+                }
+                data.put("operation", span.operation());
+                data.put("startTime", span.startTime());
+                data.put("duration", millis(span.durationNanos()));
+                if (span.error() != null) {
+                    data.put("error", span.error());
+                }
+                spans.add(data);
+            }
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("traceId", TraceState.traceIdHex(entry.traceIdHigh, entry.traceId));
+        data.put("requestId", entry.requestId);
+        data.put("endpoint", entry.endpoint);
+        data.put("method", entry.method);
+        data.put("startTime", entry.startTime);
+        data.put("duration", millis(entry.durationNanos));
+        data.put("errorTypes", List.of(entry.errorTypes));
+        data.put("keptBy", entry.keptBy);
+        data.put("spans", spans);
+        // Spans alem do limite por trace e spans ja sobrescritos no ring buffer
+        data.put("droppedSpans", entry.droppedSpans + entry.spanCount - spans.size());
+        return data;
+    }
+
+    /**
+     * Ate {@code limit} spans mais recentes, do mais novo para o mais antigo. Slots sobrescritos durante a
+     * leitura sao ignorados.
+     */
+    public List<SpanRecord> recentSpans(int limit) {
+        long head = sequence.get();
+        long oldest = Math.max(0, head - (mask + 1));
+        List<SpanRecord> spans = new ArrayList<>(Math.min(limit, (int) (head - oldest)));
+
+        for (long seq = head - 1; seq >= oldest && spans.size() < limit; seq--) {
+            SpanRecord span = read(seq);
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    private SpanRecord read(long seq) {
+        int index = (int) (seq & mask);
+        long version = versions.getAcquire(index);
+        if (version != 2 * seq + 2) {
+            return null;
+        }
+        SpanRecord span = new SpanRecord(traceIdsHigh[index], traceIds[index], spanIds[index], parentSpanIds[index],
+                operations[index], endpoints[index], startTimes[index], durations[index], errors[index]);
+        VarHandle.loadLoadFence();
+        return versions.get(index) == version ? span : null;
+    }
+
+    // Agregados por endpoint, com duracoes em milissegundos
+    public Map<String, Object> getEndpointStats() {
+        Map<String, Object> data = new HashMap<>();
+        endpointStats.forEach((endpoint, stats) -> data.put(endpoint, stats.toMap()));
+        return data;
+    }
+
+    public Map<String, Object> getStats() {
+        long recorded = sequence.get();
+        int retainedTraces;
+        indexLock.readLock().lock();
+        try {
+            retainedTraces = retained.size();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        Map<String, Object> kept = new HashMap<>();
+        kept.put(KEPT_ERROR, keptByError.sum());
+        kept.put(KEPT_SLOW, keptBySlow.sum());
+        kept.put(KEPT_SAMPLED, keptBySample.sum());
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("capacity", mask + 1);
+        data.put("recorded", recorded);
+        data.put("overwritten", Math.max(0, recorded - (mask + 1)));
+        data.put("endpoints", endpointStats.size());
+        data.put("finishedTraces", finishedTraces.sum());
+        data.put("droppedTraces", droppedTraces.sum());
+        // Traces com erro descartados por terem passado da cota do endpoint na janela (incluidos em droppedTraces)
+        data.put("droppedErrorTraces", droppedErrors.sum());
+        data.put("keptTraces", kept);
+        data.put("retainedTraces", retainedTraces);
+        data.put("maxRetainedTraces", maxTraces);
+        data.put("slowestPerEndpoint", slowestPerEndpoint);
+        data.put("errorsPerEndpoint", errorsPerEndpoint);
+        data.put("sampleRate", sampleRate);
+        return data;
+    }
+
+    // Zera os agregados por endpoint e o indice de busca; os spans no buffer ficam ate serem sobrescritos
+    public void reset() {
+        endpointStats.clear();
+        indexLock.writeLock().lock();
+        try {
+            retained.clear();
+            byEndpoint.clear();
+            byErrorType.clear();
+            byDuration.clear();
+            byStartTime.clear();
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private static double millis(double nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    /**
+     * Copia de um span armazenado. Ids de trace com traceIdHigh 0 sao os de 64 bits gerados aqui; parentSpanId
+     * 0 indica span raiz sem pai remoto; error e null em spans sem erro.
+     */
+    public record SpanRecord(long traceIdHigh, long traceId, long spanId, long parentSpanId, String operation,
+                             String endpoint, long startTime, long durationNanos, String error) {
+    }
+
+    // Trace mantido: dados da requisicao e o intervalo de seus spans no ring buffer
+    private static final class RetainedTrace {
+        private long sequence;
+        private final long traceIdHigh;
+        private final long traceId;
+        private final String requestId;
+        private final String endpoint;
+        private final String method;
+        private final long startTime;
+        private final long durationNanos;
+        private final String[] errorTypes;
+        private final String keptBy;
+        private final long firstSpan;
+        private final int spanCount;
+        private final int droppedSpans;
+
+        private RetainedTrace(TraceState trace, long durationNanos, String[] errorTypes, String keptBy,
+                              long firstSpan, int spanCount, int droppedSpans) {
+            this.traceIdHigh = trace.getTraceIdHigh();
+            this.traceId = trace.getTraceId();
+            this.requestId = trace.getRequestId();
+            this.endpoint = trace.getEndpoint();
+            this.method = trace.getMethod();
+            this.startTime = trace.getStartTime();
+            this.durationNanos = durationNanos;
+            this.errorTypes = errorTypes;
+            this.keptBy = keptBy;
+            this.firstSpan = firstSpan;
+            this.spanCount = spanCount;
+            this.droppedSpans = droppedSpans;
+        }
+
+        // Limite de busca nos indices ordenados por inicio ou duracao
+        private RetainedTrace(long startTime, long durationNanos, long sequence) {
+            this.sequence = sequence;
+            this.traceIdHigh = 0;
+            this.traceId = 0;
+            this.requestId = null;
+            this.endpoint = null;
+            this.method = null;
+            this.startTime = startTime;
+            this.durationNanos = durationNanos;
+            this.errorTypes = new String[0];
+            this.keptBy = null;
+            this.firstSpan = 0;
+            this.spanCount = 0;
+            this.droppedSpans = 0;
+        }
+
+        private static RetainedTrace probe(long startTime, long durationNanos, long sequence) {
+            return new RetainedTrace(startTime, durationNanos, sequence);
+        }
+
+        private boolean matches(String endpoint, String errorType, long minDurationNanos, long from, long to) {
+            return (endpoint == null || endpoint.equals(this.endpoint))
+                    && (errorType == null || hasErrorType(errorType))
+                    && durationNanos >= minDurationNanos
+                    && startTime >= from && startTime <= to;
+        }
+
+        private boolean hasErrorType(String errorType) {
+            for (String type : errorTypes) {
+                if (type.equals(errorType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Os traces mais lentos de um endpoint na janela corrente, em um min-heap de tamanho fixo. Traces mais
+     * rapidos que o menor do heap cheio sao descartados sem lock, lendo so o limiar volatil.
+     */
+    private static final class SlowestTraces {
+        private final long[] heap;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int size;
+        private volatile long threshold = -1;
+        private volatile long windowEnd = System.nanoTime();
+
+        private SlowestTraces(int capacity) {
+            this.heap = new long[Math.max(capacity, 0)];
+        }
+
+        private boolean offer(long durationNanos, long now, long windowNanos) {
+            if (heap.length == 0 || (now - windowEnd < 0 && durationNanos <= threshold)) {
+                return false;
+            }
+            lock.lock();
+            try {
+                if (now - windowEnd >= 0) {
+                    size = 0;
+                    windowEnd = now + windowNanos;
+                }
+                if (size < heap.length) {
+                    heap[size] = durationNanos;
+                    siftUp(size++);
+                } else if (durationNanos > heap[0]) {
+                    heap[0] = durationNanos;
+                    siftDown(0);
+                } else {
+                    return false;
+                }
+                threshold = size == heap.length ? heap[0] : -1;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap[parent] <= heap[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left] < heap[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heap[right] < heap[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long value = heap[a];
+            heap[a] = heap[b];
+            heap[b] = value;
+        }
+    }
+
+    /**
+     * Cota de traces com erro de um endpoint na janela corrente. Sem lock: um contador atomico por janela,
+     * zerado por quem primeiro perceber que a janela acabou; esgotada a cota, a recusa e so uma leitura.
+     */
+    private static final class ErrorBudget {
+        private final int perWindow;
+        private final long windowNanos;
+        private final AtomicInteger kept = new AtomicInteger();
+        private final AtomicLong windowEnd;
+
+        private ErrorBudget(int perWindow, long windowNanos) {
+            this.perWindow = perWindow;
+            this.windowNanos = windowNanos;
+            this.windowEnd = new AtomicLong(System.nanoTime() + windowNanos);
+        }
+
+        private boolean tryAcquire(long now) {
+            if (perWindow <= 0) {
+                return false;
+            }
+            long end = windowEnd.get();
+            if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos)) {
+                kept.set(0);
+            }
+            return kept.get() < perWindow && kept.incrementAndGet() <= perWindow;
+        }
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAccumulator lastTrace = new LongAccumulator(Math::max, 0);
+        private final SlowestTraces slowest;
+        private final ErrorBudget errors;
+
+        private EndpointStats(int slowestPerEndpoint, int errorsPerEndpoint, long windowNanos) {
+            this.slowest = new SlowestTraces(slowestPerEndpoint);
+            this.errors = new ErrorBudget(errorsPerEndpoint, windowNanos);
+        }
+
+        private void record(long startTime, long durationNanos, boolean error) {
+            latency.record(durationNanos);
+            if (error) {
+                failures.increment();
+            }
+            lastTrace.accumulate(startTime);
+        }
+
+        private Map<String, Object> toMap() {
+            long total = latency.getCount();
+            Map<String, Object> data = new HashMap<>();
+            data.put("totalTraces", total);
+            data.put("errorRate", total > 0 ? round(failures.sum() * 100.0 / total) : 0.0);
+            data.put("avgDuration", millis(latency.getMean()));
+            data.put("p50Duration", millis(latency.getValueAtPercentile(50)));
+            data.put("p95Duration", millis(latency.getValueAtPercentile(95)));
+            data.put("p99Duration", millis(latency.getValueAtPercentile(99)));
+            data.put("maxDuration", millis(latency.getMax()));
+            data.put("lastTrace", lastTrace.get());
+            return data;
+        }
+    }
+}
@@ -1,87 +1,183 @@
 package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
 
-import java.util.UUID;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+/**
+ * Contexto de trace da thread corrente, guardado como um {@link TraceState} em um ThreadLocal.
+ *
+ * Os ids nao sao mais gravados no MDC a cada span: {@link #syncMdc()} copia para o MDC apenas os campos do
+ * padrao de log (requestId, endpoint, traceId, spanId, operationName, duration), e so quando um log
+ * habilitado e emitido e o contexto mudou desde a ultima copia. Quem chama e o TraceContextMdcFilter,
+ * registrado no logback-spring.xml. Por isso abrir e fechar traces e spans nao loga nada aqui: com o pacote em
+ * DEBUG, cada log desses sincronizaria o MDC a cada span (o TraceSpan loga inicio e fim em TRACE).
+ */
 public class TraceContext {
     private static final Logger log = LoggerFactory.getLogger(TraceContext.class);
-    
+
     public static final String TRACE_ID = "traceId";
     public static final String SPAN_ID = "spanId";
     public static final String PARENT_SPAN_ID = "parentSpanId";
     public static final String OPERATION_NAME = "operationName";
-    
-    public static void startTrace() {
-        String traceId = generateTraceId();
-        String spanId = generateSpanId();
-        
-        MDC.put(TRACE_ID, traceId);
-        MDC.put(SPAN_ID, spanId);
-        MDC.put(PARENT_SPAN_ID, "");
-        MDC.put(OPERATION_NAME, "root");
-        
-        log.debug("Trace iniciado: traceId={}, spanId={}", traceId, spanId);
-    }
-    
+    public static final String REQUEST_ID = "requestId";
+    public static final String ENDPOINT = "endpoint";
+    public static final String DURATION = "duration";
+
+    private static final String[] MIRRORED_KEYS = {REQUEST_ID, ENDPOINT, TRACE_ID, SPAN_ID, OPERATION_NAME, DURATION};
+
+    private static final ThreadLocal<Holder> HOLDER = ThreadLocal.withInitial(Holder::new);
+
+    // Estado por thread: o contexto corrente e qual versao dele esta copiada no MDC
+    private static final class Holder {
+        private TraceState current;
+        private TraceState mirrored;
+        private int mirroredVersion;
+    }
+
+    // Inicia um novo trace na thread corrente e retorna o contexto criado
+    public static TraceState startTrace() {
+        TraceState state = newTrace();
+        HOLDER.get().current = state;
+        return state;
+    }
+
+    // Continua o trace recebido nos headers W3C, ou inicia um novo se o traceparent estiver ausente ou invalido
+    public static TraceState startTrace(String traceparent, String tracestate) {
+        TraceState state = newTrace(traceparent, tracestate);
+        HOLDER.get().current = state;
+        return state;
+    }
+
+    // Cria um trace sem associa-lo a thread (variante reativa: o contexto viaja no Context do Reactor)
+    public static TraceState newTrace() {
+        return new TraceState(IdGenerator.nextTraceId(), IdGenerator.nextSpanId());
+    }
+
+    public static TraceState newTrace(String traceparent, String tracestate) {
+        TraceState state = TraceParent.parse(traceparent, tracestate);
+        if (state != null) {
+            return state;
+        }
+        if (traceparent != null) {
+            log.debug("traceparent invalido ignorado, iniciando novo trace: {}", traceparent);
+        }
+        return newTrace();
+    }
+
     public static void startSpan(String operationName) {
-        String parentSpanId = MDC.get(SPAN_ID);
-        String spanId = generateSpanId();
-        
-        MDC.put(PARENT_SPAN_ID, parentSpanId);
-        MDC.put(SPAN_ID, spanId);
-        MDC.put(OPERATION_NAME, operationName);
-        
-        log.debug("Span iniciado: operationName={}, spanId={}, parentSpanId={}", 
-                 operationName, spanId, parentSpanId);
-    }
-    
+        TraceState state = current();
+        if (state == null) {
+            log.debug("Span {} ignorado: nenhum trace ativo", operationName);
+            return;
+        }
+        state.pushSpan(IdGenerator.nextSpanId(), operationName);
+    }
+
     public static void endSpan() {
-        String parentSpanId = MDC.get(PARENT_SPAN_ID);
-        if (parentSpanId != null && !parentSpanId.isEmpty()) {
-            MDC.put(SPAN_ID, parentSpanId);
-            MDC.put(PARENT_SPAN_ID, "");
-            MDC.put(OPERATION_NAME, "parent");
-            
-            log.debug("Span finalizado, voltando para parent: spanId={}", parentSpanId);
+        TraceState state = current();
+        if (state != null) {
+            state.popSpan();
         }
     }
-    
+
     public static void endTrace() {
-        String traceId = MDC.get(TRACE_ID);
-        log.debug("Trace finalizado: traceId={}", traceId);
-        
-        MDC.remove(TRACE_ID);
-        MDC.remove(SPAN_ID);
-        MDC.remove(PARENT_SPAN_ID);
-        MDC.remove(OPERATION_NAME);
-    }
-    
-    private static String generateTraceId() {
-        return UUID.randomUUID().toString().replace("-", "").substring(0, 16);
-    }
-    
-    private static String generateSpanId() {
-        return UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-    }
-    
+        Holder holder = HOLDER.get();
+        if (holder.current != null) {
+            finishTrace(holder.current);
+        }
+        holder.current = null;
+        clearMirror(holder);
+    }
+
+    // Entrega o trace ao SpanStore, que decide se ele e mantido (tail sampling); so a primeira chamada conta
+    public static void finishTrace(TraceState state) {
+        if (state.markFinished()) {
+            SpanStore.shared().finishTrace(state);
+        }
+    }
+
+    public static TraceState current() {
+        return HOLDER.get().current;
+    }
+
+    // Associa um contexto existente a thread corrente e retorna o anterior, para restore()
+    public static TraceState attach(TraceState state) {
+        Holder holder = HOLDER.get();
+        TraceState previous = holder.current;
+        holder.current = state;
+        return previous;
+    }
+
+    // Restaura o contexto anterior a um attach(); o MDC copiado de outro contexto e descartado na hora
+    public static void restore(TraceState previous) {
+        Holder holder = HOLDER.get();
+        holder.current = previous;
+        if (holder.mirrored != null && holder.mirrored != previous) {
+            clearMirror(holder);
+        }
+    }
+
+    // Copia para o MDC os campos do padrao de log, se o contexto mudou desde a ultima copia
+    public static void syncMdc() {
+        Holder holder = HOLDER.get();
+        TraceState state = holder.current;
+        if (state == holder.mirrored && (state == null || state.getVersion() == holder.mirroredVersion)) {
+            return;
+        }
+        if (state == null) {
+            clearMirror(holder);
+            return;
+        }
+        putOrRemove(REQUEST_ID, state.getRequestId());
+        putOrRemove(ENDPOINT, state.getEndpoint());
+        MDC.put(TRACE_ID, state.getTraceIdHex());
+        MDC.put(SPAN_ID, state.getSpanIdHex());
+        MDC.put(OPERATION_NAME, state.getOperationName());
+        putOrRemove(DURATION, state.getDurationText());
+        holder.mirrored = state;
+        holder.mirroredVersion = state.getVersion();
+    }
+
+    private static void putOrRemove(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        } else {
+            MDC.remove(key);
+        }
+    }
+
+    private static void clearMirror(Holder holder) {
+        if (holder.mirrored != null) {
+            for (String key : MIRRORED_KEYS) {
+                MDC.remove(key);
+            }
+            holder.mirrored = null;
+        }
+    }
+
     public static String getCurrentTraceId() {
-        String traceId = MDC.get(TRACE_ID);
-        log.debug("getCurrentTraceId() retornou: {}", traceId);
-        return traceId;
+        TraceState state = current();
+        return state != null ? state.getTraceIdHex() : null;
     }
-    
+
     public static String getCurrentSpanId() {
-        String spanId = MDC.get(SPAN_ID);
-        log.debug("getCurrentSpanId() retornou: {}", spanId);
-        return spanId;
+        TraceState state = current();
+        return state != null ? state.getSpanIdHex() : null;
     }
-    
+
     public static String getCurrentOperationName() {
-        String operationName = MDC.get(OPERATION_NAME);
-        log.debug("getCurrentOperationName() retornou: {}", operationName);
-        return operationName;
+        TraceState state = current();
+        return state != null ? state.getOperationName() : null;
+    }
+
+    public static String getCurrentRequestId() {
+        TraceState state = current();
+        return state != null ? state.getRequestId() : null;
+    }
+
+    public static String getCurrentEndpoint() {
+        TraceState state = current();
+        return state != null ? state.getEndpoint() : null;
     }
-}
\ No newline at end of file
+}
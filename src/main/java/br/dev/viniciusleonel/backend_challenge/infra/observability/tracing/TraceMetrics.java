@@ -4,13 +4,14 @@ import br.dev.viniciusleonel.backend_challenge.infra.exception.CollectCurrentTra
 import br.dev.viniciusleonel.backend_challenge.infra.exception.CollectEndpointTraceException;
 import br.dev.viniciusleonel.backend_challenge.infra.exception.CollectMetricsException;
 import br.dev.viniciusleonel.backend_challenge.infra.exception.ResetMetricsException;
+import br.dev.viniciusleonel.backend_challenge.infra.exception.SearchTracesException;
 import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.http.ResponseEntity;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class TraceMetrics {
@@ -35,17 +36,18 @@ public class TraceMetrics {
                 response.put("spanId", currentSpanId);
             }
 
-            String requestId = MDC.get("requestId");
+            String requestId = TraceContext.getCurrentRequestId();
             if (requestId != null) {
                 response.put("requestId", requestId);
             }
 
-            String endpoint = MDC.get("endpoint");
+            String endpoint = TraceContext.getCurrentEndpoint();
             if (endpoint != null) {
                 response.put("endpoint", endpoint);
             }
 
             metricsCollector.resetMetrics();
+            SpanStore.shared().reset();
             log.info("Metricas resetadas com sucesso");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -85,16 +87,8 @@ public class TraceMetrics {
         try {
             Map<String, Object> traces = new HashMap<>();
 
-            // Simula informacoes de traces por endpoint
-            Map<String, Object> endpointTraces = new HashMap<>();
-            endpointTraces.put("/api/validate", Map.of(
-                    "totalTraces", 150,
-                    "avgDuration", 45.2,
-                    "errorRate", 2.1,
-                    "lastTrace", System.currentTimeMillis()
-            ));
-
-            traces.put("endpoints", endpointTraces);
+            // Agregados mantidos pelo SpanStore a cada requisicao finalizada (duracoes em ms, errorRate em %)
+            traces.put("endpoints", SpanStore.shared().getEndpointStats());
 
             // Adiciona contexto de tracing de forma segura
             String currentTraceId = TraceContext.getCurrentTraceId();
@@ -111,6 +105,42 @@ public class TraceMetrics {
         }
     }
 
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    // Busca traces mantidos pelo SpanStore; filtros nulos sao ignorados, duracao em ms e intervalo em epoch ms
+    public static ResponseEntity<Map<String, Object>> searchTraces(String endpoint, String errorType, Long minDurationMs,
+                                                                   Long from, Long to, Integer limit) {
+        try {
+            long minDurationNanos = minDurationMs != null ? Math.max(0, minDurationMs) * 1_000_000L : 0;
+            int max = limit != null ? Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)) : DEFAULT_SEARCH_LIMIT;
+
+            List<Map<String, Object>> found = SpanStore.shared().search(blankToNull(endpoint), blankToNull(errorType),
+                    minDurationNanos, from != null ? from : 0, to != null ? to : Long.MAX_VALUE, max);
+
+            Map<String, Object> traces = new HashMap<>();
+            traces.put("traces", found);
+            traces.put("count", found.size());
+
+            // Adiciona contexto de tracing de forma segura
+            String currentTraceId = TraceContext.getCurrentTraceId();
+            if (currentTraceId != null) {
+                traces.put("traceId", currentTraceId);
+            }
+
+            traces.put("timestamp", System.currentTimeMillis());
+
+            log.info("Busca de traces concluida: {} resultado(s)", found.size());
+            return ResponseEntity.ok(traces);
+        } catch (Exception e) {
+            throw new SearchTracesException("Erro ao buscar traces");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
     public static ResponseEntity<Map<String, Object>> collectCurrentTrace() {
         try {
             Map<String, Object> trace = new HashMap<>();
@@ -131,13 +161,13 @@ public class TraceMetrics {
                 trace.put("operationName", operationName);
             }
 
-            // Adiciona informacoes do MDC
-            String requestId = MDC.get("requestId");
+            // Adiciona informacoes da requisicao
+            String requestId = TraceContext.getCurrentRequestId();
             if (requestId != null) {
                 trace.put("requestId", requestId);
             }
 
-            String endpoint = MDC.get("endpoint");
+            String endpoint = TraceContext.getCurrentEndpoint();
             if (endpoint != null) {
                 trace.put("endpoint", endpoint);
             }
@@ -0,0 +1,112 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+/**
+ * Leitura e escrita do header traceparent do W3C Trace Context ({@code 00-<trace-id>-<parent-id>-<flags>}).
+ *
+ * O parser percorre o header caractere a caractere e converte os campos hexadecimais direto para long, sem
+ * split, substring ou regex; o unico objeto criado e o TraceState de um header valido. Segue as regras da
+ * especificacao: so hex minusculo, versao ff invalida, trace-id e parent-id nao podem ser zero, e versoes
+ * futuras sao aceitas desde que os campos conhecidos estejam no lugar. O tracestate so e aproveitado junto de
+ * um traceparent valido e e repassado como veio, se couber no limite de {@value #MAX_TRACESTATE_LENGTH}
+ * caracteres.
+ */
+public final class TraceParent {
+
+    public static final String TRACEPARENT = "traceparent";
+    public static final String TRACESTATE = "tracestate";
+
+    static final int MAX_TRACESTATE_LENGTH = 512;
+
+    private static final int LENGTH = 55;
+    private static final int TRACE_ID_OFFSET = 3;
+    private static final int PARENT_ID_OFFSET = 36;
+    private static final int FLAGS_OFFSET = 53;
+    private static final int FLAG_SAMPLED = 0x01;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TraceParent() {
+    }
+
+    /**
+     * Cria o contexto que continua o trace de quem chamou: mesmo trace-id, span raiz novo tendo o parent-id
+     * como pai remoto e a flag sampled recebida. Retorna null se o traceparent estiver ausente ou invalido.
+     */
+    public static TraceState parse(String traceparent, String tracestate) {
+        if (!isValid(traceparent)) {
+            return null;
+        }
+        long traceIdHigh = parseHex(traceparent, TRACE_ID_OFFSET, 16);
+        long traceId = parseHex(traceparent, TRACE_ID_OFFSET + 16, 16);
+        long parentId = parseHex(traceparent, PARENT_ID_OFFSET, 16);
+        boolean sampled = (parseHex(traceparent, FLAGS_OFFSET, 2) & FLAG_SAMPLED) != 0;
+
+        String vendorState = tracestate != null && !tracestate.isBlank() && tracestate.length() <= MAX_TRACESTATE_LENGTH
+                ? tracestate : null;
+        return new TraceState(traceIdHigh, traceId, IdGenerator.nextSpanId(), parentId, sampled, vendorState);
+    }
+
+    static boolean isValid(String header) {
+        if (header == null || header.length() < LENGTH) {
+            return false;
+        }
+        if (!isHex(header, 0, 2) || (header.charAt(0) == 'f' && header.charAt(1) == 'f')) {
+            return false;
+        }
+        boolean version00 = header.charAt(0) == '0' && header.charAt(1) == '0';
+        if (version00 ? header.length() != LENGTH : header.length() > LENGTH && header.charAt(LENGTH) != '-') {
+            return false;
+        }
+        return header.charAt(2) == '-' && header.charAt(PARENT_ID_OFFSET - 1) == '-' && header.charAt(FLAGS_OFFSET - 1) == '-'
+                && isHex(header, TRACE_ID_OFFSET, 32) && isHex(header, PARENT_ID_OFFSET, 16) && isHex(header, FLAGS_OFFSET, 2)
+                && !isZero(header, TRACE_ID_OFFSET, 32) && !isZero(header, PARENT_ID_OFFSET, 16);
+    }
+
+    /**
+     * traceparent do span corrente, para a resposta ou chamadas a outros servicos. Traces iniciados aqui
+     * saem com os 64 bits mais significativos zerados e spans com 32 bits completados com zeros, como a
+     * especificacao permite para ids menores.
+     */
+    public static String format(TraceState state) {
+        char[] chars = new char[LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+        IdGenerator.writeHex(state.getTraceIdHigh(), 16, chars, TRACE_ID_OFFSET);
+        IdGenerator.writeHex(state.getTraceId(), 16, chars, TRACE_ID_OFFSET + 16);
+        chars[PARENT_ID_OFFSET - 1] = '-';
+        IdGenerator.writeHex(state.getSpanId(), 16, chars, PARENT_ID_OFFSET);
+        chars[FLAGS_OFFSET - 1] = '-';
+        chars[FLAGS_OFFSET] = '0';
+        chars[FLAGS_OFFSET + 1] = HEX[state.isSampled() ? FLAG_SAMPLED : 0];
+        return new String(chars);
+    }
+
+    private static boolean isHex(String header, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            char c = header.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String header, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (header.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Chamado apenas depois de isValid: os caracteres ja sao hex minusculo
+    private static long parseHex(String header, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = header.charAt(i);
+            value = (value << 4) | (c <= '9' ? c - '0' : c - 'a' + 10);
+        }
+        return value;
+    }
+}
@@ -1,91 +1,243 @@
 package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
 
-import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
+// Tags e metricas ficam em arrays no proprio span (poucas entradas por span), sem passar pelo MDC
+// Os prefixos de addBusinessContext/addSecurityContext so sao concatenados a chave na leitura (getTags)
+// Duracao medida com System.nanoTime(); os tempos do close ficam em campos primitivos, sem boxing
+// Em traces marcados como nao amostrados por quem chamou o span so mantem os ids (para os logs) e nao coleta nada
+// Ao fechar, o span fica no TraceState ate o fim do trace, quando o SpanStore decide se ele e mantido
 public class TraceSpan implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(TraceSpan.class);
-    
-    private final String operationName;
-    private final Instant startTime;
-    private final String spanId;
-    private final Map<String, String> tags;
-    private final Map<String, Object> metrics;
-    
+
+    private static final String BUSINESS_PREFIX = "business.";
+    private static final String SECURITY_PREFIX = "security.";
+
+    // Spans livres por thread de plataforma; cobre os spans aninhados de uma requisicao
+    static final int POOL_SIZE = 8;
+    private static final ThreadLocal<TraceSpan[]> POOL = ThreadLocal.withInitial(() -> new TraceSpan[POOL_SIZE]);
+
+    private final boolean pooled;
+    private boolean open;
+
+    private String operationName;
+    private long startTime;
+    private long startNanos;
+    private long endTime;
+    private long durationNanos;
+    private TraceState trace;
+    private long spanId;
+    private boolean recording;
+
+    private String[] tagPrefixes = new String[4];
+    private String[] tagKeys = new String[4];
+    private String[] tagValues = new String[4];
+    private int tagCount;
+    private String[] metricKeys = new String[4];
+    private Object[] metricValues = new Object[4];
+    private int metricCount;
+
     public TraceSpan(String operationName) {
+        this(false);
+        begin(operationName);
+    }
+
+    private TraceSpan(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Abre um span reaproveitando uma instancia livre da thread corrente. O span volta para o pool no
+     * close(), entao nao deve ser usado depois dele. Em threads virtuais (uma por requisicao) o pool nao se
+     * paga e o span e criado normalmente.
+     */
+    public static TraceSpan start(String operationName) {
+        TraceSpan span = null;
+        if (!Thread.currentThread().isVirtual()) {
+            TraceSpan[] pool = POOL.get();
+            for (int i = 0; i < POOL_SIZE && span == null; i++) {
+                span = pool[i];
+                pool[i] = null;
+            }
+            if (span == null) {
+                span = new TraceSpan(true);
+            }
+        } else {
+            span = new TraceSpan(false);
+        }
+        span.begin(operationName);
+        return span;
+    }
+
+    private void begin(String operationName) {
         this.operationName = operationName;
-        this.startTime = Instant.now();
-        this.spanId = MDC.get(TraceContext.SPAN_ID);
-        String parentSpanId = MDC.get(TraceContext.PARENT_SPAN_ID);
-        this.tags = new HashMap<>();
-        this.metrics = new HashMap<>();
-        
+        this.startTime = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.endTime = 0;
+        this.durationNanos = -1;
+        this.open = true;
+
         TraceContext.startSpan(operationName);
-        
-        log.debug("Span iniciado: {} [spanId: {}, parentSpanId: {}]", 
-                 operationName, spanId, parentSpanId);
+        TraceState state = TraceContext.current();
+        this.trace = state;
+        this.spanId = state != null ? state.getSpanId() : 0;
+        this.recording = state == null || state.isSampled();
+
+        // TRACE: com o pacote em DEBUG um log por span sincronizaria o MDC a cada span (ver TraceContext)
+        if (log.isTraceEnabled()) {
+            log.trace("Span iniciado: {} [spanId: {}, parentSpanId: {}]",
+                     operationName, getSpanIdHex(), state != null ? state.getParentSpanIdHex() : null);
+        }
     }
-    
+
     @Override
     public void close() {
-        Instant endTime = Instant.now();
-        long durationMs = endTime.toEpochMilli() - startTime.toEpochMilli();
-        
-        // Adiciona métricas de performance
-        addMetric("duration", durationMs);
-        addMetric("startTime", startTime.toEpochMilli());
-        addMetric("endTime", endTime.toEpochMilli());
-        
+        if (!open) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        endTime = startTime + durationNanos / 1_000_000;
+        open = false;
+
+        if (trace != null && recording) {
+            int error = indexOfTag(null, "error");
+            trace.recordSpan(operationName, startTime, durationNanos, error >= 0 ? tagValues[error] : null);
+        }
+
         TraceContext.endSpan();
-        
+
         // Log de finalizacao com metricas
-        log.debug("Span finalizado: {} [duracao: {}ms, spanId: {}, tags: {}, metrics: {}]", 
-                 operationName, durationMs, spanId, tags, metrics);
+        if (log.isTraceEnabled()) {
+            log.trace("Span finalizado: {} [duracao: {}ms, spanId: {}, tags: {}, metrics: {}]",
+                     operationName, getDurationMillis(), getSpanIdHex(), getTags(), getMetrics());
+        }
+
+        if (pooled) {
+            release();
+        }
     }
-    
-    public void addTag(String key, String value) {
-        if (key != null && value != null) {
-            tags.put(key, value);
-            MDC.put("tag." + key, value);
+
+    // Limpa as referencias do uso anterior e devolve o span ao pool da thread que o fechou
+    private void release() {
+        Arrays.fill(tagValues, 0, tagCount, null);
+        Arrays.fill(metricValues, 0, metricCount, null);
+        tagCount = 0;
+        metricCount = 0;
+        trace = null;
+
+        TraceSpan[] pool = POOL.get();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (pool[i] == null) {
+                pool[i] = this;
+                return;
+            }
         }
     }
-    
+
+    public void addTag(String key, String value) {
+        putTag(null, key, value);
+    }
+
     public void addMetric(String key, Object value) {
-        if (key != null && value != null) {
-            metrics.put(key, value);
-            MDC.put("metric." + key, value.toString());
+        if (recording && key != null && value != null) {
+            int index = -1;
+            for (int i = 0; i < metricCount; i++) {
+                if (metricKeys[i].equals(key)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                if (metricCount == metricKeys.length) {
+                    metricKeys = Arrays.copyOf(metricKeys, metricCount * 2);
+                    metricValues = Arrays.copyOf(metricValues, metricCount * 2);
+                }
+                index = metricCount++;
+                metricKeys[index] = key;
+            }
+            metricValues[index] = value;
         }
     }
-    
+
     public void addError(String error) {
         if (error != null) {
             addTag("error", error);
-            MDC.put("error", error);
         }
     }
-    
+
     public void addBusinessContext(String key, String value) {
-        if (key != null && value != null) {
-            addTag("business." + key, value);
-        }
+        putTag(BUSINESS_PREFIX, key, value);
     }
-    
+
     public void addSecurityContext(String key, String value) {
-        if (key != null && value != null) {
-            addTag("security." + key, value);
-        }
+        putTag(SECURITY_PREFIX, key, value);
     }
-    
+
+    // Duracao em nanossegundos, ou -1 enquanto o span esta aberto
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
     public Map<String, String> getTags() {
-        return new HashMap<>(tags);
+        Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            String prefix = tagPrefixes[i];
+            tags.put(prefix != null ? prefix + tagKeys[i] : tagKeys[i], tagValues[i]);
+        }
+        return tags;
     }
-    
+
+    // Metricas adicionadas mais duration (ms, com fracao), durationNanos, startTime e endTime depois do close
     public Map<String, Object> getMetrics() {
-        return new HashMap<>(metrics);
+        Map<String, Object> metrics = new HashMap<>();
+        for (int i = 0; i < metricCount; i++) {
+            metrics.put(metricKeys[i], metricValues[i]);
+        }
+        if (recording && durationNanos >= 0) {
+            metrics.putIfAbsent("duration", getDurationMillis());
+            metrics.putIfAbsent("durationNanos", durationNanos);
+            metrics.putIfAbsent("startTime", startTime);
+            metrics.putIfAbsent("endTime", endTime);
+        }
+        return metrics;
+    }
+
+    private double getDurationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+
+    private String getSpanIdHex() {
+        return trace != null ? IdGenerator.toHex(spanId, TraceState.SPAN_ID_HEX_LENGTH) : null;
+    }
+
+    private void putTag(String prefix, String key, String value) {
+        if (recording && key != null && value != null) {
+            int index = indexOfTag(prefix, key);
+            if (index < 0) {
+                if (tagCount == tagKeys.length) {
+                    tagPrefixes = Arrays.copyOf(tagPrefixes, tagCount * 2);
+                    tagKeys = Arrays.copyOf(tagKeys, tagCount * 2);
+                    tagValues = Arrays.copyOf(tagValues, tagCount * 2);
+                }
+                index = tagCount++;
+                tagPrefixes[index] = prefix;
+                tagKeys[index] = key;
+            }
+            tagValues[index] = value;
+        }
+    }
+
+    private int indexOfTag(String prefix, String key) {
+        for (int i = 0; i < tagCount; i++) {
+            if (tagPrefixes[i] == prefix && tagKeys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,258 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import java.util.Arrays;
+
+/**
+ * Contexto de trace de uma requisicao: ids como primitivos, pilha de spans em arrays e os dados da
+ * requisicao usados no padrao de log (requestId, endpoint, duracao).
+ *
+ * Substitui as varias chaves de String no MDC: o TraceContext guarda a instancia corrente em um ThreadLocal e
+ * so copia para o MDC os campos do padrao de log, sob demanda (ver {@link TraceContext#syncMdc()}). As
+ * representacoes hexadecimais dos ids sao geradas uma vez e reaproveitadas. Uma instancia pertence a uma
+ * requisicao e so e alterada pela thread que a atende; outras threads (validacao em lote, trechos
+ * sincronos da variante reativa) apenas a leem.
+ *
+ * Traces iniciados aqui tem id de 64 bits (16 hex). Traces continuados de um traceparent W3C guardam os 128
+ * bits recebidos (32 hex, ver {@link TraceParent}), o span pai remoto e a decisao de amostragem de quem chamou.
+ */
+public final class TraceState {
+
+    static final int TRACE_ID_HEX_LENGTH = 16;
+    static final int REMOTE_SPAN_ID_HEX_LENGTH = 16;
+    static final int SPAN_ID_HEX_LENGTH = 8;
+    private static final String ROOT_OPERATION = "root";
+
+    private final long traceIdHigh;
+    private final long traceId;
+    private String traceIdHex;
+
+    // Span do servico que chamou (0 quando o trace comecou aqui), amostragem e tracestate recebidos
+    private final long remoteParentSpanId;
+    private final boolean sampled;
+    private final String vendorState;
+
+    // Pilha de spans: a posicao 0 e o span raiz
+    private long[] spanIds = new long[4];
+    private String[] spanIdHex = new String[4];
+    private String[] operations = new String[4];
+    private int depth;
+
+    private String requestId;
+    private String endpoint;
+    private String method;
+    private long startTime;
+    private final long startNanos = System.nanoTime();
+    private long duration = -1;
+    private String durationText;
+
+    // Tipo de erro da requisicao (excecao ou HTTP_<status>), spans fechados e se o trace ja foi entregue ao SpanStore
+    private String errorType;
+    private FinishedSpans finishedSpans;
+    private boolean finished;
+
+    // Incrementada a cada alteracao visivel no log, para o TraceContext saber quando atualizar o MDC
+    private int version;
+
+    TraceState(long traceId, long rootSpanId) {
+        this(0, traceId, rootSpanId, 0, true, null);
+    }
+
+    TraceState(long traceIdHigh, long traceId, long rootSpanId, long remoteParentSpanId, boolean sampled, String vendorState) {
+        this.traceIdHigh = traceIdHigh;
+        this.traceId = traceId;
+        this.remoteParentSpanId = remoteParentSpanId;
+        this.sampled = sampled;
+        this.vendorState = vendorState;
+        this.spanIds[0] = rootSpanId;
+        this.operations[0] = ROOT_OPERATION;
+        this.depth = 1;
+    }
+
+    public void setRequest(String requestId, String endpoint, String method, long startTime) {
+        this.requestId = requestId;
+        this.endpoint = endpoint;
+        this.method = method;
+        this.startTime = startTime;
+        version++;
+    }
+
+    public void setDuration(long duration) {
+        this.duration = duration;
+        this.durationText = null;
+        version++;
+    }
+
+    // Marca a requisicao como falha; usado pelo SpanStore para sempre manter o trace
+    public void setErrorType(String errorType) {
+        this.errorType = errorType;
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+
+    // Guarda o span corrente (prestes a ser fechado) ate o fim do trace
+    void recordSpan(String operation, long startTime, long durationNanos, String error) {
+        if (finishedSpans == null) {
+            finishedSpans = new FinishedSpans();
+        }
+        finishedSpans.add(getSpanId(), getParentSpanId(), operation, startTime, durationNanos, error);
+    }
+
+    FinishedSpans getFinishedSpans() {
+        return finishedSpans;
+    }
+
+    // Verdadeiro apenas na primeira chamada: o trace e entregue ao SpanStore uma unica vez
+    boolean markFinished() {
+        if (finished) {
+            return false;
+        }
+        finished = true;
+        return true;
+    }
+
+    void pushSpan(long spanId, String operationName) {
+        if (depth == spanIds.length) {
+            spanIds = Arrays.copyOf(spanIds, depth * 2);
+            spanIdHex = Arrays.copyOf(spanIdHex, depth * 2);
+            operations = Arrays.copyOf(operations, depth * 2);
+        }
+        spanIds[depth] = spanId;
+        spanIdHex[depth] = null;
+        operations[depth] = operationName;
+        depth++;
+        version++;
+    }
+
+    // Volta ao span pai; o span raiz nunca e removido
+    boolean popSpan() {
+        if (depth <= 1) {
+            return false;
+        }
+        depth--;
+        operations[depth] = null;
+        version++;
+        return true;
+    }
+
+    // 64 bits menos significativos do id do trace
+    public long getTraceId() {
+        return traceId;
+    }
+
+    // 64 bits mais significativos; 0 em traces iniciados aqui
+    public long getTraceIdHigh() {
+        return traceIdHigh;
+    }
+
+    public long getRemoteParentSpanId() {
+        return remoteParentSpanId;
+    }
+
+    // Falso quando quem chamou marcou o trace como nao amostrado: spans nao coletam tags e metricas
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    // Header tracestate recebido, repassado sem alteracao (null se ausente)
+    public String getVendorState() {
+        return vendorState;
+    }
+
+    public long getSpanId() {
+        return spanIds[depth - 1];
+    }
+
+    // Pai do span corrente: o span anterior na pilha ou, no span raiz, o span remoto (0 se nao houver)
+    public long getParentSpanId() {
+        return depth > 1 ? spanIds[depth - 2] : remoteParentSpanId;
+    }
+
+    public long getRootSpanId() {
+        return spanIds[0];
+    }
+
+    public String getTraceIdHex() {
+        if (traceIdHex == null) {
+            traceIdHex = traceIdHex(traceIdHigh, traceId);
+        }
+        return traceIdHex;
+    }
+
+    // 32 hex para ids de 128 bits recebidos via traceparent, 16 hex para os de 64 bits gerados aqui
+    static String traceIdHex(long traceIdHigh, long traceId) {
+        if (traceIdHigh == 0) {
+            return IdGenerator.toHex(traceId, TRACE_ID_HEX_LENGTH);
+        }
+        char[] chars = new char[TRACE_ID_HEX_LENGTH * 2];
+        IdGenerator.writeHex(traceIdHigh, TRACE_ID_HEX_LENGTH, chars, 0);
+        IdGenerator.writeHex(traceId, TRACE_ID_HEX_LENGTH, chars, TRACE_ID_HEX_LENGTH);
+        return new String(chars);
+    }
+
+    public String getSpanIdHex() {
+        return spanIdHexAt(depth - 1);
+    }
+
+    // Id do span pai do span corrente; no span raiz, o span remoto de quem chamou (ou null)
+    public String getParentSpanIdHex() {
+        if (depth > 1) {
+            return spanIdHexAt(depth - 2);
+        }
+        return remoteParentSpanId != 0 ? IdGenerator.toHex(remoteParentSpanId, REMOTE_SPAN_ID_HEX_LENGTH) : null;
+    }
+
+    public String getOperationName() {
+        return operations[depth - 1];
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    // System.nanoTime() na criacao do trace, para a duracao da requisicao em nanossegundos
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    // Duracao em texto para o padrao de log, ou null enquanto a requisicao nao terminou
+    String getDurationText() {
+        if (duration < 0) {
+            return null;
+        }
+        if (durationText == null) {
+            durationText = Long.toString(duration);
+        }
+        return durationText;
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    private String spanIdHexAt(int index) {
+        String hex = spanIdHex[index];
+        if (hex == null) {
+            hex = IdGenerator.toHex(spanIds[index], SPAN_ID_HEX_LENGTH);
+            spanIdHex[index] = hex;
+        }
+        return hex;
+    }
+}
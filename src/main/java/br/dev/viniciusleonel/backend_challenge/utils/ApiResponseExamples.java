@@ -6,22 +6,43 @@ public final class ApiResponseExamples {
             {
                 "endpointMetrics": {
                     "/api/validate:GET": {
-                        "minResponseTime": 2,
+                        "minResponseTime": 1,
                         "maxResponseTime": 2,
-                        "avgResponseTime": 2.0,
+                        "avgResponseTime": 1.734,
+                        "p50ResponseTime": 1.441,
+                        "p90ResponseTime": 2.032,
+                        "p99ResponseTime": 2.032,
+                        "p999ResponseTime": 2.032,
+                        "maxResponseTimeNanos": 2031605,
                         "requests": 2,
-                        "errors": 0
+                        "errors": 0,
+                        "windows": {
+                            "1m": {"requests": 2, "requestsPerSecond": 0.036, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032},
+                            "5m": {"requests": 2, "requestsPerSecond": 0.007, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032},
+                            "15m": {"requests": 2, "requestsPerSecond": 0.002, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032}
+                        }
                     }
                 },
+                "windows": {
+                    "1m": {"requests": 2, "requestsPerSecond": 0.036, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032, "validJwtsPerSecond": 0.018, "invalidJwtsPerSecond": 0.0, "jwtValidationRate": 100.0},
+                    "5m": {"requests": 2, "requestsPerSecond": 0.007, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032, "validJwtsPerSecond": 0.003, "invalidJwtsPerSecond": 0.0, "jwtValidationRate": 100.0},
+                    "15m": {"requests": 2, "requestsPerSecond": 0.002, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032, "validJwtsPerSecond": 0.001, "invalidJwtsPerSecond": 0.0, "jwtValidationRate": 100.0}
+                },
                 "successRate": 50.0,
                 "totalJwtValidations": 1,
                 "validJwts": 1,
                 "claimValidationErrors": {},
+                "tokenRejections": {"TOKEN_HEADER_PREFIX": 2, "TOKEN_SEGMENT_COUNT": 1},
                 "performanceMetrics": {
                     "totalResponses": 3,
-                    "minResponseTime": 2,
+                    "minResponseTime": 1,
                     "maxResponseTime": 2,
-                    "avgResponseTime": 2.0
+                    "avgResponseTime": 1.605,
+                    "p50ResponseTime": 1.441,
+                    "p90ResponseTime": 2.032,
+                    "p99ResponseTime": 2.032,
+                    "p999ResponseTime": 2.032,
+                    "maxResponseTimeNanos": 2031605
                 },
                 "invalidJwts": 0,
                 "currentSpanId": "0c93a92c",
@@ -31,10 +52,111 @@ public final class ApiResponseExamples {
                 "currentOperation": "root",
                 "currentTraceId": "c83c43a942da48ec",
                 "failedRequests": 0,
+                "validationCache": {
+                    "enabled": true,
+                    "size": 1,
+                    "hits": 4,
+                    "misses": 1,
+                    "hitRate": 80.0,
+                    "evictions": 0,
+                    "loads": 1,
+                    "totalLoadTimeNanos": 412300,
+                    "averageLoadPenaltyNanos": 412300.0
+                },
+                "validatorPipeline": {
+                    "order": ["Role", "Name", "Seed"],
+                    "reorders": 1,
+                    "reorderIntervalMillis": 5000,
+                    "validators": {
+                        "Name": {"calls": 5, "rejections": 1, "rejectionRate": 0.2, "averageNanos": 310.0, "costToRejectNanos": 1550.0},
+                        "Role": {"calls": 6, "rejections": 2, "rejectionRate": 0.3333333333333333, "averageNanos": 95.0, "costToRejectNanos": 285.0},
+                        "Seed": {"calls": 4, "rejections": 0, "rejectionRate": 0.0, "averageNanos": 140.0, "costToRejectNanos": null}
+                    }
+                },
+                "coalescing": {
+                    "enabled": true,
+                    "validations": 5,
+                    "coalesced": 0,
+                    "coalescedRate": 0.0,
+                    "inFlight": 0
+                },
+                "asyncLogging": {
+                    "enabled": false,
+                    "appenders": {}
+                },
+                "errorLogDeduplication": {
+                    "windowMillis": 10000,
+                    "logged": 2,
+                    "suppressed": {
+                        "CLAIM_INVALID_CHARACTERS": 0
+                    },
+                    "activeKeys": 2
+                },
+                "spanStore": {
+                    "capacity": 4096,
+                    "recorded": 6,
+                    "overwritten": 0,
+                    "endpoints": 1,
+                    "finishedTraces": 3,
+                    "droppedTraces": 0,
+                    "keptTraces": {
+                        "error": 1,
+                        "slow": 2,
+                        "sampled": 0
+                    },
+                    "retainedTraces": 3,
+                    "maxRetainedTraces": 512,
+                    "slowestPerEndpoint": 5,
+                    "sampleRate": 0.01
+                },
+                "signature": {
+                    "enabled": false,
+                    "keySetVersion": 0,
+                    "keys": [],
+                    "verified": 0,
+                    "rejected": 0,
+                    "reloads": 0,
+                    "reloadFailures": 0
+                },
                 "timestamp": "2025-08-14T22:37:47.732610800Z"
             }
         """;
 
+    public static final String PROMETHEUS_EXAMPLE = """
+        # HELP backend_challenge_requests_total Requisicoes registradas
+        # TYPE backend_challenge_requests_total counter
+        backend_challenge_requests_total 10
+        # HELP backend_challenge_requests_successful_total Requisicoes com status 2xx/3xx
+        # TYPE backend_challenge_requests_successful_total counter
+        backend_challenge_requests_successful_total 4
+        # HELP backend_challenge_requests_failed_total Requisicoes com erro
+        # TYPE backend_challenge_requests_failed_total counter
+        backend_challenge_requests_failed_total 1
+        # HELP backend_challenge_jwt_validations_total Validacoes de JWT por resultado
+        # TYPE backend_challenge_jwt_validations_total counter
+        backend_challenge_jwt_validations_total{result="valid"} 4
+        backend_challenge_jwt_validations_total{result="invalid"} 1
+        # HELP backend_challenge_endpoint_requests_total Requisicoes por endpoint e metodo
+        # TYPE backend_challenge_endpoint_requests_total counter
+        backend_challenge_endpoint_requests_total{endpoint="/api/validate",method="GET"} 10
+        # HELP backend_challenge_endpoint_errors_total Requisicoes com erro por endpoint e metodo
+        # TYPE backend_challenge_endpoint_errors_total counter
+        backend_challenge_endpoint_errors_total{endpoint="/api/validate",method="GET"} 1
+        # HELP backend_challenge_request_duration_seconds Tempo de resposta por endpoint e metodo
+        # TYPE backend_challenge_request_duration_seconds summary
+        backend_challenge_request_duration_seconds{endpoint="/api/validate",method="GET",quantile="0.5"} 0.001671167
+        backend_challenge_request_duration_seconds{endpoint="/api/validate",method="GET",quantile="0.9"} 0.002032
+        backend_challenge_request_duration_seconds{endpoint="/api/validate",method="GET",quantile="0.99"} 0.002032
+        backend_challenge_request_duration_seconds{endpoint="/api/validate",method="GET",quantile="0.999"} 0.002032
+        backend_challenge_request_duration_seconds_sum{endpoint="/api/validate",method="GET"} 0.008396
+        backend_challenge_request_duration_seconds_count{endpoint="/api/validate",method="GET"} 5
+        # HELP backend_challenge_claim_validation_errors_total Erros de validacao por claim e erro
+        # TYPE backend_challenge_claim_validation_errors_total counter
+        backend_challenge_claim_validation_errors_total{claim="Name",error="contains_numbers"} 1
+        # HELP backend_challenge_token_rejections_total Tokens rejeitados antes das claims, por motivo
+        # TYPE backend_challenge_token_rejections_total counter
+        """;
+
     public static final String HEALTH_EXAMPLE = """
         {
           "traceId": "36e791a1e0674893",
@@ -42,6 +164,11 @@ public final class ApiResponseExamples {
           "successRate": 47.05882352941176,
           "avgResponseTime": 42.125,
           "totalRequests": 17,
+          "windows": {
+            "1m": {"requests": 2, "requestsPerSecond": 0.036, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032, "validJwtsPerSecond": 0.018, "invalidJwtsPerSecond": 0.0, "jwtValidationRate": 100.0},
+            "5m": {"requests": 2, "requestsPerSecond": 0.007, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032, "validJwtsPerSecond": 0.003, "invalidJwtsPerSecond": 0.0, "jwtValidationRate": 100.0},
+            "15m": {"requests": 2, "requestsPerSecond": 0.002, "errors": 0, "errorRate": 0.0, "successRate": 100.0, "p50ResponseTime": 1.441, "p90ResponseTime": 2.032, "p99ResponseTime": 2.032, "p999ResponseTime": 2.032, "maxResponseTime": 2.032, "validJwtsPerSecond": 0.001, "invalidJwtsPerSecond": 0.0, "jwtValidationRate": 100.0}
+          },
           "status": "UP",
           "timestamp": 1755210470060
         }
@@ -74,15 +201,56 @@ public final class ApiResponseExamples {
           "traceId": "efe1016c129b45f6",
           "endpoints": {
             "/api/validate": {
-              "avgDuration": 45.2,
+              "avgDuration": 3.482,
+              "p50Duration": 1.245,
+              "p95Duration": 9.437,
+              "p99Duration": 16.253,
+              "maxDuration": 17.012,
               "lastTrace": 1755211231643,
-              "errorRate": 2.1,
-              "totalTraces": 150
+              "errorRate": 33.333,
+              "totalTraces": 3
             }
           },
           "timestamp": 1755211231643
         }
         """;
 
+    public static final String TRACE_SEARCH_EXAMPLE = """
+        {
+          "traceId": "5c0a3e9d7b1f2a64",
+          "count": 1,
+          "traces": [
+            {
+              "traceId": "9f86d081884c7d65",
+              "requestId": "0f8fad5b-d9cb-469f-a165-70867728950e",
+              "endpoint": "/api/validate",
+              "method": "GET",
+              "startTime": 1755211231643,
+              "duration": 2.314,
+              "errorTypes": ["HTTP_422", "CLAIM_INVALID_CHARACTERS"],
+              "keptBy": "error",
+              "droppedSpans": 0,
+              "spans": [
+                {
+                  "spanId": "3a1f9c2e",
+                  "operation": "root",
+                  "startTime": 1755211231643,
+                  "duration": 2.314
+                },
+                {
+                  "spanId": "b71d04a8",
+                  "parentSpanId": "3a1f9c2e",
+                  "operation": "validateJwt",
+                  "startTime": 1755211231644,
+                  "duration": 1.107,
+                  "error": "CLAIM_INVALID_CHARACTERS"
+                }
+              ]
+            }
+          ],
+          "timestamp": 1755211235012
+        }
+        """;
+
     private ApiResponseExamples() {} // Construtor privado para classe utilitária
 }
\ No newline at end of file
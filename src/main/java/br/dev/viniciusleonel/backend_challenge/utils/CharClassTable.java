@@ -0,0 +1,92 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import java.util.Locale;
+
+/**
+ * Tabela pre-calculada de pertinencia de caracteres (um bit por char do BMP, 8 KB), usada pelas regras de claims
+ * no lugar de expressoes regulares: a verificacao de cada caractere e um shift e um AND sobre um long[].
+ *
+ * A especificacao e uma lista separada por virgulas de classes nomeadas (digit, upper, lower, letter,
+ * whitespace) e/ou de caracteres literais no formato {@code chars:<caracteres>}.
+ */
+public final class CharClassTable {
+
+    private final long[] bits = new long[1 << 10];
+    private final String spec;
+
+    private CharClassTable(String spec) {
+        this.spec = spec;
+    }
+
+    public static CharClassTable parse(String spec) {
+        CharClassTable table = new CharClassTable(spec);
+        for (String part : spec.split(",")) {
+            String name = part.trim();
+            if (name.startsWith("chars:")) {
+                // Literais nao sao aparados, para permitir espaco como caractere
+                String literal = part.substring(part.indexOf("chars:") + "chars:".length());
+                for (int i = 0; i < literal.length(); i++) {
+                    table.set(literal.charAt(i));
+                }
+                continue;
+            }
+            switch (name.toLowerCase(Locale.ROOT)) {
+                // Mesmo conjunto que \d sem UNICODE_CHARACTER_CLASS: apenas ASCII
+                case "digit" -> table.setRange('0', '9');
+                case "upper" -> table.setRange('A', 'Z');
+                case "lower" -> table.setRange('a', 'z');
+                case "letter" -> table.setMatching(Character::isLetter);
+                case "whitespace" -> table.setMatching(Character::isWhitespace);
+                default -> throw new IllegalArgumentException("Classe de caracteres desconhecida: " + name);
+            }
+        }
+        return table;
+    }
+
+    private void set(char c) {
+        bits[c >>> 6] |= 1L << c;
+    }
+
+    private void setRange(char from, char to) {
+        for (char c = from; c <= to; c++) {
+            set(c);
+        }
+    }
+
+    private void setMatching(java.util.function.IntPredicate predicate) {
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            if (predicate.test(c)) {
+                set((char) c);
+            }
+        }
+    }
+
+    public boolean contains(char c) {
+        return (bits[c >>> 6] & (1L << c)) != 0;
+    }
+
+    // Indice do primeiro caractere de value que pertence a tabela, ou -1
+    public int indexOfAny(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (contains(value.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Indice do primeiro caractere de value que nao pertence a tabela, ou -1
+    public int indexOfNone(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!contains(value.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
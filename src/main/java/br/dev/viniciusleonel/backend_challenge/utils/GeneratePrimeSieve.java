@@ -0,0 +1,15 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Gera o arquivo de crivo que pode ser mapeado na inicializacao com jwt.seed.sieve-file=<arquivo>
+public class GeneratePrimeSieve {
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "prime-sieve.bin");
+        int limit = args.length > 1 ? Integer.parseInt(args[1]) : PrimeOracle.DEFAULT_SIEVE_LIMIT;
+
+        PrimeOracle.build(limit).writeTo(file);
+        System.out.println("Crivo gerado ate " + limit + " em " + file.toAbsolutePath());
+    }
+}
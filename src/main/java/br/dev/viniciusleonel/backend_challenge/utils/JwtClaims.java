@@ -0,0 +1,28 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+// Visao leve das claims de um JWT, consumida pelos ClaimValidators
+public interface JwtClaims {
+
+    // Retorna o valor textual da claim ou null se ausente ou nao for string (mesma semantica de Claim.asString())
+    String getClaim(String name);
+
+    // Quantidade de claims distintas presentes no payload
+    int getClaimCount();
+
+    // Adapta um JWT ja decodificado pela auth0 para a visao de claims
+    static JwtClaims of(DecodedJWT jwt) {
+        return new JwtClaims() {
+            @Override
+            public String getClaim(String name) {
+                return jwt.getClaim(name).asString();
+            }
+
+            @Override
+            public int getClaimCount() {
+                return jwt.getClaims().size();
+            }
+        };
+    }
+}
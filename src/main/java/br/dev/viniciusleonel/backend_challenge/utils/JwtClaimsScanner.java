@@ -0,0 +1,582 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.DeduplicatingErrorLog;
+
+/**
+ * Extrator de claims em passagem unica, usado no lugar de {@code JWT.decode} no caminho de validacao.
+ *
+ * Decodifica o base64url direto para um buffer de bytes reutilizado pela thread, valida a estrutura JSON
+ * do header e do payload e extrai apenas os valores textuais das claims registradas e o total de claims,
+ * sem montar a arvore do Jackson. Chaves duplicadas seguem a regra do Jackson: o ultimo valor vence e a
+ * chave conta uma unica vez.
+ */
+public final class JwtClaimsScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtClaimsScanner.class);
+    private static final DeduplicatingErrorLog failures = DeduplicatingErrorLog.shared();
+
+    private static final int MAX_DEPTH = 64;
+    private static final int MAX_CLAIMS = 64;
+    private static final int INITIAL_BUFFER = 1024;
+    // Buffers maiores que isso (tokens gigantes) nao ficam retidos na thread
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final byte[] BASE64URL = new byte[128];
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            BASE64URL['A' + i] = (byte) i;
+            BASE64URL['a' + i] = (byte) (26 + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            BASE64URL['0' + i] = (byte) (52 + i);
+        }
+        BASE64URL['-'] = 62;
+        BASE64URL['_'] = 63;
+    }
+
+    private static final ReusableObjectPool<Cursor> CURSORS = new ReusableObjectPool<>(Cursor::new);
+
+    private final String[] claimNames;
+    private final byte[][] claimNameBytes;
+
+    public JwtClaimsScanner(List<String> claimNames) {
+        if (claimNames.size() > MAX_CLAIMS) {
+            throw new IllegalArgumentException("Maximo de " + MAX_CLAIMS + " claims por scanner");
+        }
+        this.claimNames = claimNames.toArray(new String[0]);
+        this.claimNameBytes = new byte[this.claimNames.length][];
+        for (int i = 0; i < this.claimNames.length; i++) {
+            this.claimNameBytes[i] = this.claimNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public JwtClaims scan(String token) {
+        log.info("Iniciando decodificacao do JWT");
+
+        JwtClaims claims = tryScan(token);
+        if (claims == null) {
+            failures.error(log, "TOKEN_MALFORMED", null, "Falha ao decodificar JWT: estrutura, base64url ou JSON invalido");
+            throw new JWTDecodeException("Falha ao decodificar, JWT nulo ou vazio");
+        }
+
+        log.debug("JWT decodificado com sucesso");
+        return claims;
+    }
+
+    // Variante sem excecao: retorna null quando o token nao pode ser decodificado
+    public JwtClaims tryScan(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        int firstDot = token.indexOf('.');
+        if (firstDot < 0) {
+            return null;
+        }
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+
+        Cursor cursor = CURSORS.acquire();
+        try {
+            if (!cursor.decode(token, 0, firstDot) || !cursor.skipRootObject()) {
+                return null;
+            }
+            if (!cursor.decode(token, firstDot + 1, secondDot)) {
+                return null;
+            }
+
+            String[] values = new String[claimNames.length];
+            int claimCount = cursor.scanRootObject(claimNames, claimNameBytes, values);
+            return claimCount < 0 ? null : new ScannedClaims(claimNames, values, claimCount);
+        } finally {
+            cursor.release();
+            CURSORS.release(cursor);
+        }
+    }
+
+    private static final class ScannedClaims implements JwtClaims {
+        private final String[] names;
+        private final String[] values;
+        private final int claimCount;
+
+        private ScannedClaims(String[] names, String[] values, int claimCount) {
+            this.names = names;
+            this.values = values;
+            this.claimCount = claimCount;
+        }
+
+        @Override
+        public String getClaim(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int getClaimCount() {
+            return claimCount;
+        }
+    }
+
+    // Estado reutilizavel (por thread de plataforma ou emprestado do pool): buffer decodificado, posicao do parser e chaves desconhecidas ja vistas
+    private static final class Cursor {
+        private byte[] buf = new byte[INITIAL_BUFFER];
+        private int pos;
+        private int end;
+        private int stringStart;
+        private int stringEnd;
+
+        private int[] keyStart = new int[8];
+        private int[] keyEnd = new int[8];
+        private long[] keyHash = new long[8];
+        private int keyCount;
+
+        boolean decode(String token, int from, int to) {
+            int length = to - from;
+            int padding = 0;
+            while (length > 0 && padding < 2 && token.charAt(from + length - 1) == '=') {
+                length--;
+                padding++;
+            }
+
+            int remainder = length & 3;
+            if (remainder == 1 || (padding > 0 && ((length + padding) & 3) != 0)) {
+                return false;
+            }
+
+            int outLength = (length >> 2) * 3 + (remainder == 0 ? 0 : remainder - 1);
+            if (buf.length < outLength) {
+                buf = new byte[Math.max(outLength, buf.length * 2)];
+            }
+
+            byte[] out = buf;
+            int o = 0;
+            int i = from;
+            int fullEnd = from + length - remainder;
+            while (i < fullEnd) {
+                int b0 = value(token.charAt(i));
+                int b1 = value(token.charAt(i + 1));
+                int b2 = value(token.charAt(i + 2));
+                int b3 = value(token.charAt(i + 3));
+                if ((b0 | b1 | b2 | b3) < 0) {
+                    return false;
+                }
+                int bits = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+                out[o++] = (byte) (bits >> 16);
+                out[o++] = (byte) (bits >> 8);
+                out[o++] = (byte) bits;
+                i += 4;
+            }
+
+            if (remainder == 2) {
+                int b0 = value(token.charAt(i));
+                int b1 = value(token.charAt(i + 1));
+                if ((b0 | b1) < 0) {
+                    return false;
+                }
+                out[o] = (byte) ((b0 << 18 | b1 << 12) >> 16);
+            } else if (remainder == 3) {
+                int b0 = value(token.charAt(i));
+                int b1 = value(token.charAt(i + 1));
+                int b2 = value(token.charAt(i + 2));
+                if ((b0 | b1 | b2) < 0) {
+                    return false;
+                }
+                int bits = b0 << 18 | b1 << 12 | b2 << 6;
+                out[o++] = (byte) (bits >> 16);
+                out[o] = (byte) (bits >> 8);
+            }
+
+            pos = 0;
+            end = outLength;
+            return true;
+        }
+
+        void release() {
+            if (buf.length > MAX_RETAINED_BUFFER) {
+                buf = new byte[INITIAL_BUFFER];
+            }
+            keyCount = 0;
+        }
+
+        private static int value(char c) {
+            return c < 128 ? BASE64URL[c] : -1;
+        }
+
+        boolean skipRootObject() {
+            skipWhitespace();
+            if (pos >= end || buf[pos] != '{' || !skipValue(0)) {
+                return false;
+            }
+            skipWhitespace();
+            return pos == end;
+        }
+
+        // Percorre o objeto raiz preenchendo os valores das claims registradas; retorna o total de chaves distintas ou -1
+        int scanRootObject(String[] names, byte[][] nameBytes, String[] values) {
+            keyCount = 0;
+            skipWhitespace();
+            if (pos >= end || buf[pos] != '{') {
+                return -1;
+            }
+            pos++;
+
+            int distinct = 0;
+            long seen = 0L;
+            skipWhitespace();
+            if (pos < end && buf[pos] == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipWhitespace();
+                    if (pos >= end || buf[pos] != '"') {
+                        return -1;
+                    }
+                    int keyFlags = skipString();
+                    if (keyFlags < 0) {
+                        return -1;
+                    }
+                    int start = stringStart;
+                    int stop = stringEnd;
+                    int slot = keyFlags == 0
+                            ? matchName(nameBytes, start, stop)
+                            : matchEscapedName(names, keyFlags);
+
+                    skipWhitespace();
+                    if (pos >= end || buf[pos++] != ':') {
+                        return -1;
+                    }
+                    skipWhitespace();
+                    if (pos >= end) {
+                        return -1;
+                    }
+
+                    if (slot >= 0) {
+                        if ((seen & (1L << slot)) == 0) {
+                            seen |= 1L << slot;
+                            distinct++;
+                        }
+                        if (buf[pos] == '"') {
+                            int valueFlags = skipString();
+                            if (valueFlags < 0) {
+                                return -1;
+                            }
+                            values[slot] = decodeString(valueFlags);
+                        } else {
+                            if (!skipValue(1)) {
+                                return -1;
+                            }
+                            values[slot] = null;
+                        }
+                    } else {
+                        if (registerUnknownKey(start, stop)) {
+                            distinct++;
+                        }
+                        if (!skipValue(1)) {
+                            return -1;
+                        }
+                    }
+
+                    skipWhitespace();
+                    if (pos >= end) {
+                        return -1;
+                    }
+                    byte c = buf[pos++];
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        return -1;
+                    }
+                }
+            }
+
+            skipWhitespace();
+            return pos == end ? distinct : -1;
+        }
+
+        private int matchName(byte[][] nameBytes, int start, int stop) {
+            int length = stop - start;
+            for (int i = 0; i < nameBytes.length; i++) {
+                byte[] name = nameBytes[i];
+                if (name.length == length && Arrays.equals(buf, start, stop, name, 0, length)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Caminho raro: chave com escapes precisa ser decodificada antes da comparacao
+        private int matchEscapedName(String[] names, int keyFlags) {
+            String key = decodeString(keyFlags);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean registerUnknownKey(int start, int stop) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = start; i < stop; i++) {
+                hash = (hash ^ (buf[i] & 0xFF)) * 0x100000001b3L;
+            }
+
+            for (int k = 0; k < keyCount; k++) {
+                if (keyHash[k] == hash && Arrays.equals(buf, keyStart[k], keyEnd[k], buf, start, stop)) {
+                    return false;
+                }
+            }
+
+            if (keyCount == keyHash.length) {
+                keyStart = Arrays.copyOf(keyStart, keyCount * 2);
+                keyEnd = Arrays.copyOf(keyEnd, keyCount * 2);
+                keyHash = Arrays.copyOf(keyHash, keyCount * 2);
+            }
+            keyStart[keyCount] = start;
+            keyEnd[keyCount] = stop;
+            keyHash[keyCount] = hash;
+            keyCount++;
+            return true;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end) {
+                byte c = buf[pos];
+                if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                    pos++;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private boolean skipValue(int depth) {
+            if (depth > MAX_DEPTH) {
+                return false;
+            }
+            skipWhitespace();
+            if (pos >= end) {
+                return false;
+            }
+            switch (buf[pos]) {
+                case '{':
+                    return skipContainer(depth + 1, (byte) '}', true);
+                case '[':
+                    return skipContainer(depth + 1, (byte) ']', false);
+                case '"':
+                    return skipString() >= 0;
+                case 't':
+                    return skipLiteral(TRUE);
+                case 'f':
+                    return skipLiteral(FALSE);
+                case 'n':
+                    return skipLiteral(NULL);
+                default:
+                    return skipNumber();
+            }
+        }
+
+        private boolean skipContainer(int depth, byte close, boolean object) {
+            pos++;
+            skipWhitespace();
+            if (pos < end && buf[pos] == close) {
+                pos++;
+                return true;
+            }
+            while (true) {
+                if (object) {
+                    skipWhitespace();
+                    if (pos >= end || buf[pos] != '"' || skipString() < 0) {
+                        return false;
+                    }
+                    skipWhitespace();
+                    if (pos >= end || buf[pos++] != ':') {
+                        return false;
+                    }
+                }
+                if (!skipValue(depth)) {
+                    return false;
+                }
+                skipWhitespace();
+                if (pos >= end) {
+                    return false;
+                }
+                byte c = buf[pos++];
+                if (c == close) {
+                    return true;
+                }
+                if (c != ',') {
+                    return false;
+                }
+            }
+        }
+
+        // Consome uma string JSON; retorna -1 se invalida, 0 sem escapes e 1 com escapes
+        private int skipString() {
+            int p = pos + 1;
+            boolean escaped = false;
+            while (p < end) {
+                int c = buf[p] & 0xFF;
+                if (c == '"') {
+                    stringStart = pos + 1;
+                    stringEnd = p;
+                    pos = p + 1;
+                    return escaped ? 1 : 0;
+                }
+                if (c == '\\') {
+                    escaped = true;
+                    if (p + 1 >= end) {
+                        return -1;
+                    }
+                    byte e = buf[p + 1];
+                    if (e == 'u') {
+                        if (p + 5 >= end) {
+                            return -1;
+                        }
+                        for (int h = p + 2; h <= p + 5; h++) {
+                            if (hex(buf[h]) < 0) {
+                                return -1;
+                            }
+                        }
+                        p += 6;
+                    } else if (e == '"' || e == '\\' || e == '/' || e == 'b' || e == 'f'
+                            || e == 'n' || e == 'r' || e == 't') {
+                        p += 2;
+                    } else {
+                        return -1;
+                    }
+                } else if (c < 0x20) {
+                    return -1;
+                } else {
+                    p++;
+                }
+            }
+            return -1;
+        }
+
+        private String decodeString(int flags) {
+            if (flags == 0) {
+                return new String(buf, stringStart, stringEnd - stringStart, StandardCharsets.UTF_8);
+            }
+
+            StringBuilder sb = new StringBuilder(stringEnd - stringStart);
+            int p = stringStart;
+            int run = p;
+            while (p < stringEnd) {
+                if (buf[p] != '\\') {
+                    p++;
+                    continue;
+                }
+                if (p > run) {
+                    sb.append(new String(buf, run, p - run, StandardCharsets.UTF_8));
+                }
+                byte e = buf[p + 1];
+                switch (e) {
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> sb.append((char) (hex(buf[p + 2]) << 12 | hex(buf[p + 3]) << 8
+                            | hex(buf[p + 4]) << 4 | hex(buf[p + 5])));
+                    default -> sb.append((char) e);
+                }
+                p += e == 'u' ? 6 : 2;
+                run = p;
+            }
+            if (stringEnd > run) {
+                sb.append(new String(buf, run, stringEnd - run, StandardCharsets.UTF_8));
+            }
+            return sb.toString();
+        }
+
+        private boolean skipLiteral(byte[] literal) {
+            if (end - pos < literal.length || !Arrays.equals(buf, pos, pos + literal.length, literal, 0, literal.length)) {
+                return false;
+            }
+            pos += literal.length;
+            return true;
+        }
+
+        private boolean skipNumber() {
+            int p = pos;
+            if (p < end && buf[p] == '-') {
+                p++;
+            }
+            if (p >= end) {
+                return false;
+            }
+            if (buf[p] == '0') {
+                p++;
+            } else if (isDigit(buf[p])) {
+                while (p < end && isDigit(buf[p])) {
+                    p++;
+                }
+            } else {
+                return false;
+            }
+            if (p < end && buf[p] == '.') {
+                int digits = ++p;
+                while (p < end && isDigit(buf[p])) {
+                    p++;
+                }
+                if (p == digits) {
+                    return false;
+                }
+            }
+            if (p < end && (buf[p] == 'e' || buf[p] == 'E')) {
+                p++;
+                if (p < end && (buf[p] == '+' || buf[p] == '-')) {
+                    p++;
+                }
+                int digits = p;
+                while (p < end && isDigit(buf[p])) {
+                    p++;
+                }
+                if (p == digits) {
+                    return false;
+                }
+            }
+            pos = p;
+            return true;
+        }
+
+        private static boolean isDigit(byte c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static int hex(byte c) {
+            if (c >= '0' && c <= '9') {
+                return c - '0';
+            }
+            if (c >= 'a' && c <= 'f') {
+                return c - 'a' + 10;
+            }
+            if (c >= 'A' && c <= 'F') {
+                return c - 'A' + 10;
+            }
+            return -1;
+        }
+    }
+}
@@ -6,9 +6,12 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.DeduplicatingErrorLog;
+
 public class JwtDecoder {
 
     private static final Logger log = LoggerFactory.getLogger(JwtDecoder.class);
+    private static final DeduplicatingErrorLog failures = DeduplicatingErrorLog.shared();
 
     public static DecodedJWT decode(String token) {
         log.info("Iniciando decodificacao do JWT");
@@ -18,7 +21,7 @@ public class JwtDecoder {
             log.debug("JWT decodificado com sucesso");
             return decodedJwt;
         } catch (JWTDecodeException e) {
-            log.error("Falha ao decodificar JWT: {}", e.getMessage());
+            failures.error(log, "TOKEN_MALFORMED", null, "Falha ao decodificar JWT: {}", e.getMessage());
             throw new JWTDecodeException("Falha ao decodificar, JWT nulo ou vazio");
         }
     }
@@ -6,14 +6,51 @@ public class NumberUtils {
         // Construtor privado para evitar instanciação
     }
 
+    // Delega ao PrimeOracle: crivo O(1) para valores pequenos e Miller-Rabin deterministico acima dele
     public static boolean isPrime(int number) {
-        if (number <= 1) return false;
-        if (number == 2) return true;
-        if (number % 2 == 0) return false;
-        for (int i = 3; i <= Math.sqrt(number); i += 2) {
-            if (number % i == 0) return false;
+        return PrimeOracle.shared().isPrime(number);
+    }
+
+    public static boolean isPrime(long number) {
+        return PrimeOracle.shared().isPrime(number);
+    }
+
+    // Mesmas regras de Long.parseLong/Integer.parseInt (sinal opcional, digitos de Character.digit e
+    // limites [min, max]), mas sem lancar NumberFormatException
+    public static boolean isParsableInteger(String value, long min, long max) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+
+        int i = 0;
+        int length = value.length();
+        long limit = -max;
+        char first = value.charAt(0);
+        if (first < '0') {
+            if (first == '-') {
+                limit = min;
+            } else if (first != '+') {
+                return false;
+            }
+            if (length == 1) {
+                return false;
+            }
+            i++;
+        }
+
+        long multiplyMin = limit / 10;
+        long result = 0;
+        while (i < length) {
+            int digit = Character.digit(value.charAt(i++), 10);
+            if (digit < 0 || result < multiplyMin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
         }
         return true;
     }
 }
-
@@ -0,0 +1,80 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Conjunto imutavel de strings com hash perfeito, montado uma unica vez (ex.: valores permitidos de uma claim).
+ *
+ * Na construcao procura um multiplicador que leva cada valor para um slot distinto de uma tabela potencia de 2,
+ * entao a consulta faz um hash multiplicativo sobre String.hashCode(), le um unico slot e compara com equals,
+ * sem colisoes, sem iteracao e sem alocacao.
+ */
+public final class PerfectHashSet {
+
+    private static final int MAX_BITS = 16;
+    private static final int ATTEMPTS_PER_SIZE = 10_000;
+
+    private final String[] table;
+    private final int multiplier;
+    private final int shift;
+    private final int size;
+
+    private PerfectHashSet(String[] table, int multiplier, int shift, int size) {
+        this.table = table;
+        this.multiplier = multiplier;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    public static PerfectHashSet of(Collection<String> values) {
+        Set<String> distinct = new LinkedHashSet<>(values);
+        if (distinct.contains(null)) {
+            throw new IllegalArgumentException("Valores nulos nao sao permitidos");
+        }
+
+        // Tabela com pelo menos o dobro dos valores: poucas tentativas ate achar um multiplicador sem colisoes
+        int bits = 1;
+        while ((1 << bits) < distinct.size() * 2) {
+            bits++;
+        }
+
+        SplittableRandom random = new SplittableRandom(0x5eed);
+        for (; bits <= MAX_BITS; bits++) {
+            int shift = 32 - bits;
+            for (int attempt = 0; attempt < ATTEMPTS_PER_SIZE; attempt++) {
+                int multiplier = random.nextInt() | 1;
+                String[] table = new String[1 << bits];
+                if (fill(table, distinct, multiplier, shift)) {
+                    return new PerfectHashSet(table, multiplier, shift, distinct.size());
+                }
+            }
+        }
+        throw new IllegalArgumentException("Nao foi possivel montar hash perfeito para " + distinct.size() + " valores");
+    }
+
+    private static boolean fill(String[] table, Set<String> values, int multiplier, int shift) {
+        for (String value : values) {
+            int slot = (value.hashCode() * multiplier) >>> shift;
+            if (table[slot] != null) {
+                return false;
+            }
+            table[slot] = value;
+        }
+        return true;
+    }
+
+    public boolean contains(String value) {
+        if (value == null) {
+            return false;
+        }
+        String candidate = table[(value.hashCode() * multiplier) >>> shift];
+        return candidate != null && candidate.equals(value);
+    }
+
+    public int size() {
+        return size;
+    }
+}
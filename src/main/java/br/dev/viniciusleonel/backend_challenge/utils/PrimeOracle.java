@@ -0,0 +1,244 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.BufferedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.dev.viniciusleonel.backend_challenge.infra.config.ApplicationSettings;
+
+/**
+ * Oraculo de primalidade usado pelo SeedValidator.
+ *
+ * Valores abaixo do limite do crivo sao respondidos em O(1) por um bitset que guarda apenas os impares
+ * (1 bit por impar, 1 MB para o limite padrao de 2^24). Valores maiores passam por divisao pelos primos
+ * pequenos e Miller-Rabin deterministico: bases {2, 7, 61} abaixo de 2^32 e os 12 primeiros primos
+ * (com multiplicacao de Montgomery) para o restante dos longs positivos.
+ *
+ * O crivo e construido na inicializacao ou mapeado em memoria de um arquivo gerado por {@link #writeTo(Path)},
+ * indicado pela propriedade {@value #SIEVE_FILE_PROPERTY} do application.properties.
+ */
+public final class PrimeOracle {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimeOracle.class);
+
+    public static final int DEFAULT_SIEVE_LIMIT = 1 << 24;
+    public static final String SIEVE_FILE_PROPERTY = "jwt.seed.sieve-file";
+
+    private static final int FILE_MAGIC = 0x50524D31; // "PRM1"
+    private static final int FILE_HEADER_BYTES = 16;
+
+    private static final long[] SMALL_PRIMES = {3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+    private static final long[] BASES_32 = {2, 7, 61};
+    private static final long[] BASES_64 = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    // Numeros menores que limit sao respondidos pelo crivo; o bit i representa o impar 2i + 1
+    private final long limit;
+    private final LongBuffer composites;
+
+    private PrimeOracle(long limit, LongBuffer composites) {
+        this.limit = limit;
+        this.composites = composites;
+    }
+
+    public static PrimeOracle shared() {
+        return Holder.INSTANCE;
+    }
+
+    public static PrimeOracle build(int limit) {
+        int size = Math.max(limit, 2);
+        long[] bits = new long[((size >>> 1) + 64) >>> 6];
+        for (long p = 3; p * p < size; p += 2) {
+            if ((bits[(int) (p >>> 7)] & (1L << (p >>> 1))) == 0) {
+                for (long multiple = p * p; multiple < size; multiple += p << 1) {
+                    bits[(int) (multiple >>> 7)] |= 1L << (multiple >>> 1);
+                }
+            }
+        }
+        return new PrimeOracle(size, LongBuffer.wrap(bits));
+    }
+
+    public static PrimeOracle map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < FILE_HEADER_BYTES || mapped.getInt(0) != FILE_MAGIC) {
+                throw new IOException("Arquivo de crivo invalido: " + file);
+            }
+            long limit = mapped.getLong(8);
+            LongBuffer bits = mapped.position(FILE_HEADER_BYTES).slice().asLongBuffer();
+            if ((long) bits.capacity() << 7 < limit) {
+                throw new IOException("Arquivo de crivo truncado: " + file);
+            }
+            return new PrimeOracle(limit, bits);
+        }
+    }
+
+    public void writeTo(Path file) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(0);
+            out.writeLong(limit);
+            for (int i = 0; i < composites.capacity(); i++) {
+                out.writeLong(composites.get(i));
+            }
+        }
+    }
+
+    public long getSieveLimit() {
+        return limit;
+    }
+
+    public boolean isPrime(long n) {
+        if (n < 2) {
+            return false;
+        }
+        if (n < limit) {
+            return n == 2 || ((n & 1) != 0 && (composites.get((int) (n >>> 7)) & (1L << (n >>> 1))) == 0);
+        }
+        if ((n & 1) == 0) {
+            return false;
+        }
+        for (long p : SMALL_PRIMES) {
+            if (n % p == 0) {
+                return n == p;
+            }
+        }
+        return n < (1L << 32) ? millerRabin32(n) : millerRabin64(n);
+    }
+
+    // n < 2^32: os produtos cabem em 64 bits sem sinal
+    private static boolean millerRabin32(long n) {
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+
+        for (long base : BASES_32) {
+            long a = base % n;
+            if (a == 0) {
+                continue;
+            }
+            long x = powMod32(a, d, n);
+            if (x == 1 || x == n - 1) {
+                continue;
+            }
+            boolean composite = true;
+            for (int r = 1; r < s && composite; r++) {
+                x = Long.remainderUnsigned(x * x, n);
+                composite = x != n - 1;
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long powMod32(long base, long exponent, long n) {
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = Long.remainderUnsigned(result * base, n);
+            }
+            base = Long.remainderUnsigned(base * base, n);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    // 2^32 <= n < 2^63: aritmetica de Montgomery com R = 2^64
+    private static boolean millerRabin64(long n) {
+        long inverse = n;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - n * inverse;
+        }
+        long negInverse = -inverse;
+
+        long one = Long.remainderUnsigned(-n, n);
+        long rSquared = one;
+        for (int i = 0; i < 64; i++) {
+            rSquared <<= 1;
+            if (Long.compareUnsigned(rSquared, n) >= 0) {
+                rSquared -= n;
+            }
+        }
+        long minusOne = n - one;
+
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+
+        for (long base : BASES_64) {
+            long x = montgomeryPow(montgomeryMultiply(base, rSquared, n, negInverse), d, one, n, negInverse);
+            if (x == one || x == minusOne) {
+                continue;
+            }
+            boolean composite = true;
+            for (int r = 1; r < s && composite; r++) {
+                x = montgomeryMultiply(x, x, n, negInverse);
+                composite = x != minusOne;
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long montgomeryPow(long base, long exponent, long one, long n, long negInverse) {
+        long result = one;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = montgomeryMultiply(result, base, n, negInverse);
+            }
+            base = montgomeryMultiply(base, base, n, negInverse);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    // Retorna a * b * 2^-64 mod n para a, b < n < 2^63
+    private static long montgomeryMultiply(long a, long b, long n, long negInverse) {
+        long low = a * b;
+        long high = unsignedMultiplyHigh(a, b);
+        long m = low * negInverse;
+        long result = high + unsignedMultiplyHigh(m, n) + (low != 0 ? 1 : 0);
+        return Long.compareUnsigned(result, n) >= 0 ? result - n : result;
+    }
+
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    private static PrimeOracle createShared() {
+        String file = ApplicationSettings.getString(SIEVE_FILE_PROPERTY, "");
+        if (!file.isBlank()) {
+            try {
+                PrimeOracle oracle = map(Path.of(file));
+                log.info("Crivo de primos mapeado de {} (limite {})", file, oracle.limit);
+                return oracle;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Falha ao mapear crivo de primos de {}, gerando em memoria: {}", file, e.getMessage());
+            }
+        }
+
+        long start = System.nanoTime();
+        PrimeOracle oracle = build(DEFAULT_SIEVE_LIMIT);
+        log.info("Crivo de primos gerado ate {} em {}ms", oracle.limit, (System.nanoTime() - start) / 1_000_000);
+        return oracle;
+    }
+
+    private static final class Holder {
+        private static final PrimeOracle INSTANCE = createShared();
+    }
+}
@@ -0,0 +1,55 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reaproveita objetos caros de criar (buffers, Mac) entre chamadas, funcionando com threads de plataforma e virtuais.
+ *
+ * Threads de plataforma sao poucas e longas, entao cada uma guarda sua instancia num ThreadLocal. Threads virtuais
+ * sao criadas por requisicao: um ThreadLocal recriaria o objeto a cada chamada, por isso elas emprestam de uma fila
+ * compartilhada limitada e devolvem em {@link #release(Object)}. Quando a fila esta cheia o objeto e descartado.
+ */
+public final class ReusableObjectPool<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> perThread;
+    private final ConcurrentLinkedQueue<T> shared = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sharedSize = new AtomicInteger();
+    private final int capacity;
+
+    public ReusableObjectPool(Supplier<T> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ReusableObjectPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.perThread = ThreadLocal.withInitial(factory);
+        this.capacity = capacity;
+    }
+
+    public T acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            return perThread.get();
+        }
+        T instance = shared.poll();
+        if (instance == null) {
+            return factory.get();
+        }
+        sharedSize.decrementAndGet();
+        return instance;
+    }
+
+    // Deve ser chamado pela mesma thread que chamou acquire(), quando o objeto nao for mais usado
+    public void release(T instance) {
+        if (!Thread.currentThread().isVirtual()) {
+            return;
+        }
+        if (sharedSize.incrementAndGet() <= capacity) {
+            shared.offer(instance);
+        } else {
+            sharedSize.decrementAndGet();
+        }
+    }
+}
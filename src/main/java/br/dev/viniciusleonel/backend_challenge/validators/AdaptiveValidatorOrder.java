@@ -0,0 +1,193 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
+
+/**
+ * Executa os ClaimValidators na ordem que rejeita tokens invalidos mais cedo.
+ *
+ * Para cada validador sao contadas execucoes e rejeicoes, e o tempo de execucao e amostrado
+ * (1 a cada {@value #SAMPLE_RATE} chamadas, para nao pagar System.nanoTime em toda validacao).
+ * Periodicamente a ordem e recalculada pelo custo esperado por rejeicao (custo medio / probabilidade
+ * de rejeitar), de forma que validadores baratos e que rejeitam muito rodam primeiro. A cada recalculo os
+ * contadores sao reduzidos a metade, para que a ordem acompanhe mudancas no trafego em vez do historico inteiro.
+ *
+ * Todas as claims sao obrigatorias e todas as rejeicoes de claim geram 422, entao a ordem so muda qual
+ * rejeicao e reportada primeiro quando mais de uma claim e invalida, nunca o veredito nem o status.
+ */
+public class AdaptiveValidatorOrder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveValidatorOrder.class);
+
+    static final int SAMPLE_RATE = 16;
+
+    private final ClaimValidator[] validators;
+    private final ValidatorStats[] stats;
+    private final long reorderIntervalNanos;
+    private final AtomicLong lastReorderNanos;
+    private final LongAdder reorders = new LongAdder();
+
+    // Snapshot imutavel da ordem atual (indices em validators), trocado atomicamente
+    private volatile int[] order;
+
+    public AdaptiveValidatorOrder(List<ClaimValidator> validators, long reorderIntervalMillis) {
+        this.validators = validators.toArray(new ClaimValidator[0]);
+        this.stats = new ValidatorStats[this.validators.length];
+        this.order = new int[this.validators.length];
+        for (int i = 0; i < this.validators.length; i++) {
+            stats[i] = new ValidatorStats();
+            order[i] = i;
+        }
+        this.reorderIntervalNanos = reorderIntervalMillis * 1_000_000L;
+        this.lastReorderNanos = new AtomicLong(System.nanoTime());
+    }
+
+    // Retorna a primeira rejeicao na ordem atual ou VALID
+    public ValidationResult check(JwtClaims claims) {
+        int[] current = order;
+        boolean sample = ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+
+        ValidationResult rejection = ValidationResult.VALID;
+        for (int index : current) {
+            ValidatorStats validatorStats = stats[index];
+            ValidationResult result;
+            if (sample) {
+                long start = System.nanoTime();
+                result = validators[index].check(claims);
+                validatorStats.recordSample(System.nanoTime() - start);
+            } else {
+                result = validators[index].check(claims);
+            }
+
+            validatorStats.calls.increment();
+            if (!result.isValid()) {
+                validatorStats.rejections.increment();
+                rejection = result;
+                break;
+            }
+        }
+
+        // Tambem em rejeicoes: com trafego quase todo invalido e quando a ordem mais importa
+        if (sample) {
+            maybeReorder();
+        }
+        return rejection;
+    }
+
+    private void maybeReorder() {
+        if (reorderIntervalNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastReorderNanos.get();
+        // Apenas uma thread recalcula por intervalo
+        if (now - last >= reorderIntervalNanos && lastReorderNanos.compareAndSet(last, now)) {
+            reorder();
+        }
+    }
+
+    void reorder() {
+        Integer[] candidates = new Integer[validators.length];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i;
+        }
+        // Ordenacao estavel: empates mantem a ordem configurada
+        Arrays.sort(candidates, Comparator.comparingDouble(i -> stats[i].costToReject()));
+
+        int[] updated = new int[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            updated[i] = candidates[i];
+        }
+        for (ValidatorStats validatorStats : stats) {
+            validatorStats.decay();
+        }
+        if (!Arrays.equals(updated, order)) {
+            order = updated;
+            reorders.increment();
+            log.info("Ordem dos validadores atualizada: {}", getOrder());
+        }
+    }
+
+    public List<String> getOrder() {
+        int[] current = order;
+        List<String> names = new ArrayList<>(current.length);
+        for (int index : current) {
+            names.add(validators[index].getClaimName());
+        }
+        return names;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> perValidator = new LinkedHashMap<>();
+        for (int i = 0; i < validators.length; i++) {
+            ValidatorStats validatorStats = stats[i];
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("calls", validatorStats.calls.sum());
+            data.put("rejections", validatorStats.rejections.sum());
+            data.put("rejectionRate", validatorStats.rejectionRate());
+            data.put("averageNanos", validatorStats.averageNanos());
+            double costToReject = validatorStats.costToReject();
+            data.put("costToRejectNanos", Double.isInfinite(costToReject) ? null : costToReject);
+            perValidator.put(validators[i].getClaimName(), data);
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("order", getOrder());
+        data.put("reorders", reorders.sum());
+        data.put("reorderIntervalMillis", reorderIntervalNanos / 1_000_000L);
+        data.put("validators", perValidator);
+        return data;
+    }
+
+    private static final class ValidatorStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder rejections = new LongAdder();
+        final LongAdder sampledCalls = new LongAdder();
+        final LongAdder sampledNanos = new LongAdder();
+
+        void recordSample(long nanos) {
+            sampledCalls.increment();
+            sampledNanos.add(nanos);
+        }
+
+        // Reduz os contadores a metade; incrementos concorrentes entram normalmente (a taxa e aproximada)
+        void decay() {
+            halve(calls);
+            halve(rejections);
+            halve(sampledCalls);
+            halve(sampledNanos);
+        }
+
+        private static void halve(LongAdder adder) {
+            adder.add(-(adder.sum() / 2));
+        }
+
+        double rejectionRate() {
+            long total = calls.sum();
+            return total == 0 ? 0.0 : (double) rejections.sum() / total;
+        }
+
+        double averageNanos() {
+            long samples = sampledCalls.sum();
+            return samples == 0 ? 0.0 : (double) sampledNanos.sum() / samples;
+        }
+
+        // Custo esperado ate uma rejeicao; sem rejeicoes observadas vai para o fim da fila
+        double costToReject() {
+            double rate = rejectionRate();
+            return rate == 0.0 ? Double.POSITIVE_INFINITY : averageNanos() / rate;
+        }
+    }
+}
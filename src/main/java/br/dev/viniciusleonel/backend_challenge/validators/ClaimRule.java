@@ -0,0 +1,42 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Definicao declarativa de uma regra de claim, lida de claim-rules.properties e compilada por
+ * {@link ClaimRules#compile(ClaimRule)}. Campos nao configurados ficam desligados (0, null ou lista vazia).
+ *
+ * @param claimName        nome da claim no payload
+ * @param required         claim ausente ou vazia e rejeitada com CLAIM_MISSING
+ * @param minLength        tamanho minimo em chars (0 = sem limite)
+ * @param maxLength        tamanho maximo em chars (0 = sem limite)
+ * @param allowedChars     classes de caracteres permitidas (ver CharClassTable), ou null
+ * @param forbiddenChars   classes de caracteres proibidas, ou null
+ * @param allowedValues    valores permitidos (enum), ou vazio
+ * @param integerBits      exige inteiro decimal de 32 ou 64 bits (0 = nao numerica)
+ * @param predicate        predicado numerico aplicado ao inteiro, ou null
+ * @param messages         mensagens de rejeicao por motivo
+ */
+public record ClaimRule(
+        String claimName,
+        boolean required,
+        int minLength,
+        int maxLength,
+        String allowedChars,
+        String forbiddenChars,
+        List<String> allowedValues,
+        int integerBits,
+        NumericPredicate predicate,
+        Map<ValidationReason, String> messages) {
+
+    public ClaimRule withIntegerBits(int bits) {
+        return new ClaimRule(claimName, required, minLength, maxLength, allowedChars, forbiddenChars,
+                allowedValues, bits, predicate, messages);
+    }
+
+    public String messageFor(ValidationReason reason) {
+        String message = messages.get(reason);
+        return message != null ? message : claimName + " invalido";
+    }
+}
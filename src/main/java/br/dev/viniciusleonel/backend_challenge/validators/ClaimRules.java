@@ -0,0 +1,138 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import br.dev.viniciusleonel.backend_challenge.infra.config.ApplicationSettings;
+
+/**
+ * Carrega as regras de claims de um arquivo .properties (UTF-8) e as compila em ClaimValidators.
+ *
+ * Formato:
+ * <pre>
+ * rules=Name,Role
+ * rule.Name.required=true
+ * rule.Name.max-length=255
+ * rule.Name.forbidden-chars=digit
+ * rule.Name.message.invalid-characters=Nome contem numeros
+ * rule.Role.allowed-values=Admin,Member,External
+ * </pre>
+ * Chaves por regra: required, min-length, max-length, allowed-chars, forbidden-chars, allowed-values,
+ * integer-bits (32 ou 64), predicate (prime) e message.&lt;motivo&gt; (missing, too-short, too-long,
+ * invalid-characters, not-allowed, not-numeric, not-prime).
+ */
+public final class ClaimRules {
+
+    // Arquivo padrao no classpath; jwt.claim-rules=<caminho> aponta para um arquivo externo
+    public static final String DEFAULT_RESOURCE = "claim-rules.properties";
+
+    private static final Map<String, ValidationReason> MESSAGE_KEYS = Map.of(
+            "missing", ValidationReason.CLAIM_MISSING,
+            "too-short", ValidationReason.CLAIM_TOO_SHORT,
+            "too-long", ValidationReason.CLAIM_TOO_LONG,
+            "invalid-characters", ValidationReason.CLAIM_INVALID_CHARACTERS,
+            "not-allowed", ValidationReason.CLAIM_NOT_ALLOWED,
+            "not-numeric", ValidationReason.CLAIM_NOT_NUMERIC,
+            "not-prime", ValidationReason.CLAIM_NOT_PRIME);
+
+    private ClaimRules() {
+        // Construtor privado para evitar instanciação
+    }
+
+    public static List<ClaimRule> load() {
+        String location = ApplicationSettings.getString("jwt.claim-rules", "");
+        if (!location.isBlank()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(location), StandardCharsets.UTF_8)) {
+                return parse(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler regras de claims: " + location, e);
+            }
+        }
+
+        try (InputStream input = ClaimRules.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException("Arquivo de regras de claims nao encontrado: " + DEFAULT_RESOURCE);
+            }
+            return parse(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler regras de claims: " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    public static List<ClaimRule> parse(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+
+        List<ClaimRule> rules = new ArrayList<>();
+        for (String claimName : split(properties.getProperty("rules", ""))) {
+            rules.add(parseRule(claimName, properties));
+        }
+        return rules;
+    }
+
+    private static ClaimRule parseRule(String claimName, Properties properties) {
+        String prefix = "rule." + claimName + ".";
+
+        Map<ValidationReason, String> messages = new EnumMap<>(ValidationReason.class);
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix + "message.")) {
+                String reasonKey = key.substring((prefix + "message.").length());
+                ValidationReason reason = MESSAGE_KEYS.get(reasonKey);
+                if (reason == null) {
+                    throw new IllegalArgumentException("Motivo de mensagem desconhecido: " + key);
+                }
+                messages.put(reason, properties.getProperty(key));
+            }
+        }
+
+        String predicate = properties.getProperty(prefix + "predicate");
+        int integerBits = Integer.parseInt(properties.getProperty(prefix + "integer-bits", "0").trim());
+        if (integerBits != 0 && integerBits != 32 && integerBits != 64) {
+            throw new IllegalArgumentException(prefix + "integer-bits deve ser 32 ou 64");
+        }
+
+        return new ClaimRule(
+                claimName,
+                Boolean.parseBoolean(properties.getProperty(prefix + "required", "false").trim()),
+                Integer.parseInt(properties.getProperty(prefix + "min-length", "0").trim()),
+                Integer.parseInt(properties.getProperty(prefix + "max-length", "0").trim()),
+                properties.getProperty(prefix + "allowed-chars"),
+                properties.getProperty(prefix + "forbidden-chars"),
+                split(properties.getProperty(prefix + "allowed-values", "")),
+                integerBits,
+                predicate != null ? NumericPredicate.valueOf(predicate.trim().toUpperCase(Locale.ROOT)) : null,
+                Map.copyOf(messages));
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    public static ClaimValidator compile(ClaimRule rule) {
+        return new CompiledClaimValidator(rule);
+    }
+
+    // Regra carregada para a claim informada
+    public static ClaimRule find(List<ClaimRule> rules, String claimName) {
+        return rules.stream()
+                .filter(rule -> rule.claimName().equals(claimName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Regra nao configurada para a claim " + claimName));
+    }
+}
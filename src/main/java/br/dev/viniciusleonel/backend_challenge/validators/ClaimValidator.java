@@ -1,7 +1,23 @@
 package br.dev.viniciusleonel.backend_challenge.validators;
 
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
 public interface ClaimValidator {
-    boolean validate(DecodedJWT jwt);
+
+    // Valida a claim sem lancar excecoes
+    ValidationResult check(JwtClaims claims);
+
+    // Nome da claim validada, usado pelo JwtClaimsScanner para saber quais valores extrair
+    String getClaimName();
+
+    // API antiga: lanca InvalidClaimException quando a claim e invalida
+    default boolean validate(JwtClaims claims) {
+        return check(claims).orThrow();
+    }
+
+    // Mantido para quem ja possui o JWT decodificado pela auth0
+    default boolean validate(DecodedJWT jwt) {
+        return validate(JwtClaims.of(jwt));
+    }
 }
@@ -0,0 +1,135 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.DeduplicatingErrorLog;
+import br.dev.viniciusleonel.backend_challenge.utils.CharClassTable;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
+import br.dev.viniciusleonel.backend_challenge.utils.NumberUtils;
+import br.dev.viniciusleonel.backend_challenge.utils.PerfectHashSet;
+
+/**
+ * ClaimValidator gerado a partir de um {@link ClaimRule}. Tudo que depende da regra (tabelas de caracteres,
+ * hash perfeito dos valores permitidos, faixa numerica, resultados de rejeicao) e resolvido na construcao;
+ * check() apenas percorre os passos habilitados, na ordem obrigatoria, tamanho, caracteres, valores, numero
+ * e predicado, sem alocar.
+ */
+public final class CompiledClaimValidator implements ClaimValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(CompiledClaimValidator.class);
+    private static final DeduplicatingErrorLog failures = DeduplicatingErrorLog.shared();
+
+    private final ClaimRule rule;
+    private final String claimName;
+    private final boolean required;
+    private final int minLength;
+    private final int maxLength;
+    private final CharClassTable allowedChars;
+    private final CharClassTable forbiddenChars;
+    private final PerfectHashSet allowedValues;
+    private final boolean numeric;
+    private final long minValue;
+    private final long maxValue;
+    private final LongPredicate predicate;
+
+    private final ValidationResult missing;
+    private final ValidationResult tooShort;
+    private final ValidationResult tooLong;
+    private final ValidationResult invalidCharacters;
+    private final ValidationResult notAllowed;
+    private final ValidationResult notNumeric;
+    private final ValidationResult predicateFailed;
+
+    CompiledClaimValidator(ClaimRule rule) {
+        this.rule = rule;
+        this.claimName = rule.claimName();
+        this.required = rule.required();
+        this.minLength = rule.minLength();
+        this.maxLength = rule.maxLength() > 0 ? rule.maxLength() : Integer.MAX_VALUE;
+        this.allowedChars = rule.allowedChars() != null ? CharClassTable.parse(rule.allowedChars()) : null;
+        this.forbiddenChars = rule.forbiddenChars() != null ? CharClassTable.parse(rule.forbiddenChars()) : null;
+        this.allowedValues = rule.allowedValues().isEmpty() ? null : PerfectHashSet.of(rule.allowedValues());
+
+        int bits = rule.integerBits();
+        if (rule.predicate() != null && bits == 0) {
+            bits = 64;
+        }
+        this.numeric = bits != 0;
+        this.minValue = bits == 32 ? Integer.MIN_VALUE : Long.MIN_VALUE;
+        this.maxValue = bits == 32 ? Integer.MAX_VALUE : Long.MAX_VALUE;
+        this.predicate = rule.predicate() != null ? rule.predicate().create() : null;
+
+        this.missing = rejection(ValidationReason.CLAIM_MISSING);
+        this.tooShort = rejection(ValidationReason.CLAIM_TOO_SHORT);
+        this.tooLong = rejection(ValidationReason.CLAIM_TOO_LONG);
+        this.invalidCharacters = rejection(ValidationReason.CLAIM_INVALID_CHARACTERS);
+        this.notAllowed = rejection(ValidationReason.CLAIM_NOT_ALLOWED);
+        this.notNumeric = rejection(ValidationReason.CLAIM_NOT_NUMERIC);
+        this.predicateFailed = rule.predicate() != null ? rejection(rule.predicate().getRejectionReason()) : null;
+    }
+
+    private ValidationResult rejection(ValidationReason reason) {
+        return ValidationResult.invalid(reason, claimName, rule.messageFor(reason));
+    }
+
+    @Override
+    public ValidationResult check(JwtClaims claims) {
+        log.info("Iniciando validacao da claim {}", claimName);
+        String value = claims.getClaim(claimName);
+
+        if (value == null || value.isEmpty()) {
+            return required ? reject(missing, value) : ValidationResult.VALID;
+        }
+
+        int length = value.length();
+        if (length < minLength) {
+            return reject(tooShort, value);
+        }
+        if (length > maxLength) {
+            return reject(tooLong, value);
+        }
+
+        if (forbiddenChars != null && forbiddenChars.indexOfAny(value) >= 0) {
+            return reject(invalidCharacters, value);
+        }
+        if (allowedChars != null && allowedChars.indexOfNone(value) >= 0) {
+            return reject(invalidCharacters, value);
+        }
+
+        if (allowedValues != null && !allowedValues.contains(value)) {
+            return reject(notAllowed, value);
+        }
+
+        if (numeric) {
+            // Verifica o formato antes do parse para nao depender de NumberFormatException
+            if (!NumberUtils.isParsableInteger(value, minValue, maxValue)) {
+                return reject(notNumeric, value);
+            }
+            if (predicate != null && !predicate.test(Long.parseLong(value))) {
+                return reject(predicateFailed, value);
+            }
+        }
+
+        log.debug("{} valida: {}", claimName, value);
+        return ValidationResult.VALID;
+    }
+
+    // O valor da claim nao e logado (pode ter centenas de caracteres), apenas o tamanho
+    private static ValidationResult reject(ValidationResult result, String value) {
+        failures.error(log, result.reason().name(), result.claim(),
+                "{} (claim {}, {} caracteres)", result.message(), result.claim(), value == null ? 0 : value.length());
+        return result;
+    }
+
+    @Override
+    public String getClaimName() {
+        return claimName;
+    }
+
+    public ClaimRule getRule() {
+        return rule;
+    }
+}
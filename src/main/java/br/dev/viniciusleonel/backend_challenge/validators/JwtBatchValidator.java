@@ -0,0 +1,242 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceState;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Valida tokens em lote a partir de um stream NDJSON (um token por linha), escrevendo uma linha de
+ * resultado por token na mesma ordem de entrada.
+ *
+ * A validacao roda em paralelo num pool do tamanho dos cores, mas cada lote mantem no maximo
+ * {@code maxInFlight} tokens pendentes: ao atingir o limite a leitura para ate o resultado mais antigo
+ * ser escrito, propagando a contrapressao para o cliente em vez de acumular o corpo em memoria.
+ *
+ * As linhas sao lidas com limite de tamanho: uma linha acima do tamanho maximo de token nao e acumulada,
+ * o restante dela e descartado e o resultado e TOKEN_TOO_LONG, como o pre-lexer responderia.
+ */
+@Component
+public class JwtBatchValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtBatchValidator.class);
+
+    private final JwtValidator jwtValidator;
+    private final MetricsCollector metricsCollector;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+
+    public JwtBatchValidator(JwtValidator jwtValidator,
+                             MetricsCollector metricsCollector,
+                             @Value("${jwt.batch.parallelism:0}") int parallelism,
+                             @Value("${jwt.batch.max-in-flight:256}") int maxInFlight) {
+        this.jwtValidator = jwtValidator;
+        this.metricsCollector = metricsCollector;
+        this.maxInFlight = Math.max(1, maxInFlight);
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "jwt-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Retorna a quantidade de tokens processados
+    public long validate(InputStream input, OutputStream output) throws IOException {
+        LineReader reader = new LineReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxLineLength());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ArrayDeque<Future<String>> inFlight = new ArrayDeque<>();
+        TraceState trace = TraceContext.current();
+
+        long lineNumber = 0;
+        long processed = 0;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                boolean tooLong = reader.lastLineTooLong();
+                String token = tooLong ? null : line.trim();
+                if (token != null && token.isEmpty()) {
+                    continue;
+                }
+
+                if (inFlight.size() >= maxInFlight) {
+                    // Limite atingido: entrega o que ja foi produzido e aguarda o resultado mais antigo
+                    writer.flush();
+                    writeResult(writer, inFlight.poll());
+                }
+
+                long currentLine = lineNumber;
+                if (tooLong) {
+                    inFlight.add(CompletableFuture.completedFuture(toResultLine(currentLine, JwtPreLexer.TOO_LONG)));
+                } else {
+                    inFlight.add(executor.submit(() -> validateToken(currentLine, token, trace)));
+                }
+                processed++;
+
+                while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+                    writeResult(writer, inFlight.poll());
+                }
+            }
+
+            writer.flush();
+            while (!inFlight.isEmpty()) {
+                writeResult(writer, inFlight.poll());
+            }
+            writer.flush();
+        } finally {
+            // Cliente desconectou ou houve falha de I/O: descarta o trabalho pendente
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        log.info("Validacao em lote finalizada: {} tokens", processed);
+        return processed;
+    }
+
+    private String validateToken(long lineNumber, String token, TraceState trace) {
+        // Os workers apenas leem o contexto da requisicao, para que os logs saiam com os mesmos ids
+        TraceState previous = TraceContext.attach(trace);
+        try {
+            return toResultLine(lineNumber, jwtValidator.validate(token));
+        } finally {
+            TraceContext.restore(previous);
+        }
+    }
+
+    private String toResultLine(long lineNumber, ValidationResult result) {
+        metricsCollector.recordValidationResult(result);
+        return toJsonLine(lineNumber, result.isValid(), result.httpStatus(), result.message());
+    }
+
+    // Um char a mais que o token cobre o '\r' de "\r\n"; o pre-lexer ainda rejeita o token trimado acima do limite
+    private static int maxLineLength() {
+        int maxTokenLength = JwtValidationConfig.MAX_TOKEN_LENGTH;
+        return maxTokenLength > 0 ? maxTokenLength + 1 : Integer.MAX_VALUE - 8;
+    }
+
+    private static void writeResult(Writer writer, Future<String> result) throws IOException {
+        try {
+            writer.write(result.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Validacao em lote interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Falha na validacao em lote", e.getCause());
+        }
+    }
+
+    private static String toJsonLine(long lineNumber, boolean valid, int status, String error) {
+        StringBuilder json = new StringBuilder(64)
+                .append("{\"line\":").append(lineNumber)
+                .append(",\"valid\":").append(valid)
+                .append(",\"status\":").append(status);
+        if (error != null) {
+            json.append(",\"error\":\"");
+            for (int i = 0; i < error.length(); i++) {
+                char c = error.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            json.append('"');
+        }
+        return json.append("}\n").toString();
+    }
+
+    /**
+     * Leitor de linhas com tamanho maximo: ao passar de {@code maxLength} chars a linha deixa de ser acumulada,
+     * o restante dela e descartado, uma linha vazia e retornada no lugar e {@link #lastLineTooLong()} passa a
+     * responder true. Linhas terminam em '\n' (o '\r' de "\r\n" sai no trim do token).
+     */
+    static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder(1024);
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        // Se a ultima linha retornada por readLine() passou do tamanho maximo
+        boolean lastLineTooLong() {
+            return tooLong;
+        }
+
+        // Proxima linha (vazia se passou do tamanho maximo), ou null no fim do stream
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        if (!read) {
+                            return null;
+                        }
+                        return line.toString();
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (!tooLong) {
+                    int count = position - start;
+                    if ((long) line.length() + count > maxLength) {
+                        tooLong = true;
+                        line.setLength(0);
+                    } else {
+                        line.append(buffer, start, count);
+                    }
+                }
+                if (position < limit) {
+                    position++;
+                    return line.toString();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
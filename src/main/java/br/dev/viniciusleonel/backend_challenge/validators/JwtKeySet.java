@@ -0,0 +1,84 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Snapshot imutavel das chaves HMAC aceitas, lido de um arquivo .properties no formato
+ * {@code <kid>=<algoritmo>:<segredo>}, por exemplo:
+ * <pre>
+ * atual=HS256:your-secret-key
+ * anterior=HS256:base64:c2VncmVkby1hbnRpZ28=
+ * </pre>
+ * Algoritmos aceitos: HS256, HS384 e HS512. O segredo e texto UTF-8 ou, com o prefixo {@code base64:}, bytes em Base64.
+ */
+public final class JwtKeySet {
+
+    public record Key(String kid, String algorithm, SecretKeySpec secret) {
+    }
+
+    private final long version;
+    private final List<Key> keys;
+
+    JwtKeySet(long version, List<Key> keys) {
+        this.version = version;
+        this.keys = List.copyOf(keys);
+    }
+
+    public static JwtKeySet load(Path file, long version) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        List<Key> keys = new ArrayList<>();
+        // Ordem estavel entre recargas
+        for (String kid : new TreeSet<>(properties.stringPropertyNames())) {
+            String value = properties.getProperty(kid).trim();
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Chave '" + kid + "' deve ter o formato <algoritmo>:<segredo>");
+            }
+            String algorithm = macAlgorithm(value.substring(0, separator).trim());
+            String secret = value.substring(separator + 1);
+            byte[] bytes = secret.startsWith("base64:")
+                    ? Base64.getDecoder().decode(secret.substring("base64:".length()).trim())
+                    : secret.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length == 0) {
+                throw new IllegalArgumentException("Chave '" + kid + "' sem segredo");
+            }
+            keys.add(new Key(kid, algorithm, new SecretKeySpec(bytes, algorithm)));
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo de chaves vazio: " + file);
+        }
+        return new JwtKeySet(version, keys);
+    }
+
+    private static String macAlgorithm(String jwtAlgorithm) {
+        return switch (jwtAlgorithm) {
+            case "HS256" -> "HmacSHA256";
+            case "HS384" -> "HmacSHA384";
+            case "HS512" -> "HmacSHA512";
+            default -> throw new IllegalArgumentException("Algoritmo nao suportado: " + jwtAlgorithm);
+        };
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Key> getKeys() {
+        return keys;
+    }
+}
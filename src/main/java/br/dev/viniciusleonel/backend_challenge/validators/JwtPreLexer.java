@@ -0,0 +1,107 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.util.Arrays;
+
+/**
+ * Verificacao estrutural barata feita antes do cache e da decodificacao: uma unica passada pelos chars,
+ * sem alocacao, que rejeita tokens acima do tamanho maximo, sem exatamente tres segmentos, com caracteres
+ * fora do alfabeto base64url ou cujo header nao e um objeto JSON: os primeiros bytes do header sao
+ * decodificados e, pulando os espacos em branco do JSON, o primeiro precisa ser '{' ("eyJ" no caso comum
+ * {", "eyAi" para { " etc.).
+ *
+ * So rejeita o que a decodificacao tambem rejeitaria (exceto o limite de tamanho), entao nao altera o
+ * veredito dos demais tokens. As mensagens mantem o texto de falha de decodificacao; o motivo fica no
+ * ValidationReason.
+ */
+public final class JwtPreLexer {
+
+    private static final String DECODE_ERROR = "Falha ao decodificar, JWT nulo ou vazio";
+
+    static final ValidationResult TOO_LONG =
+            ValidationResult.invalid(ValidationReason.TOKEN_TOO_LONG, null, DECODE_ERROR);
+    private static final ValidationResult SEGMENT_COUNT =
+            ValidationResult.invalid(ValidationReason.TOKEN_SEGMENT_COUNT, null, DECODE_ERROR);
+    private static final ValidationResult INVALID_CHARACTER =
+            ValidationResult.invalid(ValidationReason.TOKEN_INVALID_CHARACTER, null, DECODE_ERROR);
+    private static final ValidationResult HEADER_PREFIX =
+            ValidationResult.invalid(ValidationReason.TOKEN_HEADER_PREFIX, null, DECODE_ERROR);
+
+    // Alfabeto base64url mais '=' (padding, validado depois pelo JwtClaimsScanner)
+    private static final boolean[] ALPHABET = new boolean[128];
+    // Valor de 6 bits de cada char base64url; -1 para '=' e o restante
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        Arrays.fill(BASE64URL, (byte) -1);
+        for (int i = 0; i < alphabet.length(); i++) {
+            ALPHABET[alphabet.charAt(i)] = true;
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+        ALPHABET['='] = true;
+    }
+
+    private final int maxLength;
+    private final boolean checkHeader;
+
+    // maxLength 0 desliga o limite de tamanho; checkHeader false desliga a verificacao do header
+    public JwtPreLexer(int maxLength, boolean checkHeader) {
+        this.maxLength = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+        this.checkHeader = checkHeader;
+    }
+
+    public ValidationResult check(String token) {
+        int length = token.length();
+        if (length > maxLength) {
+            return TOO_LONG;
+        }
+
+        int dots = 0;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (++dots > 2) {
+                    return SEGMENT_COUNT;
+                }
+            } else if (c >= 128 || !ALPHABET[c]) {
+                return INVALID_CHARACTER;
+            }
+        }
+        if (dots != 2) {
+            return SEGMENT_COUNT;
+        }
+
+        if (checkHeader && !headerStartsWithObject(token)) {
+            return HEADER_PREFIX;
+        }
+        return ValidationResult.VALID;
+    }
+
+    // Decodifica o header byte a byte ate o primeiro que nao e espaco em branco do JSON (espaco, \t, \n, \r),
+    // que precisa ser '{'. Header vazio ou so com espacos tambem falharia no parse. Os chars ja foram validados
+    private static boolean headerStartsWithObject(String token) {
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < token.length(); i++) {
+            int value = BASE64URL[token.charAt(i)];
+            if (value < 0) {
+                // Fim do header ('.') ou padding
+                return false;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                int b = (bits >> bitCount) & 0xFF;
+                bits &= (1 << bitCount) - 1;
+                if (b == '{') {
+                    return true;
+                }
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
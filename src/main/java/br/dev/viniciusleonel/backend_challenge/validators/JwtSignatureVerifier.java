@@ -0,0 +1,299 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.dev.viniciusleonel.backend_challenge.utils.ReusableObjectPool;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Verificacao opcional (jwt.signature.enabled) da assinatura HMAC dos tokens.
+ *
+ * As chaves vem de um arquivo local (jwt.signature.key-file) observado por um WatchService: a cada alteracao
+ * o arquivo e relido e o novo {@link JwtKeySet} substitui o anterior atomicamente; se a leitura falhar o
+ * snapshot atual continua valendo. O algoritmo vem da chave configurada, nunca do header do token
+ * (evita alg=none e troca de algoritmo), e o token e aceito se alguma chave do snapshot confere, o que
+ * permite rotacao mantendo a chave anterior por um periodo.
+ *
+ * Cada thread de plataforma mantem seus Mac ja inicializados para o snapshot atual e buffers reutilizaveis
+ * (threads virtuais emprestam de um pool), entao o caminho quente nao cria Algorithm/Mac nem aloca;
+ * a comparacao da assinatura e em tempo constante.
+ */
+@Component
+public class JwtSignatureVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtSignatureVerifier.class);
+
+    private static final int MAX_SIGNATURE_BYTES = 64;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        java.util.Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final ReusableObjectPool<ThreadState> STATES = new ReusableObjectPool<>(ThreadState::new);
+
+    private final boolean enabled;
+    private final Path keyFile;
+    private final AtomicReference<JwtKeySet> keySet = new AtomicReference<>();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder reloadFailures = new LongAdder();
+    private WatchService watchService;
+
+    public JwtSignatureVerifier(@Value("${jwt.signature.enabled:false}") boolean enabled,
+                                @Value("${jwt.signature.key-file:}") String keyFile) {
+        this.enabled = enabled;
+        this.keyFile = keyFile == null || keyFile.isBlank() ? null : Path.of(keyFile).toAbsolutePath();
+        if (!enabled) {
+            return;
+        }
+        if (this.keyFile == null) {
+            throw new IllegalStateException("jwt.signature.enabled=true exige jwt.signature.key-file");
+        }
+        try {
+            keySet.set(JwtKeySet.load(this.keyFile, 1));
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao ler arquivo de chaves: " + this.keyFile, e);
+        }
+        log.info("Verificacao de assinatura habilitada com {} chave(s) de {}", keySet.get().getKeys().size(), this.keyFile);
+        startWatcher();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Muda a cada troca de chaves; entra na chave do cache de validacao
+    public long getKeySetVersion() {
+        JwtKeySet current = keySet.get();
+        return current == null ? 0 : current.getVersion();
+    }
+
+    public boolean verify(String token) {
+        JwtKeySet keys = keySet.get();
+        int signatureStart = token.lastIndexOf('.') + 1;
+        if (keys == null || signatureStart <= 0) {
+            rejected.increment();
+            return false;
+        }
+
+        ThreadState state = STATES.acquire();
+        boolean valid;
+        try {
+            valid = verify(token, signatureStart, keys, state);
+        } finally {
+            state.release();
+            STATES.release(state);
+        }
+
+        if (valid) {
+            verified.increment();
+        } else {
+            rejected.increment();
+        }
+        return valid;
+    }
+
+    private static boolean verify(String token, int signatureStart, JwtKeySet keys, ThreadState state) {
+        int signingInputLength = signatureStart - 1;
+        byte[] input = state.input(signingInputLength);
+        for (int i = 0; i < signingInputLength; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return false;
+            }
+            input[i] = (byte) c;
+        }
+
+        int signatureLength = decodeBase64Url(token, signatureStart, state.signature);
+        if (signatureLength < 0) {
+            return false;
+        }
+
+        for (Mac mac : state.macs(keys)) {
+            if (mac.getMacLength() != signatureLength) {
+                continue;
+            }
+            mac.update(input, 0, signingInputLength);
+            try {
+                mac.doFinal(state.digest, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Falha ao calcular HMAC", e);
+            }
+            if (constantTimeEquals(state.digest, state.signature, signatureLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Compara sem retorno antecipado, para nao vazar por tempo quantos bytes conferem
+    static boolean constantTimeEquals(byte[] a, byte[] b, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    // Base64url sem padding para o buffer de assinatura; -1 se invalido ou maior que MAX_SIGNATURE_BYTES
+    private static int decodeBase64Url(String token, int start, byte[] out) {
+        int length = token.length() - start;
+        if (length == 0 || length % 4 == 1 || length > (MAX_SIGNATURE_BYTES * 4 + 2) / 3) {
+            return -1;
+        }
+        int buffer = 0;
+        int bits = 0;
+        int written = 0;
+        for (int i = start; i < token.length(); i++) {
+            char c = token.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out[written++] = (byte) (buffer >> bits);
+            }
+        }
+        return written;
+    }
+
+    void reload() {
+        try {
+            JwtKeySet updated = JwtKeySet.load(keyFile, getKeySetVersion() + 1);
+            keySet.set(updated);
+            reloads.increment();
+            log.info("Chaves de assinatura recarregadas: {} chave(s), versao {}", updated.getKeys().size(), updated.getVersion());
+        } catch (IOException | RuntimeException e) {
+            // Arquivo em edicao ou invalido: mantem o snapshot atual
+            reloadFailures.increment();
+            log.error("Falha ao recarregar chaves de {}: {}", keyFile, e.getMessage());
+        }
+    }
+
+    private void startWatcher() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            keyFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao observar arquivo de chaves: " + keyFile, e);
+        }
+
+        Thread watcher = new Thread(this::watch, "jwt-keyset-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch() {
+        Path fileName = keyFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= fileName.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Encerramento da aplicacao
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("enabled", enabled);
+        data.put("keySetVersion", getKeySetVersion());
+        JwtKeySet current = keySet.get();
+        data.put("keys", current == null ? List.of() : current.getKeys().stream().map(JwtKeySet.Key::kid).toList());
+        data.put("verified", verified.sum());
+        data.put("rejected", rejected.sum());
+        data.put("reloads", reloads.sum());
+        data.put("reloadFailures", reloadFailures.sum());
+        return data;
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    // Mac e buffers de uma thread (ou emprestados do pool); os Mac sao recriados so quando o snapshot de chaves muda
+    private static final class ThreadState {
+        private final byte[] signature = new byte[MAX_SIGNATURE_BYTES];
+        private final byte[] digest = new byte[MAX_SIGNATURE_BYTES];
+        private byte[] input = new byte[1024];
+        private JwtKeySet macsFor;
+        private Mac[] macs;
+
+        byte[] input(int length) {
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            return input;
+        }
+
+        void release() {
+            // Nao retem buffers gigantes de tokens atipicos
+            if (input.length > MAX_RETAINED_BUFFER) {
+                input = new byte[1024];
+            }
+        }
+
+        Mac[] macs(JwtKeySet keys) {
+            if (macsFor != keys) {
+                List<JwtKeySet.Key> entries = keys.getKeys();
+                Mac[] created = new Mac[entries.size()];
+                for (int i = 0; i < created.length; i++) {
+                    JwtKeySet.Key key = entries.get(i);
+                    try {
+                        created[i] = Mac.getInstance(key.algorithm());
+                        created[i].init(key.secret());
+                    } catch (GeneralSecurityException e) {
+                        throw new IllegalStateException("Falha ao inicializar " + key.algorithm() + " para a chave " + key.kid(), e);
+                    }
+                }
+                macs = created;
+                macsFor = keys;
+            }
+            return macs;
+        }
+    }
+}
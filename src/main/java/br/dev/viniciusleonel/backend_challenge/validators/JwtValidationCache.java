@@ -0,0 +1,72 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Cache opcional de decisoes de validacao, usado pelo JwtValidator na frente do decode e dos ClaimValidators.
+ *
+ * A chave combina o token com a impressao digital da configuracao de validadores. Como o token inteiro fica
+ * retido, o limite e por peso (soma dos tamanhos dos tokens em chars, mais um custo fixo por entrada) e nao
+ * por numero de entradas; a eviccao e baseada em frequencia (W-TinyLFU do Caffeine). Rejeicoes tambem sao
+ * guardadas com o mesmo ValidationResult, preservando os status 400/422. Desligado por padrao.
+ */
+@Component
+public class JwtValidationCache {
+
+    // Chave, resultado e no do Caffeine, em chars equivalentes
+    static final int ENTRY_OVERHEAD_CHARS = 64;
+
+    private final boolean enabled;
+    private final Cache<TokenKey, ValidationResult> cache;
+
+    public JwtValidationCache(@Value("${jwt.validation.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.validation.cache.maximum-weight:4194304}") long maximumWeight) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((TokenKey key, ValidationResult result) -> key.token().length() + ENTRY_OVERHEAD_CHARS)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ValidationResult validate(String token, long configFingerprint, Function<String, ValidationResult> validation) {
+        return cache.get(new TokenKey(configFingerprint, token), key -> validation.apply(token));
+    }
+
+    public Map<String, Object> getStats() {
+        // Aplica as eviccoes pendentes para que tamanho e peso reflitam o limite
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        Map<String, Object> data = new HashMap<>();
+        data.put("enabled", enabled);
+        data.put("size", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            data.put("weightedSize", eviction.weightedSize().orElse(0));
+            data.put("maximumWeight", eviction.getMaximum());
+        });
+        data.put("hits", stats.hitCount());
+        data.put("misses", stats.missCount());
+        data.put("hitRate", stats.hitRate() * 100.0);
+        data.put("evictions", stats.evictionCount());
+        data.put("loads", stats.loadCount());
+        data.put("totalLoadTimeNanos", stats.totalLoadTime());
+        data.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        return data;
+    }
+
+    private record TokenKey(long configFingerprint, String token) {
+    }
+}
@@ -0,0 +1,94 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight na frente da validacao quando o JwtValidationCache esta desligado: chamadas concorrentes com
+ * o mesmo token (e a mesma configuracao) compartilham a validacao em andamento em vez de repetir decode e
+ * ClaimValidators. Com o cache ligado o JwtValidator nao o usa, porque a carga do cache ja e unica por chave.
+ *
+ * O primeiro chamador (lider) executa a validacao; os demais aguardam e recebem o mesmo ValidationResult,
+ * entao isValid() continua lancando o mesmo tipo de excecao e o GlobalExceptionHandler mapeia o mesmo status.
+ * Falhas inesperadas do lider sao repassadas aos que aguardavam. A entrada sai do mapa assim que a validacao
+ * termina: nada fica retido.
+ */
+@Component
+public class JwtValidationCoalescer {
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<InFlightKey, CompletableFuture<ValidationResult>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public JwtValidationCoalescer(@Value("${jwt.validation.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ValidationResult validate(String token, long configFingerprint, Function<String, ValidationResult> validation) {
+        InFlightKey key = new InFlightKey(token, configFingerprint);
+        CompletableFuture<ValidationResult> flight = new CompletableFuture<>();
+        CompletableFuture<ValidationResult> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            ValidationResult result = validation.apply(token);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static ValidationResult await(CompletableFuture<ValidationResult> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Repassa a mesma excecao lancada para o lider
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long leaderCount = leaders.sum();
+        long coalescedCount = coalesced.sum();
+        long total = leaderCount + coalescedCount;
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("enabled", enabled);
+        data.put("validations", leaderCount);
+        data.put("coalesced", coalescedCount);
+        data.put("coalescedRate", total > 0 ? (double) coalescedCount / total * 100.0 : 0.0);
+        data.put("inFlight", inFlight.size());
+        return data;
+    }
+
+    private record InFlightKey(String token, long configFingerprint) {
+    }
+}
@@ -2,22 +2,49 @@ package br.dev.viniciusleonel.backend_challenge.validators;
 
 import java.util.List;
 
+import br.dev.viniciusleonel.backend_challenge.infra.config.ApplicationSettings;
+
 public final class JwtValidationConfig {
 
+    // Valores de application.properties (ver ApplicationSettings)
+
+    // Aceita Seeds de 64 bits (jwt.seed.allow-64-bit=true); por padrao a Seed precisa caber em um int
+    public static final boolean ALLOW_64_BIT_SEEDS = ApplicationSettings.getBoolean("jwt.seed.allow-64-bit", false);
+
+    // Intervalo para recalcular a ordem dos validadores pelo custo por rejeicao (jwt.validation.reorder-interval-ms=0 fixa a ordem abaixo)
+    public static final long REORDER_INTERVAL_MILLIS = ApplicationSettings.getLong("jwt.validation.reorder-interval-ms", 5000L);
+
+    // Pre-verificacao estrutural: tamanho maximo do token (0 = sem limite) e se o header precisa decodificar para um objeto JSON
+    public static final int MAX_TOKEN_LENGTH = ApplicationSettings.getInt("jwt.validation.max-token-length", 8192);
+    public static final boolean CHECK_TOKEN_HEADER = ApplicationSettings.getBoolean("jwt.validation.header-check", true);
+
+    // Regras declarativas das claims (claim-rules.properties ou jwt.claim-rules=<arquivo>)
+    public static final List<ClaimRule> CLAIM_RULES = applyOverrides(ClaimRules.load());
+
     // Roles válidas centralizadas
-    public static final List<String> VALID_ROLES = List.of("Admin", "Member", "External");
+    public static final List<String> VALID_ROLES = ClaimRules.find(CLAIM_RULES, "Role").allowedValues();
 
     private JwtValidationConfig() {
         // Construtor privado para evitar instanciação
     }
 
-    // Lista de validadores
+    // Lista de validadores, compilados a partir das regras
     public static List<ClaimValidator> getValidators() {
-        return List.of(
-                new NameValidator(),
-                new RoleValidator(), // RoleValidator irá usar JwtValidationConfig.VALID_ROLES
-                new SeedValidator()
-                // Pode adicionar novos validadores aqui
-        );
+        return CLAIM_RULES.stream()
+                .map(ClaimRules::compile)
+                .toList();
+    }
+
+    public static ClaimRule getRule(String claimName) {
+        return ClaimRules.find(CLAIM_RULES, claimName);
+    }
+
+    private static List<ClaimRule> applyOverrides(List<ClaimRule> rules) {
+        if (!ALLOW_64_BIT_SEEDS) {
+            return rules;
+        }
+        return rules.stream()
+                .map(rule -> rule.claimName().equals("Seed") ? rule.withIntegerBits(64) : rule)
+                .toList();
     }
 }
@@ -1,58 +1,159 @@
 package br.dev.viniciusleonel.backend_challenge.validators;
 
 import java.util.List;
+import java.util.Map;
 
-import com.auth0.jwt.exceptions.JWTDecodeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
-
-import br.dev.viniciusleonel.backend_challenge.utils.JwtDecoder;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.DeduplicatingErrorLog;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaimsScanner;
 
 @Component
 public class JwtValidator {
 
     private static final Logger log = LoggerFactory.getLogger(JwtValidator.class);
+    private static final DeduplicatingErrorLog failures = DeduplicatingErrorLog.shared();
+
+    private static final ValidationResult TOKEN_EMPTY =
+            ValidationResult.invalid(ValidationReason.TOKEN_EMPTY, null, "Token nulo ou vazio");
+    private static final ValidationResult TOKEN_MALFORMED =
+            ValidationResult.invalid(ValidationReason.TOKEN_MALFORMED, null, "Falha ao decodificar, JWT nulo ou vazio");
+    private static final ValidationResult SIGNATURE_INVALID =
+            ValidationResult.invalid(ValidationReason.SIGNATURE_INVALID, null, "Assinatura do JWT invalida");
+    private static final ValidationResult CLAIMS_COUNT_MISMATCH =
+            ValidationResult.invalid(ValidationReason.CLAIMS_COUNT_MISMATCH, null, "Total de claims invalido");
+
     private final List<ClaimValidator> validators;
+    private final AdaptiveValidatorOrder validatorOrder;
+    private final JwtPreLexer preLexer;
+    private final JwtClaimsScanner claimsScanner;
+    private final JwtValidationCache validationCache;
+    private final JwtSignatureVerifier signatureVerifier;
+    private final JwtValidationCoalescer coalescer;
+    private final long configFingerprint;
 
     public JwtValidator() {
+        this(null);
+    }
+
+    public JwtValidator(JwtValidationCache validationCache) {
+        this(validationCache, null);
+    }
+
+    public JwtValidator(JwtValidationCache validationCache, JwtSignatureVerifier signatureVerifier) {
+        this(validationCache, signatureVerifier, null);
+    }
+
+    @Autowired
+    public JwtValidator(JwtValidationCache validationCache, JwtSignatureVerifier signatureVerifier,
+                        JwtValidationCoalescer coalescer) {
         this.validators = JwtValidationConfig.getValidators();
+        this.validatorOrder = new AdaptiveValidatorOrder(validators, JwtValidationConfig.REORDER_INTERVAL_MILLIS);
+        this.preLexer = new JwtPreLexer(JwtValidationConfig.MAX_TOKEN_LENGTH, JwtValidationConfig.CHECK_TOKEN_HEADER);
+        this.claimsScanner = new JwtClaimsScanner(validators.stream().map(ClaimValidator::getClaimName).toList());
+        this.validationCache = validationCache != null && validationCache.isEnabled() ? validationCache : null;
+        this.signatureVerifier = signatureVerifier != null && signatureVerifier.isEnabled() ? signatureVerifier : null;
+        // Com o cache ligado o coalescer nao e usado: o Cache.get do Caffeine ja faz uma unica carga atomica
+        // por chave e os concorrentes aguardam por ela
+        this.coalescer = this.validationCache == null && coalescer != null && coalescer.isEnabled() ? coalescer : null;
+        this.configFingerprint = fingerprint(validators);
     }
 
+    // API antiga: lanca JWTDecodeException (400) ou InvalidClaimException (422)
     public boolean isValid(String token) {
+        return validate(token).orThrow();
+    }
+
+    // Valida sem lancar excecoes, retornando o motivo da rejeicao
+    public ValidationResult validate(String token) {
         log.info("Iniciando validacao do JWT");
 
         if (token == null || token.trim().isEmpty()) {
-            throw new JWTDecodeException("Token nulo ou vazio");
+            failures.error(log, TOKEN_EMPTY.reason().name(), null, "Token nulo ou vazio");
+            return TOKEN_EMPTY;
+        }
+
+        // Lixo estrutural e rejeitado antes de hashear para o cache ou decodificar
+        ValidationResult structure = preLexer.check(token);
+        if (!structure.isValid()) {
+            failures.error(log, structure.reason().name(), null,
+                    "Token rejeitado na verificacao estrutural: {} ({} caracteres)", structure.reason(), token.length());
+            return structure;
+        }
+
+        // Trocar as chaves de assinatura invalida as decisoes anteriores
+        long fingerprint = signatureVerifier == null
+                ? configFingerprint
+                : configFingerprint * 31 + signatureVerifier.getKeySetVersion();
+
+        // Chamadas concorrentes com o mesmo token compartilham uma unica validacao: pela carga do cache ou,
+        // sem cache, pelo coalescer
+        if (validationCache != null) {
+            return validationCache.validate(token, fingerprint, this::validateToken);
+        }
+        if (coalescer != null) {
+            return coalescer.validate(token, fingerprint, this::validateToken);
+        }
+        return validateToken(token);
+    }
+
+    private ValidationResult validateToken(String token) {
+        // Extrai apenas as claims usadas pelos validadores, sem montar a arvore JSON completa
+        JwtClaims claims = claimsScanner.tryScan(token);
+        if (claims == null) {
+            failures.error(log, TOKEN_MALFORMED.reason().name(), null, "Falha ao decodificar JWT: estrutura, base64url ou JSON invalido");
+            return TOKEN_MALFORMED;
+        }
+
+        if (signatureVerifier != null && !signatureVerifier.verify(token)) {
+            failures.error(log, SIGNATURE_INVALID.reason().name(), null, "Assinatura do JWT invalida");
+            return SIGNATURE_INVALID;
         }
 
-        DecodedJWT jwt = JwtDecoder.decode(token);
-        return validateAllClaims(jwt) && hasValidClaimsCount(jwt);
+        ValidationResult result = validateAllClaims(claims);
+        return result.isValid() ? validateClaimsCount(claims) : result;
     }
 
-    private boolean hasValidClaimsCount(DecodedJWT jwt) {
-        int claimsCount = jwt.getClaims().size();
+    private ValidationResult validateClaimsCount(JwtClaims claims) {
+        int claimsCount = claims.getClaimCount();
         int expectedCount = validators.size();
         
         if (claimsCount != expectedCount) {
-            log.error("Total de claims invalido: esperado {}, encontrado {}", expectedCount, claimsCount);
-            return false;
+            failures.error(log, CLAIMS_COUNT_MISMATCH.reason().name(), null,
+                    "Total de claims invalido: esperado {}, encontrado {}", expectedCount, claimsCount);
+            return CLAIMS_COUNT_MISMATCH;
         }
         
         log.info("Total de claims valido: {}", claimsCount);
-        return true;
+        return ValidationResult.VALID;
     }
 
-    private boolean validateAllClaims(DecodedJWT jwt) {
+    private ValidationResult validateAllClaims(JwtClaims claims) {
         log.info("Chamando validadores de claims");
-        
-        for (ClaimValidator validator : validators) {
-            validator.validate(jwt);
+
+        ValidationResult result = validatorOrder.check(claims);
+        if (result.isValid()) {
+            log.info("JWT passou nas validacoes");
         }
+        return result;
+    }
 
-        log.info("JWT passou nas validacoes");
-        return true;
+    // Ordem atual dos validadores e estatisticas de custo/rejeicao, expostas em /monitoring/metrics
+    public Map<String, Object> getValidatorStats() {
+        return validatorOrder.getStats();
+    }
+
+    // Identifica a configuracao ativa (validadores configurados) para que o cache nao reaproveite decisoes de outra configuracao
+    private static long fingerprint(List<ClaimValidator> validators) {
+        long hash = 1125899906842597L;
+        for (ClaimValidator validator : validators) {
+            hash = 31 * hash + validator.getClass().getName().hashCode();
+            hash = 31 * hash + validator.getClaimName().hashCode();
+        }
+        return hash;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import java.util.function.LongPredicate;
+
+import br.dev.viniciusleonel.backend_challenge.utils.PrimeOracle;
+
+// Predicados numericos disponiveis para as regras de claims (chave "predicate" em claim-rules.properties)
+public enum NumericPredicate {
+    PRIME(ValidationReason.CLAIM_NOT_PRIME) {
+        @Override
+        LongPredicate create() {
+            return PrimeOracle.shared()::isPrime;
+        }
+    };
+
+    private final ValidationReason rejectionReason;
+
+    NumericPredicate(ValidationReason rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
+
+    abstract LongPredicate create();
+
+    public ValidationReason getRejectionReason() {
+        return rejectionReason;
+    }
+}
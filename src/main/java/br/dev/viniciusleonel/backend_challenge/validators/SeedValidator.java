@@ -1,39 +1,28 @@
 package br.dev.viniciusleonel.backend_challenge.validators;
 
-import br.dev.viniciusleonel.backend_challenge.infra.exception.InvalidClaimException;
-import br.dev.viniciusleonel.backend_challenge.utils.NumberUtils;
-import com.auth0.jwt.interfaces.DecodedJWT;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
 
+// Valida se o JWT contém a claim 'Seed', se é um número inteiro e se é primo (regra "Seed" em claim-rules.properties)
 public class SeedValidator implements ClaimValidator{
 
-    private static final Logger log = LoggerFactory.getLogger(SeedValidator.class);
+    private final ClaimValidator rule;
 
-    // Valida se o JWT contém a claim 'Seed', se é um número inteiro e se é primo
-    @Override
-    public boolean validate(DecodedJWT jwt) {
-        log.info("Iniciando validacao da claim Seed");
-        String seedStr = jwt.getClaim("Seed").asString();
-        if (seedStr == null || seedStr.isEmpty()) {
-            log.error("Seed nulo ou vazio: {}", seedStr);
-            throw new InvalidClaimException("Seed nulo ou vazio");
-        }
+    public SeedValidator() {
+        this(JwtValidationConfig.ALLOW_64_BIT_SEEDS);
+    }
 
-        int seed;
-        try {
-            seed = Integer.parseInt(seedStr);
-        } catch (NumberFormatException e) {
-            log.error("Seed invalido: {}", seedStr);
-            throw new InvalidClaimException("Seed inválido");
-        }
+    // Com allow64BitSeeds a Seed pode ser qualquer long; caso contrario precisa caber em um int
+    public SeedValidator(boolean allow64BitSeeds) {
+        this.rule = ClaimRules.compile(JwtValidationConfig.getRule("Seed").withIntegerBits(allow64BitSeeds ? 64 : 32));
+    }
 
-        if (!NumberUtils.isPrime(seed)) {
-            log.error("Seed nao e primo: {}", seedStr);
-            throw new InvalidClaimException("Seed nao é primo");
-        }
+    @Override
+    public ValidationResult check(JwtClaims claims) {
+        return rule.check(claims);
+    }
 
-        log.debug("Seed valida: {}", seed);
-        return true;
+    @Override
+    public String getClaimName() {
+        return rule.getClaimName();
     }
 }
@@ -0,0 +1,39 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+// Motivo do resultado de uma validacao e o status HTTP correspondente
+public enum ValidationReason {
+    VALID(200),
+
+    // Token ausente ou malformado: 400
+    TOKEN_EMPTY(400),
+    TOKEN_MALFORMED(400),
+    TOKEN_TOO_LONG(400),
+    TOKEN_SEGMENT_COUNT(400),
+    TOKEN_INVALID_CHARACTER(400),
+    TOKEN_HEADER_PREFIX(400),
+    CLAIMS_COUNT_MISMATCH(400),
+    SIGNATURE_INVALID(400),
+
+    // Claim presente no token mas invalida: 422
+    CLAIM_MISSING(422),
+    CLAIM_TOO_SHORT(422),
+    CLAIM_TOO_LONG(422),
+    CLAIM_INVALID_CHARACTERS(422),
+    CLAIM_NOT_ALLOWED(422),
+    CLAIM_NOT_NUMERIC(422),
+    CLAIM_NOT_PRIME(422);
+
+    private final int httpStatus;
+
+    ValidationReason(int httpStatus) {
+        this.httpStatus = httpStatus;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public boolean isClaimError() {
+        return httpStatus == 422;
+    }
+}
@@ -0,0 +1,41 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+
+import br.dev.viniciusleonel.backend_challenge.infra.exception.InvalidClaimException;
+
+/**
+ * Resultado de uma validacao sem excecoes: motivo, claim envolvida (quando houver) e mensagem.
+ * Os validadores mantem instancias pre-alocadas para cada rejeicao, entao o caminho quente nao aloca.
+ */
+public record ValidationResult(ValidationReason reason, String claim, String message) {
+
+    public static final ValidationResult VALID = new ValidationResult(ValidationReason.VALID, null, null);
+
+    public static ValidationResult invalid(ValidationReason reason, String claim, String message) {
+        return new ValidationResult(reason, claim, message);
+    }
+
+    public boolean isValid() {
+        return reason == ValidationReason.VALID;
+    }
+
+    public int httpStatus() {
+        return reason.getHttpStatus();
+    }
+
+    // Adaptador para a API antiga: lanca InvalidClaimException (422) ou JWTDecodeException (400)
+    // e retorna false apenas para total de claims invalido, como antes
+    public boolean orThrow() {
+        if (reason == ValidationReason.VALID) {
+            return true;
+        }
+        if (reason.isClaimError()) {
+            throw new InvalidClaimException(message);
+        }
+        if (reason == ValidationReason.CLAIMS_COUNT_MISMATCH) {
+            return false;
+        }
+        throw new JWTDecodeException(message);
+    }
+}
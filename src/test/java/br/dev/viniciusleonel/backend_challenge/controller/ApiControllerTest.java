@@ -7,6 +7,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -77,4 +79,37 @@ public class ApiControllerTest {
 				.andExpect(status().isUnprocessableEntity()) // 422
 				.andExpect(jsonPath("$").value(false));
 	}
+
+	@Test
+	public void testValidateBatch() throws Exception {
+		// Cada linha recebe um resultado, na mesma ordem de entrada; linhas em branco sao ignoradas
+		String validToken = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+		String invalidClaimToken = JwtGenerator.generateJwtToken("Toninho123 Araujo", "Admin", "7841");
+		String body = validToken + "\n" + invalidClaimToken + "\n\ninvalid.token.format\n";
+
+		mockMvc.perform(post("/api/validate/batch")
+						.contentType("application/x-ndjson")
+						.content(body))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andExpect(content().string(
+						"{\"line\":1,\"valid\":true,\"status\":200}\n"
+						+ "{\"line\":2,\"valid\":false,\"status\":422,\"error\":\"Nome contem numeros\"}\n"
+						+ "{\"line\":4,\"valid\":false,\"status\":400,\"error\":\"Falha ao decodificar, JWT nulo ou vazio\"}\n"));
+	}
+
+	@Test
+	public void testValidateBatchRejectsOversizedLine() throws Exception {
+		// Uma linha acima do tamanho maximo de token e rejeitada sem ser acumulada, e a leitura segue na proxima
+		String validToken = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+		String body = "eyJ" + "a".repeat(100_000) + "\n" + validToken + "\r\n";
+
+		mockMvc.perform(post("/api/validate/batch")
+						.contentType("application/x-ndjson")
+						.content(body))
+				.andExpect(status().isOk())
+				.andExpect(content().string(
+						"{\"line\":1,\"valid\":false,\"status\":400,\"error\":\"Falha ao decodificar, JWT nulo ou vazio\"}\n"
+						+ "{\"line\":2,\"valid\":true,\"status\":200}\n"));
+	}
 }
@@ -28,6 +28,7 @@ class MonitoringControllerTest {
 
     @AfterEach
     void tearDown() {
+        TraceContext.endTrace();
         MDC.clear();
     }
 
@@ -0,0 +1,78 @@
+package br.dev.viniciusleonel.backend_challenge.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+
+// Mesmos cenarios do ApiControllerTest, servidos pelo WebFlux/Netty do profile "reactive"
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveApiControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext applicationContext;
+
+	@Test
+	public void testServedByNetty() {
+		// Com o Tomcat tambem no classpath, o servidor do profile precisa ser o Netty
+		assertTrue(applicationContext.getWebServer() instanceof NettyWebServer,
+				() -> "Servidor: " + applicationContext.getWebServer().getClass().getName());
+	}
+
+	@Test
+	public void testValidateValidToken() {
+		String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+		webTestClient.get().uri(uri -> uri.path("/api/validate").queryParam("token", token).build())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(Boolean.class).isEqualTo(true);
+	}
+
+	@Test
+	public void testValidateInvalidToken() {
+		// Token com claim inválido (Name com números) deve retornar 422
+		String token = JwtGenerator.generateJwtToken("Toninho123 Araujo", "Admin", "7841");
+		webTestClient.get().uri(uri -> uri.path("/api/validate").queryParam("token", token).build())
+				.exchange()
+				.expectStatus().isEqualTo(422)
+				.expectBody(Boolean.class).isEqualTo(false);
+	}
+
+	@Test
+	public void testValidateMalformedToken() {
+		webTestClient.get().uri(uri -> uri.path("/api/validate").queryParam("token", "invalid.token.format").build())
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody(Boolean.class).isEqualTo(false);
+	}
+
+	@Test
+	public void testTraceContextPropagatesPerRequest() {
+		// Cada requisicao recebe seu proprio trace, lido do Context do Reactor e nao de um MDC compartilhado
+		ParameterizedTypeReference<Map<String, Object>> type = new ParameterizedTypeReference<>() {};
+		Map<String, Object> first = webTestClient.get().uri("/monitoring/tracing/current")
+				.exchange().expectStatus().isOk().expectBody(type).returnResult().getResponseBody();
+		Map<String, Object> second = webTestClient.get().uri("/monitoring/tracing/current")
+				.exchange().expectStatus().isOk().expectBody(type).returnResult().getResponseBody();
+
+		assertNotNull(first.get("traceId"));
+		assertNotNull(first.get("requestId"));
+		assertNotEquals(first.get("traceId"), second.get("traceId"));
+	}
+}
@@ -0,0 +1,24 @@
+package br.dev.viniciusleonel.backend_challenge.infra.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class ApplicationSettingsTest {
+
+    @Test
+    void shouldReadApplicationPropertiesWithSystemPropertiesOnTop() {
+        // Valor do application.properties e padrao do codigo para chaves ausentes
+        assertEquals(8192, ApplicationSettings.getInt("jwt.validation.max-token-length", 0));
+        assertEquals(0.01, ApplicationSettings.getDouble("jwt.tracing.sample-rate", 1.0));
+        assertEquals("", ApplicationSettings.getString("jwt.claim-rules", "default"));
+        assertEquals(7L, ApplicationSettings.getLong("jwt.settings-test.missing", 7L));
+
+        System.setProperty("jwt.settings-test.enabled", "true");
+        try {
+            assertEquals(true, ApplicationSettings.getBoolean("jwt.settings-test.enabled", false));
+        } finally {
+            System.clearProperty("jwt.settings-test.enabled");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class DeduplicatingErrorLogTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("br.dev.viniciusleonel.backend_challenge.DeduplicatingErrorLogTest");
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final DeduplicatingErrorLog failures = new DeduplicatingErrorLog(10_000, clock::get);
+    private ListAppender<ILoggingEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        events = new ListAppender<>();
+        events.start();
+        logger.addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(events);
+    }
+
+    @Test
+    void shouldLogFirstOccurrenceAndCountTheRestOfTheWindow() {
+        for (int i = 0; i < 100; i++) {
+            failures.error(logger, "CLAIM_INVALID_CHARACTERS", "Name", "{} (claim {})", "Nome contem numeros", "Name");
+        }
+
+        assertEquals(1, events.list.size());
+        assertEquals("Nome contem numeros (claim Name)", events.list.get(0).getFormattedMessage());
+        assertNull(events.list.get(0).getThrowableProxy());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> suppressed = (Map<String, Object>) failures.getStats().get("suppressed");
+        assertEquals(99L, suppressed.get("CLAIM_INVALID_CHARACTERS"));
+    }
+
+    @Test
+    void shouldSummarizeSuppressedCountWhenWindowEnds() {
+        for (int i = 0; i < 5; i++) {
+            failures.error(logger, "TOKEN_MALFORMED", null, "Falha ao decodificar JWT");
+        }
+        clock.addAndGet(10_000);
+        failures.error(logger, "TOKEN_MALFORMED", null, "Falha ao decodificar JWT");
+
+        assertEquals(2, events.list.size());
+        assertEquals("Falha ao decodificar JWT [+4 ocorrencia(s) suprimida(s) nos ultimos 10s]",
+                events.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void shouldKeepSeparateWindowsPerReasonAndClaim() {
+        failures.error(logger, "CLAIM_INVALID_CHARACTERS", "Name", "Nome contem numeros");
+        failures.error(logger, "CLAIM_NOT_ALLOWED", "Role", "Role invalida");
+        failures.error(logger, "CLAIM_INVALID_CHARACTERS", "Name", "Nome contem numeros");
+
+        assertEquals(2, events.list.size());
+        assertEquals(2, failures.getStats().get("activeKeys"));
+    }
+
+    @Test
+    void shouldKeepSeparateWindowsPerCallSite() {
+        // Mesmo motivo vindo de outro logger (outro ponto de log) tem janela propria e sai no proprio logger
+        Logger scanner = (Logger) LoggerFactory.getLogger("br.dev.viniciusleonel.backend_challenge.DeduplicatingErrorLogTest.scanner");
+        failures.error(logger, "TOKEN_MALFORMED", null, "Falha ao decodificar JWT");
+        failures.error(scanner, "TOKEN_MALFORMED", null, "Payload invalido");
+
+        assertEquals(2, events.list.size());
+        assertEquals(scanner.getName(), events.list.get(1).getLoggerName());
+        assertEquals(2, failures.getStats().get("activeKeys"));
+    }
+
+    @Test
+    void shouldSummarizeWithRenderedSampleMessage() {
+        for (int i = 0; i < 3; i++) {
+            failures.error(logger, "CLAIM_INVALID_CHARACTERS", "Name", "{} (claim {}, {} caracteres)", "Nome contem numeros", "Name", 10 + i);
+        }
+        clock.addAndGet(10_000);
+        failures.flush();
+
+        assertEquals(2, events.list.size());
+        assertEquals("2 ocorrencia(s) suprimida(s) nos ultimos 10s: Nome contem numeros (claim Name, 11 caracteres) "
+                + "(motivo CLAIM_INVALID_CHARACTERS, claim Name)", events.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void shouldFlushPendingSummaryAfterBurstEnds() {
+        failures.error(logger, "SIGNATURE_INVALID", null, "Assinatura do JWT invalida");
+        failures.error(logger, "SIGNATURE_INVALID", null, "Assinatura do JWT invalida");
+        failures.error(logger, "SIGNATURE_INVALID", null, "Assinatura do JWT invalida");
+
+        failures.flush();
+        assertEquals(1, events.list.size());
+
+        clock.addAndGet(10_000);
+        failures.flush();
+        failures.flush();
+
+        assertEquals(2, events.list.size());
+        assertEquals("2 ocorrencia(s) suprimida(s) nos ultimos 10s: Assinatura do JWT invalida (motivo SIGNATURE_INVALID, claim null)",
+                events.list.get(1).getFormattedMessage());
+    }
+}
@@ -0,0 +1,168 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = context.getLogger("br.dev.viniciusleonel.backend_challenge.RingBufferAppenderTest");
+    private RingBufferAppender appender;
+
+    @AfterEach
+    void tearDown() {
+        if (appender != null) {
+            appender.stop();
+            logger.detachAppender(appender);
+        }
+        MDC.clear();
+    }
+
+    @Test
+    void shouldWriteEventsWithConsolePatternLayout() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        appender = start("DROP", 16, output);
+
+        MDC.put("requestId", "req-1");
+        MDC.put("endpoint", "/api/validate");
+        MDC.put("traceId", "trace-1");
+        logger.info("Validando {} claims \\{} de {}", 3, "Joao Conceicao");
+        appender.stop();
+
+        String line = output.toString(StandardCharsets.UTF_8);
+        assertTrue(line.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2} \\[.+\\] INFO  .+ \\[req-1\\] \\[/api/validate\\] "
+                + "\\[trace-1\\] \\[\\] \\[\\] \\[ms\\] - Validando 3 claims \\{\\} de Joao Conceicao\n"), line);
+    }
+
+    @Test
+    void shouldShareFormattedDateAcrossEventsAndKeepLateEventsCorrect() {
+        // Uma unica data formatada por segundo para todos os produtores; um evento atrasado recebe a propria data
+        GarbageFreeLogLayout layout = new GarbageFreeLogLayout();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+        long second = 1_700_000_000_000L;
+        long[] timestamps = {second, second + 999, second + 1_000, second + 500, second + 1_500, second + 61_000};
+
+        for (long timestamp : timestamps) {
+            LoggingEvent event = new LoggingEvent(null, logger, Level.INFO, "evento", null, null);
+            event.setTimeStamp(timestamp);
+            StringBuilder out = new StringBuilder();
+            layout.format(event, out);
+            assertTrue(out.toString().startsWith(formatter.format(Instant.ofEpochMilli(timestamp)) + " ["), out.toString());
+        }
+    }
+
+    @Test
+    void shouldDropAndCountEventsWhenBufferIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingOutputStream output = new BlockingOutputStream(release);
+        appender = start("DROP", 4, output);
+
+        // Prende a thread de escrita na primeira escrita; depois disso so cabem 4 eventos no buffer
+        logger.info("primeiro");
+        assertTrue(output.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            logger.info("evento {}", i);
+        }
+        assertEquals(46L, appender.getAppenderStats().get("dropped"));
+        assertEquals(4L, appender.getAppenderStats().get("queueDepth"));
+
+        release.countDown();
+        appender.stop();
+
+        assertEquals(5L, appender.getAppenderStats().get("written"));
+        assertEquals(5, output.content().lines().count());
+    }
+
+    @Test
+    void shouldWaitForSpaceWhenPolicyIsBlock() {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingOutputStream output = new BlockingOutputStream(release);
+        appender = start("BLOCK", 4, output);
+
+        Thread releaser = new Thread(() -> {
+            sleep(100);
+            release.countDown();
+        });
+        releaser.start();
+        for (int i = 0; i < 50; i++) {
+            logger.info("evento {}", i);
+        }
+        appender.stop();
+
+        assertEquals(0L, appender.getAppenderStats().get("dropped"));
+        assertEquals(50L, appender.getAppenderStats().get("written"));
+        assertEquals(50, output.content().lines().count());
+    }
+
+    private RingBufferAppender start(String policy, int bufferSize, OutputStream output) {
+        RingBufferAppender ringBuffer = new RingBufferAppender();
+        ringBuffer.setContext(context);
+        ringBuffer.setName("TEST_RING_BUFFER");
+        ringBuffer.setBufferSize(bufferSize);
+        ringBuffer.setOverflowPolicy(policy);
+        ringBuffer.setOutputStream(output);
+        ringBuffer.start();
+
+        logger.setAdditive(false);
+        logger.addAppender(ringBuffer);
+        return ringBuffer;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Simula um console lento: a thread de escrita fica presa ate o latch ser liberado
+    private static class BlockingOutputStream extends OutputStream {
+        private final CountDownLatch release;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        BlockingOutputStream(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            content.write(b, off, len);
+        }
+
+        synchronized String content() {
+            return content.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
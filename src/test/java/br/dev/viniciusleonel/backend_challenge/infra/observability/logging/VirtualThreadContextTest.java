@@ -0,0 +1,83 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceContext;
+import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceSpan;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+import br.dev.viniciusleonel.backend_challenge.validators.JwtValidator;
+import jdk.jfr.consumer.RecordingStream;
+
+// Ciclo de requisicao (interceptor + span + validacao) em threads virtuais, como com spring.threads.virtual.enabled=true
+class VirtualThreadContextTest {
+
+    private final LoggingInterceptor interceptor = new LoggingInterceptor(new MetricsCollector());
+    private final JwtValidator jwtValidator = new JwtValidator();
+    private final String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+
+    // Simula uma requisicao; a pausa faz a thread virtual estacionar com o contexto de trace aberto
+    private String handleRequest() throws InterruptedException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/validate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        String traceId = TraceContext.getCurrentTraceId();
+        try (TraceSpan span = new TraceSpan("validateJwt")) {
+            Thread.sleep(1);
+            assertTrue(jwtValidator.validate(token).isValid());
+            // O contexto continua sendo o desta requisicao depois de desmontar/remontar a thread virtual
+            assertEquals(traceId, TraceContext.getCurrentTraceId());
+        }
+        interceptor.afterCompletion(request, response, null, null);
+
+        Map<String, String> leftover = MDC.getCopyOfContextMap();
+        assertTrue(leftover == null || leftover.isEmpty(), "MDC vazou: " + leftover);
+        return traceId;
+    }
+
+    @Test
+    void shouldNotLeakOrPinTraceContextOnVirtualThreads() throws Exception {
+        AtomicInteger pinned = new AtomicInteger();
+        Set<String> traceIds = ConcurrentHashMap.newKeySet();
+        int requests = 2000;
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.incrementAndGet());
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < requests; i++) {
+                    results.add(executor.submit(this::handleRequest));
+                }
+                for (Future<String> result : results) {
+                    traceIds.add(result.get());
+                }
+            }
+            recording.stop();
+        }
+
+        // Cada requisicao teve seu proprio trace e nenhuma estacionou presa a thread carregadora
+        assertEquals(requests, traceIds.size());
+        assertEquals(0, pinned.get());
+    }
+}
@@ -1,12 +1,22 @@
 package br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring.MetricsCollector;
+import br.dev.viniciusleonel.backend_challenge.validators.ValidationReason;
+import br.dev.viniciusleonel.backend_challenge.validators.ValidationResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 class MetricsCollectorTest {
 
@@ -77,6 +87,21 @@ class MetricsCollectorTest {
         assertEquals(1L, claimErrors.get("Role:invalid_role"));
     }
 
+    @Test
+    void shouldRecordValidationResultByRejectionKind() {
+        // When
+        metricsCollector.recordValidationResult(ValidationResult.VALID);
+        metricsCollector.recordValidationResult(ValidationResult.invalid(ValidationReason.CLAIM_NOT_PRIME, "Seed", "Seed invalido"));
+        metricsCollector.recordValidationResult(ValidationResult.invalid(ValidationReason.SIGNATURE_INVALID, null, "Assinatura invalida"));
+        
+        // Then
+        Map<String, Object> metrics = metricsCollector.getMetrics();
+        assertEquals(3L, metrics.get("totalJwtValidations"));
+        assertEquals(1L, metrics.get("validJwts"));
+        assertEquals(1L, ((Map<String, Object>) metrics.get("claimValidationErrors")).get("Seed:CLAIM_NOT_PRIME"));
+        assertEquals(1L, ((Map<String, Object>) metrics.get("tokenRejections")).get("SIGNATURE_INVALID"));
+    }
+
     @Test
     void shouldCalculatePerformanceMetrics() {
         // Given
@@ -95,6 +120,151 @@ class MetricsCollectorTest {
         assertEquals(150L, performance.get("maxResponseTime"));
     }
 
+    @Test
+    void shouldReportEndpointPercentilesWithNanosecondResolution() {
+        // Given: 1000 requisicoes de 0,1ms a 100ms
+        for (long i = 1; i <= 1000; i++) {
+            metricsCollector.recordSuccessfulRequestNanos("/api/validate", "GET", i * 100_000L);
+        }
+        
+        // When
+        Map<String, Object> metrics = metricsCollector.getMetrics();
+        Map<String, Object> endpoints = (Map<String, Object>) metrics.get("endpointMetrics");
+        Map<String, Object> endpoint = (Map<String, Object>) endpoints.get("/api/validate:GET");
+        
+        // Then: percentis dentro da precisao dos buckets (~3%)
+        assertEquals(1000L, endpoint.get("requests"));
+        assertEquals(0L, endpoint.get("minResponseTime"));
+        assertEquals(100L, endpoint.get("maxResponseTime"));
+        assertEquals(100_000_000L, endpoint.get("maxResponseTimeNanos"));
+        assertEquals(50.05, (Double) endpoint.get("avgResponseTime"), 0.001);
+        assertEquals(50.0, (Double) endpoint.get("p50ResponseTime"), 50.0 * 0.04);
+        assertEquals(90.0, (Double) endpoint.get("p90ResponseTime"), 90.0 * 0.04);
+        assertEquals(99.0, (Double) endpoint.get("p99ResponseTime"), 99.0 * 0.04);
+        assertTrue((Double) endpoint.get("p999ResponseTime") <= 100.0);
+    }
+
+    @Test
+    void shouldReportRecentWindowsPerEndpoint() {
+        // When
+        metricsCollector.recordSuccessfulRequestNanos("/api/validate", "GET", 1_000_000L);
+        metricsCollector.recordFailedRequestNanos("/api/validate", "GET", 3_000_000L, "HTTP_422");
+        metricsCollector.recordJwtValidation(true);
+        
+        // Then
+        Map<String, Object> metrics = metricsCollector.getMetrics();
+        Map<String, Object> lastMinute = (Map<String, Object>) ((Map<String, Object>) metrics.get("windows")).get("1m");
+        assertEquals(2L, lastMinute.get("requests"));
+        assertEquals(50.0, lastMinute.get("errorRate"));
+        assertEquals(100.0, lastMinute.get("jwtValidationRate"));
+        
+        Map<String, Object> endpoint = (Map<String, Object>) ((Map<String, Object>) metrics.get("endpointMetrics")).get("/api/validate:GET");
+        Map<String, Object> endpointWindows = (Map<String, Object>) endpoint.get("windows");
+        assertEquals(2L, ((Map<String, Object>) endpointWindows.get("15m")).get("requests"));
+    }
+
+    @Test
+    void shouldAggregateEndpointsBeyondLimitIntoOther() {
+        // Given - endpoints ate o limite, como caminhos distintos de um scanner
+        for (int i = 0; i < MetricsCollector.MAX_ENDPOINTS; i++) {
+            metricsCollector.recordFailedRequestNanos("/scan/" + i, "GET", 1_000L, "HTTP_404");
+        }
+        
+        // When
+        metricsCollector.recordFailedRequestNanos("/scan/extra-1", "GET", 1_000L, "HTTP_404");
+        metricsCollector.recordFailedRequestNanos("/scan/extra-2", "POST", 2_000L, "HTTP_404");
+        metricsCollector.recordSuccessfulRequestNanos("/scan/0", "GET", 1_000L);
+        
+        // Then
+        Map<String, Object> endpoints = (Map<String, Object>) metricsCollector.getMetrics().get("endpointMetrics");
+        assertEquals(MetricsCollector.MAX_ENDPOINTS + 1, endpoints.size());
+        Map<String, Object> other = (Map<String, Object>) endpoints.get(MetricsCollector.OTHER_ENDPOINT);
+        assertEquals(2L, other.get("requests"));
+        assertEquals(2L, other.get("errors"));
+        assertEquals(2L, ((Map<String, Object>) endpoints.get("/scan/0:GET")).get("requests"));
+    }
+
+    @Test
+    void shouldWritePrometheusTextExposition() throws IOException {
+        // Given
+        metricsCollector.recordSuccessfulRequestNanos("/api/validate", "GET", 1_441_000L);
+        metricsCollector.recordFailedRequestNanos("/api/validate", "GET", 2_032_000L, "HTTP_422");
+        metricsCollector.recordJwtValidation(true);
+        metricsCollector.recordClaimValidationError("Name", "contains_numbers");
+        
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = metricsCollector.writePrometheus(out);
+        String text = out.toString(StandardCharsets.UTF_8);
+        
+        // Then
+        assertEquals(out.size(), written);
+        assertTrue(text.contains("# TYPE backend_challenge_requests_total counter\nbackend_challenge_requests_total 2\n"));
+        assertTrue(text.contains("backend_challenge_jwt_validations_total{result=\"valid\"} 1\n"));
+        assertTrue(text.contains("backend_challenge_endpoint_errors_total{endpoint=\"/api/validate\",method=\"GET\"} 1\n"));
+        assertTrue(text.contains("backend_challenge_request_duration_seconds{endpoint=\"/api/validate\",method=\"GET\",quantile=\"0.999\"} 0.002032\n"));
+        assertTrue(text.contains("backend_challenge_request_duration_seconds_sum{endpoint=\"/api/validate\",method=\"GET\"} 0.003473\n"));
+        assertTrue(text.contains("backend_challenge_request_duration_seconds_count{endpoint=\"/api/validate\",method=\"GET\"} 2\n"));
+        assertTrue(text.contains("backend_challenge_claim_validation_errors_total{claim=\"Name\",error=\"contains_numbers\"} 1\n"));
+        
+        // O mesmo scrape de novo produz o mesmo texto, reaproveitando buffer e rotulos
+        assertEquals(text, new String(metricsCollector.getPrometheusMetrics(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldNotHoldPrometheusLockWhileWritingToClient() throws Exception {
+        // Given - um cliente que trava no meio da escrita
+        metricsCollector.recordRequest("/api/validate", "GET");
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream slowClient = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        CompletableFuture<Integer> slowScrape = CompletableFuture.supplyAsync(() -> {
+            try {
+                return metricsCollector.writePrometheus(slowClient);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // When - outros scrapes chegam enquanto o primeiro ainda escreve (o buffer reserva esta com ele)
+        ByteArrayOutputStream other = new ByteArrayOutputStream();
+        CompletableFuture<Integer> otherScrape = CompletableFuture.supplyAsync(() -> {
+            try {
+                return metricsCollector.writePrometheus(other);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // Then
+        try {
+            int written = otherScrape.get(5, TimeUnit.SECONDS);
+            assertEquals(other.size(), written);
+            assertTrue(other.toString(StandardCharsets.UTF_8).contains("backend_challenge_requests_total 1\n"));
+            byte[] copy = CompletableFuture.supplyAsync(metricsCollector::getPrometheusMetrics).get(5, TimeUnit.SECONDS);
+            assertEquals(other.toString(StandardCharsets.UTF_8), new String(copy, StandardCharsets.UTF_8));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(other.size(), slowScrape.get(5, TimeUnit.SECONDS));
+    }
+
     @Test
     void shouldResetMetrics() {
         // Given
@@ -0,0 +1,75 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class PrometheusWriterTest {
+
+    private static String text(PrometheusWriter writer) {
+        return new String(writer.buffer(), 0, writer.length(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldWriteNumbersWithoutIntermediateStrings() {
+        PrometheusWriter writer = new PrometheusWriter();
+        long[] values = {0, 7, 10, 1_234_567_890_123L, -42, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            writer.writeLong(value);
+            writer.writeSeconds(1_441_000L);
+        }
+
+        assertEquals("00.00144170.001441100.0014411234567890123"
+                + "0.001441-420.00144192233720368547758070.001441-92233720368547758080.001441", text(writer));
+
+        writer.reset();
+        writer.writeSeconds(2_500_000_000L);
+        writer.writeSeconds(3_000_000_000L);
+        assertEquals("2.53", text(writer));
+    }
+
+    @Test
+    void shouldEscapeAndCacheLabels() {
+        PrometheusWriter.Labels labels = new PrometheusWriter.Labels("endpoint", "method");
+        byte[] rendered = labels.of("/api/\"quoted\"\\path:GET");
+
+        assertEquals("endpoint=\"/api/\\\"quoted\\\"\\\\path\",method=\"GET\"", new String(rendered, StandardCharsets.UTF_8));
+        assertSame(rendered, labels.of("/api/\"quoted\"\\path:GET"));
+    }
+
+    @Test
+    void shouldGrowTheBufferAndKeepItAcrossResets() {
+        PrometheusWriter writer = new PrometheusWriter();
+        for (int i = 0; i < 2_000; i++) {
+            writer.sample("backend_challenge_requests_total", i);
+        }
+        byte[] grown = writer.buffer();
+
+        writer.reset();
+        writer.family("backend_challenge_requests_total", "counter", "Requisicoes registradas");
+        assertSame(grown, writer.buffer());
+        assertEquals("# HELP backend_challenge_requests_total Requisicoes registradas\n"
+                + "# TYPE backend_challenge_requests_total counter\n", text(writer));
+    }
+
+    @Test
+    void shouldHandOffRenderedBufferAndContinueInSpare() {
+        PrometheusWriter writer = new PrometheusWriter();
+        writer.writeLong(42);
+        byte[] first = writer.buffer();
+        byte[] spare = new byte[64];
+
+        assertSame(first, writer.swapBuffer(spare));
+        assertSame(spare, writer.buffer());
+        assertEquals(0, writer.length());
+
+        // Sem reserva, um buffer novo do mesmo tamanho
+        writer.writeLong(7);
+        assertEquals("7", text(writer));
+        assertSame(spare, writer.swapBuffer(null));
+        assertEquals(spare.length, writer.buffer().length);
+    }
+}
@@ -0,0 +1,75 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RollingWindowTest {
+
+    private static final long MINUTE = 60_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * MINUTE);
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> window(RollingWindow rolling, String name) {
+        return (Map<String, Object>) rolling.getWindows().get(name);
+    }
+
+    @Test
+    void shouldOnlyCountRequestsInsideEachWindow() {
+        RollingWindow rolling = new RollingWindow(false, clock::get);
+        for (int i = 0; i < 10; i++) {
+            rolling.recordRequest(2_000_000L, i < 5);
+        }
+        clock.addAndGet(3 * MINUTE);
+        for (int i = 0; i < 4; i++) {
+            rolling.recordRequest(1_000_000L, false);
+        }
+
+        Map<String, Object> lastMinute = window(rolling, "1m");
+        assertEquals(4L, lastMinute.get("requests"));
+        assertEquals(0.0, lastMinute.get("errorRate"));
+        assertEquals(1.0, (Double) lastMinute.get("p99ResponseTime"), 0.125);
+
+        Map<String, Object> lastFiveMinutes = window(rolling, "5m");
+        assertEquals(14L, lastFiveMinutes.get("requests"));
+        assertEquals(5L, lastFiveMinutes.get("errors"));
+        assertEquals(2.0, (Double) lastFiveMinutes.get("p99ResponseTime"), 0.25);
+        assertEquals(2.0, lastFiveMinutes.get("maxResponseTime"));
+        assertFalse(lastFiveMinutes.containsKey("jwtValidationRate"));
+    }
+
+    @Test
+    void shouldReuseSlotsAfterTheRingWrapsAround() {
+        RollingWindow rolling = new RollingWindow(false, clock::get);
+        rolling.recordRequest(1_000_000L, true);
+        clock.addAndGet(16 * MINUTE);
+        rolling.recordRequest(1_000_000L, false);
+
+        Map<String, Object> lastQuarterHour = window(rolling, "15m");
+        assertEquals(1L, lastQuarterHour.get("requests"));
+        assertEquals(0L, lastQuarterHour.get("errors"));
+    }
+
+    @Test
+    void shouldReportRatesPerSecondOverCoveredTime() {
+        RollingWindow rolling = new RollingWindow(true, clock::get);
+        // 5s dentro da fatia atual: a janela de 1m cobre as 3 fatias anteriores inteiras mais 5s (50s)
+        clock.addAndGet(MINUTE + 5_000_000_000L);
+        for (int i = 0; i < 120; i++) {
+            rolling.recordJwtValidation(i % 4 != 0);
+        }
+
+        Map<String, Object> lastMinute = window(rolling, "1m");
+        assertEquals(1.8, lastMinute.get("validJwtsPerSecond"));
+        assertEquals(0.6, lastMinute.get("invalidJwtsPerSecond"));
+        assertEquals(75.0, lastMinute.get("jwtValidationRate"));
+
+        rolling.reset();
+        assertEquals(0.0, window(rolling, "1m").get("jwtValidationRate"));
+    }
+}
@@ -0,0 +1,47 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class IdGeneratorTest {
+
+    @Test
+    void shouldGenerateRequestIdsInUuidVersion4Format() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = IdGenerator.nextRequestId();
+            UUID uuid = UUID.fromString(id);
+
+            assertEquals(uuid.toString(), id);
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+            ids.add(id);
+        }
+        assertEquals(1000, ids.size());
+    }
+
+    @Test
+    void shouldKeepSpanIdsWithin32BitsAndNonZero() {
+        for (int i = 0; i < 1000; i++) {
+            long spanId = IdGenerator.nextSpanId();
+            assertEquals(0, spanId >>> 32);
+            assertNotEquals(0, spanId);
+            assertNotEquals(0, IdGenerator.nextTraceId());
+        }
+    }
+
+    @Test
+    void shouldEncodeHexWithLeadingZeros() {
+        assertEquals("000000000000002a", IdGenerator.toHex(42, 16));
+        assertEquals("ffffffff", IdGenerator.toHex(-1L, 8));
+        assertEquals("89abcdef", IdGenerator.toHex(0x0123456789abcdefL, 8));
+        assertTrue(IdGenerator.toHex(IdGenerator.nextTraceId(), 16).matches("[0-9a-f]{16}"));
+    }
+}
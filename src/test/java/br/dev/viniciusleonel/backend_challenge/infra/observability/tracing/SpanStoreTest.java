@@ -0,0 +1,149 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SpanStoreTest {
+
+    private TraceState request(String endpoint, long startTime) {
+        TraceState trace = TraceContext.newTrace();
+        trace.setRequest("request-" + startTime, endpoint, "GET", startTime);
+        return trace;
+    }
+
+    // Simula um TraceSpan fechado dentro do trace
+    private static void closeSpan(TraceState trace, String operation, String error) {
+        trace.pushSpan(IdGenerator.nextSpanId(), operation);
+        trace.recordSpan(operation, trace.getStartTime(), 1_000, error);
+        trace.popSpan();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAlwaysKeepFailedTracesAndFindThemByErrorType() {
+        SpanStore store = new SpanStore(16, 8, 0, 10, 60_000, 0.0);
+
+        TraceState failed = request("/api/validate", 1_000);
+        closeSpan(failed, "validateJwt", "CLAIM_INVALID_CHARACTERS");
+        failed.setErrorType("HTTP_422");
+        store.finishTrace(failed);
+        store.finishTrace(request("/api/validate", 2_000));
+
+        List<Map<String, Object>> found = store.search(null, "CLAIM_INVALID_CHARACTERS", 0, 0, Long.MAX_VALUE, 10);
+        assertEquals(1, found.size());
+        Map<String, Object> trace = found.get(0);
+        assertEquals(failed.getTraceIdHex(), trace.get("traceId"));
+        assertEquals("error", trace.get("keptBy"));
+        assertEquals(List.of("HTTP_422", "CLAIM_INVALID_CHARACTERS"), trace.get("errorTypes"));
+
+        List<Map<String, Object>> spans = (List<Map<String, Object>>) trace.get("spans");
+        assertEquals(2, spans.size());
+        assertEquals("root", spans.get(0).get("operation"));
+        assertEquals(spans.get(0).get("spanId"), spans.get(1).get("parentSpanId"));
+        assertEquals("CLAIM_INVALID_CHARACTERS", spans.get(1).get("error"));
+
+        // O trace sem erro nao foi mantido, mas entra nos agregados
+        assertEquals(1, store.search("/api/validate", null, 0, 0, Long.MAX_VALUE, 10).size());
+        assertEquals(1L, store.getStats().get("droppedTraces"));
+        assertEquals(2L, ((Map<String, Object>) store.getEndpointStats().get("/api/validate")).get("totalTraces"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepErrorTracesWithinPerEndpointBudget() throws InterruptedException {
+        SpanStore store = new SpanStore(64, 8, 0, 2, 500, 0.0);
+
+        for (int i = 1; i <= 5; i++) {
+            TraceState failed = request("/api/validate", i * 1_000L);
+            failed.setErrorType("HTTP_400");
+            store.finishTrace(failed);
+        }
+        TraceState otherEndpoint = request("/monitoring/metrics", 6_000);
+        otherEndpoint.setErrorType("HTTP_500");
+        store.finishTrace(otherEndpoint);
+
+        // Dois por endpoint na janela; os demais erros so sao contados
+        assertEquals(2, store.search("/api/validate", null, 0, 0, Long.MAX_VALUE, 10).size());
+        assertEquals(1, store.search("/monitoring/metrics", null, 0, 0, Long.MAX_VALUE, 10).size());
+        assertEquals(3L, store.getStats().get("droppedErrorTraces"));
+        assertEquals(100.0, ((Map<String, Object>) store.getEndpointStats().get("/api/validate")).get("errorRate"));
+
+        // Na janela seguinte a cota volta
+        Thread.sleep(550);
+        TraceState nextWindow = request("/api/validate", 7_000);
+        nextWindow.setErrorType("HTTP_400");
+        store.finishTrace(nextWindow);
+        assertEquals(3, store.search("/api/validate", null, 0, 0, Long.MAX_VALUE, 10).size());
+    }
+
+    @Test
+    void shouldKeepSlowestTracesPerEndpoint() throws InterruptedException {
+        SpanStore store = new SpanStore(16, 8, 1, 10, 60_000, 0.0);
+
+        TraceState slow = request("/api/validate", 1_000);
+        Thread.sleep(20);
+        store.finishTrace(slow);
+        store.finishTrace(request("/api/validate", 2_000));
+        store.finishTrace(request("/monitoring/metrics", 3_000));
+
+        List<Map<String, Object>> found = store.search(null, null, 10_000_000, 0, Long.MAX_VALUE, 10);
+        assertEquals(1, found.size());
+        assertEquals(slow.getTraceIdHex(), found.get(0).get("traceId"));
+        assertEquals("slow", found.get(0).get("keptBy"));
+
+        // O primeiro trace de outro endpoint ocupa a vaga de mais lento dele
+        assertEquals(1, store.search("/monitoring/metrics", null, 0, 0, Long.MAX_VALUE, 10).size());
+    }
+
+    @Test
+    void shouldBoundRetainedTracesAndSearchByTimeRange() {
+        SpanStore store = new SpanStore(16, 3, 0, 10, 60_000, 1.0);
+        for (int i = 1; i <= 6; i++) {
+            TraceState trace = request("/api/validate", i * 1_000L);
+            closeSpan(trace, "validateJwt", null);
+            store.finishTrace(trace);
+        }
+
+        assertEquals(3, store.getStats().get("retainedTraces"));
+        List<Map<String, Object>> all = store.search(null, null, 0, 0, Long.MAX_VALUE, 10);
+        assertEquals(List.of(6_000L, 5_000L, 4_000L), all.stream().map(t -> t.get("startTime")).toList());
+
+        List<Map<String, Object>> range = store.search(null, null, 0, 4_500, 5_500, 10);
+        assertEquals(1, range.size());
+        assertEquals("request-5000", range.get(0).get("requestId"));
+        assertEquals(1, store.search(null, null, 0, 0, Long.MAX_VALUE, 1).size());
+    }
+
+    @Test
+    void shouldEvictTracesWhoseSpansWereOverwritten() {
+        SpanStore store = new SpanStore(4, 10, 0, 10, 60_000, 1.0);
+        for (int i = 1; i <= 4; i++) {
+            TraceState trace = request("/api/validate", i * 1_000L);
+            closeSpan(trace, "validateJwt", null);
+            store.finishTrace(trace);
+        }
+
+        // 2 spans por trace em um buffer de 4: so os dois ultimos traces continuam inteiros
+        assertEquals(2, store.getStats().get("retainedTraces"));
+        assertEquals(4, store.recentSpans(10).size());
+    }
+
+    @Test
+    void shouldNotRecordUnsampledTraces() {
+        SpanStore store = new SpanStore(16, 8, 5, 10, 60_000, 1.0);
+        TraceState trace = TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00", null);
+        trace.setRequest("request-1", "/api/validate", "GET", 1_000);
+        trace.setErrorType("HTTP_500");
+
+        store.finishTrace(trace);
+
+        assertTrue(store.search(null, null, 0, 0, Long.MAX_VALUE, 10).isEmpty());
+        assertNull(store.getEndpointStats().get("/api/validate"));
+    }
+}
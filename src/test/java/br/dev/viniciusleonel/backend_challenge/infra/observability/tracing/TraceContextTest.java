@@ -1,6 +1,14 @@
 package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import br.dev.viniciusleonel.backend_challenge.infra.observability.logging.TraceContextMdcFilter;
 import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.TraceContext;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -8,18 +16,38 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 class TraceContextTest {
 
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger tracingLogger = loggerContext.getLogger(TraceContext.class.getPackageName());
+    private List<TurboFilter> savedTurboFilters;
+    private Level savedTracingLevel;
+
     @BeforeEach
     void setUp() {
+        // Testes com contexto Spring deixam o logback-spring.xml instalado; aqui o estado do Logback e controlado:
+        // so o TraceContextMdcFilter, com o pacote em DEBUG como no application.properties
+        savedTurboFilters = new ArrayList<>(loggerContext.getTurboFilterList());
+        savedTracingLevel = tracingLogger.getLevel();
+        loggerContext.getTurboFilterList().clear();
+        TraceContextMdcFilter filter = new TraceContextMdcFilter();
+        filter.setContext(loggerContext);
+        filter.start();
+        loggerContext.addTurboFilter(filter);
+        tracingLogger.setLevel(Level.DEBUG);
         MDC.clear();
     }
 
     @AfterEach
     void tearDown() {
+        TraceContext.endTrace();
         MDC.clear();
+        loggerContext.getTurboFilterList().clear();
+        loggerContext.getTurboFilterList().addAll(savedTurboFilters);
+        tracingLogger.setLevel(savedTracingLevel);
     }
 
     @Test
@@ -101,4 +129,49 @@ class TraceContextTest {
         // Then
         assertNotEquals(traceId1, traceId2);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldMirrorLogFieldsIntoMdcOnlyWhenSynced() {
+        // Given
+        TraceState trace = TraceContext.startTrace();
+        trace.setRequest("req-1", "/api/validate", "GET", 0L);
+        TraceContext.startSpan("validateJwt");
+
+        // Then - nada e gravado no MDC ate um log habilitado pedir a sincronizacao; abrir trace e span nao loga,
+        // mesmo com o filtro instalado e o pacote em DEBUG
+        assertNull(MDC.get(TraceContext.TRACE_ID));
+
+        TraceContext.syncMdc();
+        assertEquals(TraceContext.getCurrentTraceId(), MDC.get(TraceContext.TRACE_ID));
+        assertEquals(TraceContext.getCurrentSpanId(), MDC.get(TraceContext.SPAN_ID));
+        assertEquals("validateJwt", MDC.get(TraceContext.OPERATION_NAME));
+        assertEquals("req-1", MDC.get(TraceContext.REQUEST_ID));
+        assertNull(MDC.get(TraceContext.PARENT_SPAN_ID));
+
+        TraceContext.endSpan();
+        TraceContext.syncMdc();
+        assertEquals("root", MDC.get(TraceContext.OPERATION_NAME));
+
+        TraceContext.endTrace();
+        assertNull(MDC.get(TraceContext.TRACE_ID));
+        assertNull(MDC.get(TraceContext.REQUEST_ID));
+    }
+
+    @Test
+    void shouldAttachAndRestoreContextAcrossThreads() {
+        // Given
+        TraceState trace = TraceContext.newTrace();
+        assertNull(TraceContext.getCurrentTraceId());
+
+        // When
+        TraceState previous = TraceContext.attach(trace);
+        String attachedTraceId = TraceContext.getCurrentTraceId();
+        TraceContext.syncMdc();
+        TraceContext.restore(previous);
+
+        // Then
+        assertEquals(trace.getTraceIdHex(), attachedTraceId);
+        assertNull(TraceContext.getCurrentTraceId());
+        assertNull(MDC.get(TraceContext.TRACE_ID));
+    }
+}
@@ -0,0 +1,96 @@
+package br.dev.viniciusleonel.backend_challenge.infra.observability.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TraceParentTest {
+
+    private static final String UPSTREAM = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @AfterEach
+    void tearDown() {
+        TraceContext.endTrace();
+    }
+
+    @Test
+    void shouldContinueUpstreamTraceWithChildSpan() {
+        TraceState state = TraceParent.parse(UPSTREAM, "congo=t61rcWkgMzE");
+
+        assertNotNull(state);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", state.getTraceIdHex());
+        assertEquals("00f067aa0ba902b7", state.getParentSpanIdHex());
+        assertEquals(8, state.getSpanIdHex().length());
+        assertTrue(state.isSampled());
+        assertEquals("congo=t61rcWkgMzE", state.getVendorState());
+    }
+
+    @Test
+    void shouldHonorUnsampledFlag() {
+        TraceState state = TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00", null);
+
+        assertFalse(state.isSampled());
+        TraceContext.attach(state);
+        try (TraceSpan span = new TraceSpan("validateJwt")) {
+            span.addTag("endpoint", "/api/validate");
+            assertTrue(span.getTags().isEmpty());
+        }
+    }
+
+    @Test
+    void shouldFormatCurrentSpanAsTraceparent() {
+        TraceState state = TraceParent.parse(UPSTREAM, null);
+        String traceparent = TraceParent.format(state);
+
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-00000000" + state.getSpanIdHex() + "-01", traceparent);
+        assertNotNull(TraceParent.parse(traceparent, null));
+    }
+
+    @Test
+    void shouldPadLocalTraceIdsInTraceparent() {
+        TraceState state = TraceContext.startTrace();
+
+        assertEquals("00-0000000000000000" + state.getTraceIdHex() + "-00000000" + state.getSpanIdHex() + "-01",
+                TraceParent.format(state));
+    }
+
+    @Test
+    void shouldFallBackToNewRootTraceOnInvalidHeader() {
+        String[] invalid = {
+            null,
+            "",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7",
+            "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01",
+            "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",
+            "ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra",
+            "00_4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e473g-00f067aa0ba902b7-01"
+        };
+
+        for (String header : invalid) {
+            assertNull(TraceParent.parse(header, "congo=t61rcWkgMzE"), header);
+
+            TraceState state = TraceContext.startTrace(header, "congo=t61rcWkgMzE");
+            assertEquals(16, state.getTraceIdHex().length());
+            assertNull(state.getParentSpanIdHex());
+            assertNull(state.getVendorState());
+            assertTrue(state.isSampled());
+        }
+    }
+
+    @Test
+    void shouldAcceptFutureVersionsWithExtraFields() {
+        TraceState state = TraceParent.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-future", null);
+
+        assertNotNull(state);
+        assertNotEquals(0, state.getTraceIdHigh());
+    }
+}
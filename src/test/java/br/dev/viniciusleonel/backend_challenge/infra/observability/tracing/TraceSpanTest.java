@@ -5,6 +5,8 @@ import br.dev.viniciusleonel.backend_challenge.infra.observability.tracing.Trace
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.MDC;
@@ -21,6 +23,7 @@ class TraceSpanTest {
 
     @AfterEach
     void tearDown() {
+        TraceContext.endTrace();
         MDC.clear();
     }
 
@@ -112,4 +115,33 @@ class TraceSpanTest {
         // Then
         assertNotEquals(spanId, TraceContext.getCurrentSpanId());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldMeasureSubMillisecondDurationInNanos() {
+        // When
+        TraceSpan span = new TraceSpan("testOperation");
+        span.close();
+
+        // Then
+        assertTrue(span.getDurationNanos() >= 0);
+        assertEquals(span.getDurationNanos(), span.getMetrics().get("durationNanos"));
+        assertEquals(span.getDurationNanos() / 1_000_000.0, span.getMetrics().get("duration"));
+    }
+
+    @Test
+    void shouldReusePooledSpanWithoutPreviousTags() {
+        // Given
+        TraceSpan first = TraceSpan.start("first");
+        first.addBusinessContext("operation", "validation");
+        first.close();
+
+        // When
+        TraceSpan second = TraceSpan.start("second");
+
+        // Then
+        assertSame(first, second);
+        assertEquals("second", TraceContext.getCurrentOperationName());
+        assertTrue(second.getTags().isEmpty());
+        second.close();
+    }
+}
@@ -0,0 +1,80 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+class JwtClaimsScannerTest {
+
+    private static final String HEADER = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}");
+
+    private final JwtClaimsScanner scanner = new JwtClaimsScanner(List.of("Name", "Role", "Seed"));
+
+    @Test
+    void shouldExtractSameClaimsAsAuth0() {
+        // Compara o resultado do scanner com o JWT.decode para o mesmo token
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        DecodedJWT jwt = JWT.decode(token);
+
+        JwtClaims claims = scanner.scan(token);
+
+        assertEquals(jwt.getClaim("Name").asString(), claims.getClaim("Name"));
+        assertEquals(jwt.getClaim("Role").asString(), claims.getClaim("Role"));
+        assertEquals(jwt.getClaim("Seed").asString(), claims.getClaim("Seed"));
+        assertEquals(jwt.getClaims().size(), claims.getClaimCount());
+    }
+
+    @Test
+    void shouldDecodeEscapesAndIgnoreNonTextualValues() {
+        // Escapes sao decodificados e valores nao textuais retornam null, como Claim.asString()
+        String token = HEADER + "." + encode("{\"Name\":\"Jos\\u00e9 \\\"Zé\\\"\",\"Role\":1,\"Org\":{\"a\":[1,2.5e3,true,null]}}") + ".sig";
+
+        JwtClaims claims = scanner.scan(token);
+
+        assertEquals("José \"Zé\"", claims.getClaim("Name"));
+        assertNull(claims.getClaim("Role"));
+        assertNull(claims.getClaim("Seed"));
+        assertEquals(3, claims.getClaimCount());
+    }
+
+    @Test
+    void shouldCountDuplicatedKeysOnceLikeJackson() {
+        // Chave duplicada: o ultimo valor vence e a chave conta uma unica vez
+        String token = HEADER + "." + encode("{\"Name\":\"a\",\"Org\":1,\"Name\":\"b\",\"Org\":2}") + ".";
+
+        JwtClaims claims = scanner.scan(token);
+
+        assertEquals("b", claims.getClaim("Name"));
+        assertEquals(2, claims.getClaimCount());
+    }
+
+    @Test
+    void shouldRejectMalformedTokens() {
+        // Estrutura, base64url ou JSON invalidos retornam null e scan lanca JWTDecodeException
+        assertNull(scanner.tryScan(null));
+        assertNull(scanner.tryScan(""));
+        assertNull(scanner.tryScan("invalid.token.format"));
+        assertNull(scanner.tryScan(HEADER + "." + encode("{\"Name\":\"a\"}")));
+        assertNull(scanner.tryScan(HEADER + "." + encode("{\"Name\":\"a\"}") + ".a.b"));
+        assertNull(scanner.tryScan(HEADER + "." + encode("{\"Name\":01}") + ".sig"));
+        assertNull(scanner.tryScan(HEADER + "." + encode("{\"Name\":\"a\",}") + ".sig"));
+        assertNull(scanner.tryScan(HEADER + "." + encode("[1,2]") + ".sig"));
+        assertNull(scanner.tryScan(HEADER + ".e30+.sig"));
+
+        assertThrows(JWTDecodeException.class, () -> scanner.scan("invalid.token.format"));
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package br.dev.viniciusleonel.backend_challenge.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PrimeOracleTest {
+
+    @Test
+    void shouldMatchTrialDivisionInsideAndOutsideSieve() {
+        // Um crivo pequeno forca o caminho de Miller-Rabin para a maior parte do intervalo
+        PrimeOracle sieve = PrimeOracle.build(1 << 16);
+        PrimeOracle tiny = PrimeOracle.build(16);
+
+        for (long n = -10; n < 200_000; n++) {
+            boolean expected = isPrimeByTrialDivision(n);
+            assertEquals(expected, sieve.isPrime(n), "n=" + n);
+            assertEquals(expected, tiny.isPrime(n), "n=" + n);
+        }
+    }
+
+    @Test
+    void shouldMatchBigIntegerForLargeValues() {
+        // Valores de 64 bits, incluindo extremos e pseudoprimos fortes conhecidos
+        PrimeOracle oracle = PrimeOracle.build(16);
+
+        assertTrue(oracle.isPrime(Integer.MAX_VALUE));
+        assertTrue(oracle.isPrime(2_305_843_009_213_693_951L));
+        assertTrue(oracle.isPrime(9_223_372_036_854_775_783L));
+        assertFalse(oracle.isPrime(3_215_031_751L));
+        assertFalse(oracle.isPrime(3_825_123_056_546_413_051L));
+        assertFalse(oracle.isPrime(Long.MAX_VALUE));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long n = (random.nextLong() & Long.MAX_VALUE) >>> random.nextInt(40);
+            assertEquals(BigInteger.valueOf(n).isProbablePrime(50), oracle.isPrime(n), "n=" + n);
+        }
+    }
+
+    @Test
+    void shouldAnswerSameFromMappedFile(@TempDir Path dir) throws IOException {
+        // O crivo gravado em arquivo e mapeado deve responder igual ao construido em memoria
+        PrimeOracle built = PrimeOracle.build(100_000);
+        Path file = dir.resolve("sieve.bin");
+        built.writeTo(file);
+
+        PrimeOracle mapped = PrimeOracle.map(file);
+
+        assertEquals(built.getSieveLimit(), mapped.getSieveLimit());
+        for (long n = 0; n < 101_000; n++) {
+            assertEquals(built.isPrime(n), mapped.isPrime(n), "n=" + n);
+        }
+    }
+
+    private static boolean isPrimeByTrialDivision(long n) {
+        if (n < 2) return false;
+        if (n % 2 == 0) return n == 2;
+        for (long i = 3; i * i <= n; i += 2) {
+            if (n % i == 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
+
+class AdaptiveValidatorOrderTest {
+
+    private static JwtClaims claims(String name, String role, String seed) {
+        Map<String, String> values = new java.util.HashMap<>();
+        values.put("Name", name);
+        values.put("Role", role);
+        values.put("Seed", seed);
+        return new JwtClaims() {
+            @Override
+            public String getClaim(String claimName) {
+                return values.get(claimName);
+            }
+
+            @Override
+            public int getClaimCount() {
+                return 3;
+            }
+        };
+    }
+
+    @Test
+    void shouldMoveMostRejectingValidatorFirstWithoutChangingVerdict() {
+        // Intervalo 0 desliga o reordenamento automatico; o teste chama reorder() explicitamente
+        AdaptiveValidatorOrder order = new AdaptiveValidatorOrder(JwtValidationConfig.getValidators(), 0);
+        assertEquals(List.of("Name", "Role", "Seed"), order.getOrder());
+
+        JwtClaims invalidRole = claims("Toninho Araujo", "Guest", "7841");
+        JwtClaims valid = claims("Toninho Araujo", "Admin", "7841");
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(ValidationReason.CLAIM_NOT_ALLOWED, order.check(invalidRole).reason());
+            assertEquals(ValidationReason.VALID, order.check(valid).reason());
+        }
+
+        order.reorder();
+        assertEquals("Role", order.getOrder().get(0));
+
+        // Mesmo veredito e status depois do reordenamento
+        assertEquals(ValidationReason.VALID, order.check(valid).reason());
+        assertEquals(ValidationReason.CLAIM_NOT_ALLOWED, order.check(invalidRole).reason());
+        assertEquals(422, order.check(claims("Toninho123", "Admin", "4")).httpStatus());
+
+        Map<String, Object> stats = order.getStats();
+        assertEquals(1L, stats.get("reorders"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReorderUnderRejectedOnlyTrafficAndDecayCounters() throws InterruptedException {
+        // Nenhum token valido: o reordenamento automatico precisa acontecer nas chamadas amostradas rejeitadas
+        AdaptiveValidatorOrder order = new AdaptiveValidatorOrder(JwtValidationConfig.getValidators(), 1);
+        JwtClaims invalidRole = claims("Toninho Araujo", "Guest", "7841");
+        for (int i = 0; i < 200 && !order.getOrder().get(0).equals("Role"); i++) {
+            for (int j = 0; j < 1000; j++) {
+                order.check(invalidRole);
+            }
+            Thread.sleep(2);
+        }
+        assertEquals("Role", order.getOrder().get(0));
+
+        // Depois de um recalculo explicito os contadores ficam pela metade
+        AdaptiveValidatorOrder manual = new AdaptiveValidatorOrder(JwtValidationConfig.getValidators(), 0);
+        for (int i = 0; i < 1000; i++) {
+            manual.check(invalidRole);
+        }
+        manual.reorder();
+        Map<String, Object> role = (Map<String, Object>) ((Map<String, Object>) manual.getStats().get("validators")).get("Role");
+        assertEquals(500L, role.get("calls"));
+        assertEquals(500L, role.get("rejections"));
+    }
+}
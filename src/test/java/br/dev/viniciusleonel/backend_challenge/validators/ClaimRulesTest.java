@@ -0,0 +1,124 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtClaims;
+import br.dev.viniciusleonel.backend_challenge.utils.NumberUtils;
+import br.dev.viniciusleonel.backend_challenge.utils.PerfectHashSet;
+
+class ClaimRulesTest {
+
+    private static JwtClaims claim(String name, String value) {
+        return new JwtClaims() {
+            @Override
+            public String getClaim(String claimName) {
+                return claimName.equals(name) ? value : null;
+            }
+
+            @Override
+            public int getClaimCount() {
+                return value == null ? 0 : 1;
+            }
+        };
+    }
+
+    // Regras escritas a mao antes do motor de regras, usadas como referencia
+    private static ValidationReason legacyName(String name) {
+        if (name == null || name.isEmpty()) return ValidationReason.CLAIM_MISSING;
+        if (name.length() >= 256) return ValidationReason.CLAIM_TOO_LONG;
+        if (name.chars().anyMatch(c -> c >= '0' && c <= '9')) return ValidationReason.CLAIM_INVALID_CHARACTERS;
+        return ValidationReason.VALID;
+    }
+
+    private static ValidationReason legacyRole(String role) {
+        if (role == null || role.isEmpty()) return ValidationReason.CLAIM_MISSING;
+        if (!List.of("Admin", "Member", "External").contains(role)) return ValidationReason.CLAIM_NOT_ALLOWED;
+        return ValidationReason.VALID;
+    }
+
+    private static ValidationReason legacySeed(String seed) {
+        if (seed == null || seed.isEmpty()) return ValidationReason.CLAIM_MISSING;
+        int value;
+        try {
+            value = Integer.parseInt(seed);
+        } catch (NumberFormatException e) {
+            return ValidationReason.CLAIM_NOT_NUMERIC;
+        }
+        return NumberUtils.isPrime(value) ? ValidationReason.VALID : ValidationReason.CLAIM_NOT_PRIME;
+    }
+
+    @Test
+    void shouldMatchHandWrittenRulesForNameRoleAndSeed() {
+        List<String> corpus = new ArrayList<>(List.of(
+                "", " ", "Toninho Araujo", "Toninho123 Araujo", "9", "José da Silva", "Ana٣",
+                "Admin", "admin", "Member", "External", "Externa", "Guest", "Admin ",
+                "7841", "4", "2", "1", "0", "-7", "+7841", "07841", "2147483647", "2147483648",
+                "12a", "٣", "1e3", " 7841"));
+        corpus.add("a".repeat(255));
+        corpus.add("a".repeat(256));
+        corpus.add(null);
+
+        ClaimValidator name = new NameValidator();
+        ClaimValidator role = new RoleValidator();
+        ClaimValidator seed = new SeedValidator(false);
+
+        for (String value : corpus) {
+            assertEquals(legacyName(value), name.check(claim("Name", value)).reason(), "Name=" + value);
+            assertEquals(legacyRole(value), role.check(claim("Role", value)).reason(), "Role=" + value);
+            assertEquals(legacySeed(value), seed.check(claim("Seed", value)).reason(), "Seed=" + value);
+        }
+    }
+
+    @Test
+    void shouldKeepOriginalMessages() {
+        ValidationResult result = new NameValidator().check(claim("Name", "Toninho123"));
+        assertEquals("Name", result.claim());
+        assertEquals("Nome contem numeros", result.message());
+        assertEquals("Seed nao é primo", new SeedValidator().check(claim("Seed", "4")).message());
+    }
+
+    @Test
+    void shouldCompileNewRuleFromConfiguration() throws IOException {
+        // Uma nova regra nao precisa de classe Java
+        String config = """
+                rules=Country
+                rule.Country.required=true
+                rule.Country.min-length=2
+                rule.Country.max-length=2
+                rule.Country.allowed-chars=upper
+                rule.Country.message.invalid-characters=Pais deve ter letras maiusculas
+                """;
+        ClaimValidator country = ClaimRules.compile(ClaimRules.parse(new StringReader(config)).get(0));
+
+        assertTrue(country.check(claim("Country", "BR")).isValid());
+        assertEquals(ValidationReason.CLAIM_TOO_SHORT, country.check(claim("Country", "B")).reason());
+        assertEquals(ValidationReason.CLAIM_TOO_LONG, country.check(claim("Country", "BRA")).reason());
+        assertEquals("Pais deve ter letras maiusculas", country.check(claim("Country", "br")).message());
+        assertEquals(ValidationReason.CLAIM_MISSING, country.check(claim("Country", null)).reason());
+    }
+
+    @Test
+    void shouldBuildCollisionFreePerfectHash() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            values.add("role-" + i);
+        }
+        PerfectHashSet set = PerfectHashSet.of(values);
+
+        assertEquals(500, set.size());
+        values.forEach(value -> assertTrue(set.contains(value)));
+        assertFalse(set.contains("role-500"));
+        assertFalse(set.contains(null));
+        assertFalse(PerfectHashSet.of(Map.of("Admin", 1).keySet()).contains("admin"));
+    }
+}
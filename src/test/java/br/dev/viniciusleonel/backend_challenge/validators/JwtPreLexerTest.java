@@ -0,0 +1,64 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+
+class JwtPreLexerTest {
+
+    private final JwtPreLexer preLexer = new JwtPreLexer(8192, true);
+
+    @Test
+    void shouldAcceptWellFormedToken() {
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        assertTrue(preLexer.check(token).isValid());
+        // Assinatura vazia (alg=none) continua chegando ao decodificador
+        assertTrue(preLexer.check(token.substring(0, token.lastIndexOf('.') + 1)).isValid());
+    }
+
+    @Test
+    void shouldRejectStructuralGarbageByReason() {
+        assertEquals(ValidationReason.TOKEN_SEGMENT_COUNT, preLexer.check("eyJhbGciOiJIUzI1NiJ9.abc").reason());
+        assertEquals(ValidationReason.TOKEN_SEGMENT_COUNT, preLexer.check("eyJ.a.b.c").reason());
+        assertEquals(ValidationReason.TOKEN_INVALID_CHARACTER, preLexer.check("eyJ.a+b.c").reason());
+        assertEquals(ValidationReason.TOKEN_INVALID_CHARACTER, preLexer.check(" eyJ.a.b").reason());
+        assertEquals(ValidationReason.TOKEN_INVALID_CHARACTER, preLexer.check("eyJ.ção.b").reason());
+        assertEquals(ValidationReason.TOKEN_HEADER_PREFIX, preLexer.check("invalid.token.format").reason());
+        assertEquals(ValidationReason.TOKEN_TOO_LONG, preLexer.check("eyJ." + "a".repeat(8192) + ".b").reason());
+    }
+
+    @Test
+    void shouldAcceptAnyHeaderThatDecodesToJsonObject() {
+        // Header com espacos antes e depois do '{' ("eyAi..." e "IHsi...") e JSON valido para o decodificador
+        String payload = "eyJSb2xlIjoiQWRtaW4iLCJTZWVkIjoiNzg0MSIsIk5hbWUiOiJUb25pbmhvIEFyYXVqbyJ9";
+        for (String header : new String[] {"{ \"alg\":\"HS256\"}", " {\"alg\":\"HS256\"}", "\n\t{\"alg\":\"HS256\"}"}) {
+            String token = base64Url(header) + "." + payload + ".";
+            assertTrue(preLexer.check(token).isValid(), header);
+            assertTrue(new JwtValidator().validate(token).isValid(), header);
+        }
+
+        assertEquals(ValidationReason.TOKEN_HEADER_PREFIX, preLexer.check(base64Url("[1]") + ".a.b").reason());
+        assertEquals(ValidationReason.TOKEN_HEADER_PREFIX, preLexer.check(base64Url("   ") + ".a.b").reason());
+        assertEquals(ValidationReason.TOKEN_HEADER_PREFIX, preLexer.check(".a.b").reason());
+        assertTrue(new JwtPreLexer(8192, false).check("invalid.token.format").isValid());
+    }
+
+    @Test
+    void shouldKeepDecodeStatusAndMessage() {
+        // Mesmo status e mensagem da falha de decodificacao
+        ValidationResult result = new JwtValidator().validate("invalid.token.format");
+        assertEquals(ValidationReason.TOKEN_HEADER_PREFIX, result.reason());
+        assertEquals(400, result.httpStatus());
+        assertEquals("Falha ao decodificar, JWT nulo ou vazio", result.message());
+    }
+
+    private static String base64Url(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+
+class JwtSignatureVerifierTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path keyFile;
+    private JwtSignatureVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Mesmo segredo usado pelo JwtGenerator
+        keyFile = tempDir.resolve("jwt-keys.properties");
+        Files.writeString(keyFile, "atual=HS256:your-secret-key\n");
+        verifier = new JwtSignatureVerifier(true, keyFile.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        verifier.shutdown();
+    }
+
+    @Test
+    void shouldAcceptTokenSignedWithConfiguredKey() {
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        assertTrue(verifier.verify(token));
+    }
+
+    @Test
+    void shouldRejectTamperedOrUnsignedTokens() {
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        String[] parts = token.split("\\.");
+        String otherPayload = JwtGenerator.generateJwtToken("Outro Nome", "Admin", "7841").split("\\.")[1];
+
+        assertFalse(verifier.verify(parts[0] + "." + otherPayload + "." + parts[2]));
+        assertFalse(verifier.verify(parts[0] + "." + parts[1] + "."));
+        assertFalse(verifier.verify(parts[0] + "." + parts[1] + ".@@@"));
+        assertFalse(verifier.verify(JWT.create().withClaim("Name", "Toninho Araujo").sign(Algorithm.none())));
+        assertFalse(verifier.verify(JWT.create().withClaim("Name", "Toninho Araujo").sign(Algorithm.HMAC256("outra-chave"))));
+    }
+
+    @Test
+    void shouldSwapKeysOnReloadAndKeepSnapshotWhenFileIsInvalid() throws IOException {
+        String oldToken = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        String newToken = JWT.create().withClaim("Name", "Toninho Araujo").sign(Algorithm.HMAC512("nova-chave"));
+        assertFalse(verifier.verify(newToken));
+
+        // Rotacao: nova chave entra, a anterior continua aceita
+        Files.writeString(keyFile, "atual=HS512:nova-chave\nanterior=HS256:your-secret-key\n");
+        verifier.reload();
+        assertTrue(verifier.getKeySetVersion() > 1);
+        assertTrue(verifier.verify(newToken));
+        assertTrue(verifier.verify(oldToken));
+
+        // Arquivo invalido nao derruba o snapshot atual
+        Files.writeString(keyFile, "quebrada=HS999:x\n");
+        verifier.reload();
+        assertTrue(verifier.verify(newToken));
+        assertTrue(verifier.verify(oldToken));
+    }
+
+    @Test
+    void shouldRejectInvalidSignatureInValidator() {
+        JwtValidator validator = new JwtValidator(null, verifier);
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+
+        assertTrue(validator.validate(token).isValid());
+        assertEquals(ValidationReason.SIGNATURE_INVALID, validator.validate(forged).reason());
+    }
+}
@@ -0,0 +1,71 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+
+import br.dev.viniciusleonel.backend_challenge.infra.exception.InvalidClaimException;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+
+class JwtValidationCacheTest {
+
+    private JwtValidationCache cache;
+    private JwtValidator jwtValidator;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtValidationCache(true, 100_000);
+        jwtValidator = new JwtValidator(cache);
+    }
+
+    @Test
+    void shouldServeRepeatedTokenFromCache() {
+        // A segunda validacao do mesmo token deve ser um hit
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+
+        assertTrue(jwtValidator.isValid(token));
+        assertTrue(jwtValidator.isValid(token));
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(1L, stats.get("hits"));
+    }
+
+    @Test
+    void shouldBoundCacheByTokenLength() {
+        // Limite por peso: um token grande ocupa o espaco de varios pequenos
+        JwtValidationCache small = new JwtValidationCache(true, 1_000);
+        JwtValidator validator = new JwtValidator(small);
+        for (int i = 0; i < 50; i++) {
+            validator.validate(JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", String.valueOf(7841 + i)));
+        }
+
+        Map<String, Object> stats = small.getStats();
+        assertTrue((Long) stats.get("weightedSize") <= 1_000L);
+        assertTrue((Long) stats.get("evictions") > 0);
+    }
+
+    @Test
+    void shouldReplayCachedRejectionsWithSameExceptionType() {
+        // Rejeicoes ficam em cache e continuam gerando 422 (claim) e 400 (decode)
+        String invalidClaim = JwtGenerator.generateJwtToken("Toninho123 Araujo", "Admin", "7841");
+        // Passa pela verificacao estrutural mas falha na decodificacao
+        String malformed = "eyJub3QtanNvbg.eyJ9.sig";
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(InvalidClaimException.class, () -> jwtValidator.isValid(invalidClaim));
+            assertThrows(JWTDecodeException.class, () -> jwtValidator.isValid(malformed));
+        }
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(2L, stats.get("hits"));
+    }
+}
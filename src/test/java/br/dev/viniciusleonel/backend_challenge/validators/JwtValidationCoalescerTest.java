@@ -0,0 +1,101 @@
+package br.dev.viniciusleonel.backend_challenge.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.viniciusleonel.backend_challenge.infra.exception.InvalidClaimException;
+import br.dev.viniciusleonel.backend_challenge.utils.JwtGenerator;
+
+class JwtValidationCoalescerTest {
+
+    private static final ValidationResult INVALID_NAME =
+            ValidationResult.invalid(ValidationReason.CLAIM_INVALID_CHARACTERS, "Name", "Nome contem numeros");
+
+    @Test
+    void shouldShareInFlightValidationAndOutcome() throws Exception {
+        JwtValidationCoalescer coalescer = new JwtValidationCoalescer(true);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ValidationResult>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.validate("token", 1L, token -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return INVALID_NAME;
+                })));
+            }
+
+            // Libera o lider so depois que todos os outros estiverem aguardando
+            while ((long) coalescer.getStats().get("coalesced") < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<ValidationResult> result : results) {
+                ValidationResult shared = result.get(5, TimeUnit.SECONDS);
+                assertSame(INVALID_NAME, shared);
+                // Mesmo tipo de excecao para todos os chamadores
+                assertThrows(InvalidClaimException.class, shared::orThrow);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, executions.get());
+        Map<String, Object> stats = coalescer.getStats();
+        assertEquals(1L, stats.get("validations"));
+        assertEquals((long) callers - 1, stats.get("coalesced"));
+        assertEquals(0, stats.get("inFlight"));
+    }
+
+    @Test
+    void shouldNotCoalesceDifferentTokensOrFinishedFlights() {
+        JwtValidationCoalescer coalescer = new JwtValidationCoalescer(true);
+
+        coalescer.validate("a", 1L, token -> ValidationResult.VALID);
+        coalescer.validate("a", 1L, token -> ValidationResult.VALID);
+        coalescer.validate("b", 1L, token -> ValidationResult.VALID);
+
+        assertEquals(3L, coalescer.getStats().get("validations"));
+        assertEquals(0L, coalescer.getStats().get("coalesced"));
+    }
+
+    @Test
+    void shouldOnlyBeUsedWhenValidationCacheIsDisabled() {
+        // A carga do cache ja e unica por chave; o coalescer so entra com o cache desligado
+        String token = JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841");
+
+        JwtValidationCoalescer withCache = new JwtValidationCoalescer(true);
+        new JwtValidator(new JwtValidationCache(true, 100_000), null, withCache).validate(token);
+        assertEquals(0L, withCache.getStats().get("validations"));
+
+        JwtValidationCoalescer withoutCache = new JwtValidationCoalescer(true);
+        new JwtValidator(new JwtValidationCache(false, 100_000), null, withoutCache).validate(token);
+        assertEquals(1L, withoutCache.getStats().get("validations"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -68,4 +68,26 @@ public class JwtValidatorTest {
 		// Testa um token vazio, espera que o validador rejeite
         assertThrows(com.auth0.jwt.exceptions.JWTDecodeException.class, () -> jwtValidator.isValid(""));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testValidateReturnsTypedReasonWithoutThrowing() {
+		// A API sem excecoes devolve o motivo, a claim e o status HTTP equivalente
+		ValidationResult valid = jwtValidator.validate(JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "7841"));
+		assertTrue(valid.isValid());
+		assertEquals(200, valid.httpStatus());
+
+		ValidationResult invalidName = jwtValidator.validate(JwtGenerator.generateJwtToken("Toninho123 Araujo", "Admin", "7841"));
+		assertEquals(ValidationReason.CLAIM_INVALID_CHARACTERS, invalidName.reason());
+		assertEquals("Name", invalidName.claim());
+		assertEquals(422, invalidName.httpStatus());
+
+		ValidationResult notPrime = jwtValidator.validate(JwtGenerator.generateJwtToken("Toninho Araujo", "Admin", "4"));
+		assertEquals(ValidationReason.CLAIM_NOT_PRIME, notPrime.reason());
+
+		ValidationResult malformed = jwtValidator.validate("eyJub3QtanNvbg.eyJ9.sig");
+		assertEquals(ValidationReason.TOKEN_MALFORMED, malformed.reason());
+		assertEquals(400, malformed.httpStatus());
+
+		assertEquals(ValidationReason.TOKEN_EMPTY, jwtValidator.validate(null).reason());
+	}
+}